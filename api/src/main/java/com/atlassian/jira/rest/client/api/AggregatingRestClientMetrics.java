@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps running totals of {@link RestCallMetrics} per endpoint and HTTP method. Totals only grow, so they map
+ * directly to monotonic counters of metrics libraries: register a function counter (Micrometer) or a gauge
+ * (Dropwizard Metrics) reading each getter of {@link EndpointStats}, and rates and average times follow.
+ *
+ * @since v3.0
+ */
+public class AggregatingRestClientMetrics implements RestClientMetrics {
+
+	private final ConcurrentMap<String, EndpointStats> stats = new ConcurrentHashMap<String, EndpointStats>();
+
+	@Override
+	public void callCompleted(final RestCallMetrics call) {
+		final String key = call.getMethod() + " " + call.getEndpoint();
+		EndpointStats endpointStats = stats.get(key);
+		if (endpointStats == null) {
+			final EndpointStats newStats = new EndpointStats(call.getEndpoint(), call.getMethod());
+			endpointStats = stats.putIfAbsent(key, newStats);
+			if (endpointStats == null) {
+				endpointStats = newStats;
+			}
+		}
+		endpointStats.add(call);
+	}
+
+	/**
+	 * @return live view of totals keyed by method and endpoint, e.g. <code>GET /rest/api/latest/issue/{key}</code>
+	 */
+	public Map<String, EndpointStats> getStats() {
+		return Collections.unmodifiableMap(stats);
+	}
+
+	/**
+	 * Running totals of calls to a single endpoint with a single HTTP method.
+	 */
+	public static class EndpointStats {
+		private final String endpoint;
+		private final String method;
+		private final AtomicLong calls = new AtomicLong();
+		private final AtomicLong failures = new AtomicLong();
+		private final AtomicLong bytesSent = new AtomicLong();
+		private final AtomicLong bytesReceived = new AtomicLong();
+		private final AtomicLong queueWaitNanos = new AtomicLong();
+		private final AtomicLong networkNanos = new AtomicLong();
+		private final AtomicLong parseNanos = new AtomicLong();
+
+		EndpointStats(final String endpoint, final String method) {
+			this.endpoint = endpoint;
+			this.method = method;
+		}
+
+		void add(final RestCallMetrics call) {
+			calls.incrementAndGet();
+			if (!call.isSuccessful()) {
+				failures.incrementAndGet();
+			}
+			if (call.getBytesSent() > 0) {
+				bytesSent.addAndGet(call.getBytesSent());
+			}
+			if (call.getBytesReceived() > 0) {
+				bytesReceived.addAndGet(call.getBytesReceived());
+			}
+			queueWaitNanos.addAndGet(call.getQueueWaitNanos());
+			networkNanos.addAndGet(call.getNetworkNanos());
+			parseNanos.addAndGet(call.getParseNanos());
+		}
+
+		public String getEndpoint() {
+			return endpoint;
+		}
+
+		public String getMethod() {
+			return method;
+		}
+
+		public long getCalls() {
+			return calls.get();
+		}
+
+		public long getFailures() {
+			return failures.get();
+		}
+
+		/**
+		 * @return total of known request sizes
+		 */
+		public long getBytesSent() {
+			return bytesSent.get();
+		}
+
+		/**
+		 * @return total of known response sizes
+		 */
+		public long getBytesReceived() {
+			return bytesReceived.get();
+		}
+
+		public long getQueueWaitNanos() {
+			return queueWaitNanos.get();
+		}
+
+		public long getNetworkNanos() {
+			return networkNanos.get();
+		}
+
+		public long getParseNanos() {
+			return parseNanos.get();
+		}
+	}
+}
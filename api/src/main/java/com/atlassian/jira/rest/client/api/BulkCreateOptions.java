@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Set of parameters for {@link IssueRestClient#createIssues(java.util.Collection, BulkCreateOptions)}.
+ * {@link BulkCreateOptionsBuilder} is very useful for building objects of this class.
+ *
+ * @since v3.0
+ */
+public class BulkCreateOptions {
+
+	public static final int DEFAULT_CHUNK_SIZE = 50;
+	public static final int DEFAULT_MAX_CONCURRENT_CHUNKS = 4;
+	public static final int DEFAULT_MAX_RETRIES = 2;
+	public static final long DEFAULT_RETRY_DELAY_MILLIS = 1000;
+
+	/**
+	 * Number of issues sent in a single bulk request. When JIRA rejects a chunk as too large it is split in halves,
+	 * and the size of the first half accepted becomes the chunk size for the remaining issues.
+	 */
+	public final int chunkSize;
+	/**
+	 * Maximum number of bulk requests sent at the same time.
+	 */
+	public final int maxConcurrentChunks;
+	/**
+	 * How many times an issue is sent again after a failure which may be temporary: throttling of the whole request
+	 * (HTTP 429), a server error reported for the issue alone or, with {@link #retryUnconfirmedChunks}, a failed
+	 * connection or a server error for the whole request. Issues rejected by validation are never sent again.
+	 */
+	public final int maxRetries;
+	/**
+	 * Whether a whole chunk is sent again after a failed connection or a server error (HTTP 5xx) for the request.
+	 * Creating issues is not idempotent and JIRA may have created some or all issues of such a chunk before the
+	 * failure, so sending it again can create duplicates. Off by default.
+	 */
+	public final boolean retryUnconfirmedChunks;
+	/**
+	 * Delay before issues are sent again for the first time, doubled (with random jitter) for every next attempt.
+	 * A delay JIRA asks for with a <code>Retry-After</code> header is used instead when present.
+	 */
+	public final long retryDelayMillis;
+
+	public BulkCreateOptions(int chunkSize, int maxConcurrentChunks, int maxRetries) {
+		this(chunkSize, maxConcurrentChunks, maxRetries, false);
+	}
+
+	public BulkCreateOptions(int chunkSize, int maxConcurrentChunks, int maxRetries, boolean retryUnconfirmedChunks) {
+		this(chunkSize, maxConcurrentChunks, maxRetries, retryUnconfirmedChunks, DEFAULT_RETRY_DELAY_MILLIS);
+	}
+
+	public BulkCreateOptions(int chunkSize, int maxConcurrentChunks, int maxRetries, boolean retryUnconfirmedChunks,
+			long retryDelayMillis) {
+		if (chunkSize <= 0 || maxConcurrentChunks <= 0 || maxRetries < 0 || retryDelayMillis < 0) {
+			throw new IllegalArgumentException("chunkSize and maxConcurrentChunks must be positive, maxRetries"
+					+ " and retryDelayMillis cannot be negative");
+		}
+		this.chunkSize = chunkSize;
+		this.maxConcurrentChunks = maxConcurrentChunks;
+		this.maxRetries = maxRetries;
+		this.retryUnconfirmedChunks = retryUnconfirmedChunks;
+		this.retryDelayMillis = retryDelayMillis;
+	}
+}
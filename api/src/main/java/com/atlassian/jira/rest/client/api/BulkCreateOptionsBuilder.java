@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Builder class for {@link BulkCreateOptions}. All fields are optional and have reasonable defaults,
+ * so set only those that you need and use {@link BulkCreateOptionsBuilder#build()} method to build new
+ * {@link BulkCreateOptions} class.
+ *
+ * @since v3.0
+ */
+public class BulkCreateOptionsBuilder {
+	private int chunkSize = BulkCreateOptions.DEFAULT_CHUNK_SIZE;
+	private int maxConcurrentChunks = BulkCreateOptions.DEFAULT_MAX_CONCURRENT_CHUNKS;
+	private int maxRetries = BulkCreateOptions.DEFAULT_MAX_RETRIES;
+	private boolean retryUnconfirmedChunks = false;
+	private long retryDelayMillis = BulkCreateOptions.DEFAULT_RETRY_DELAY_MILLIS;
+
+	public BulkCreateOptionsBuilder withChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+		return this;
+	}
+
+	public BulkCreateOptionsBuilder withMaxConcurrentChunks(int maxConcurrentChunks) {
+		this.maxConcurrentChunks = maxConcurrentChunks;
+		return this;
+	}
+
+	public BulkCreateOptionsBuilder withMaxRetries(int maxRetries) {
+		this.maxRetries = maxRetries;
+		return this;
+	}
+
+	/**
+	 * @see BulkCreateOptions#retryUnconfirmedChunks
+	 */
+	public BulkCreateOptionsBuilder withRetryUnconfirmedChunks(boolean retryUnconfirmedChunks) {
+		this.retryUnconfirmedChunks = retryUnconfirmedChunks;
+		return this;
+	}
+
+	public BulkCreateOptionsBuilder withRetryDelayMillis(long retryDelayMillis) {
+		this.retryDelayMillis = retryDelayMillis;
+		return this;
+	}
+
+	public BulkCreateOptions build() {
+		return new BulkCreateOptions(chunkSize, maxConcurrentChunks, maxRetries, retryUnconfirmedChunks, retryDelayMillis);
+	}
+}
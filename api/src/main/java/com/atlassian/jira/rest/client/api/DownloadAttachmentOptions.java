@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import javax.annotation.Nullable;
+
+/**
+ * Set of parameters for {@link IssueRestClient#downloadAttachment(java.net.URI, java.io.File, DownloadAttachmentOptions)}.
+ * {@link DownloadAttachmentOptionsBuilder} is very useful for building objects of this class.
+ *
+ * @since v3.0
+ */
+public class DownloadAttachmentOptions {
+
+	public static final long DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+	public static final int DEFAULT_MAX_RETRIES_PER_CHUNK = 3;
+
+	/**
+	 * Expected size of the attachment in bytes, usually {@link com.atlassian.jira.rest.client.api.domain.Attachment#getSize()}.
+	 * When <code>null</code> the size announced by the server is checked instead.
+	 */
+	@Nullable
+	public final Long expectedSize;
+	/**
+	 * Number of bytes requested with a single ranged request. It also bounds the memory needed by a download.
+	 */
+	public final long chunkSize;
+	/**
+	 * How many times a failed chunk request is repeated before the whole download fails.
+	 */
+	public final int maxRetriesPerChunk;
+	/**
+	 * When <code>true</code> and the target file already exists, the download continues after its last byte
+	 * instead of starting over.
+	 */
+	public final boolean resume;
+
+	public DownloadAttachmentOptions(@Nullable Long expectedSize, long chunkSize, int maxRetriesPerChunk, boolean resume) {
+		if (chunkSize <= 0 || maxRetriesPerChunk < 0 || (expectedSize != null && expectedSize < 0)) {
+			throw new IllegalArgumentException("chunkSize must be positive, maxRetriesPerChunk and expectedSize cannot be negative");
+		}
+		this.expectedSize = expectedSize;
+		this.chunkSize = chunkSize;
+		this.maxRetriesPerChunk = maxRetriesPerChunk;
+		this.resume = resume;
+	}
+}
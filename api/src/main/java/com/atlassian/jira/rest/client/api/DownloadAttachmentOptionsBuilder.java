@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.jira.rest.client.api.domain.Attachment;
+
+import javax.annotation.Nullable;
+
+/**
+ * Builder class for {@link DownloadAttachmentOptions}. All fields are optional and have reasonable defaults,
+ * so set only those that you need and use {@link DownloadAttachmentOptionsBuilder#build()} method to build new
+ * {@link DownloadAttachmentOptions} class.
+ *
+ * @since v3.0
+ */
+public class DownloadAttachmentOptionsBuilder {
+	private Long expectedSize;
+	private long chunkSize = DownloadAttachmentOptions.DEFAULT_CHUNK_SIZE;
+	private int maxRetriesPerChunk = DownloadAttachmentOptions.DEFAULT_MAX_RETRIES_PER_CHUNK;
+	private boolean resume = true;
+
+	public DownloadAttachmentOptionsBuilder withExpectedSize(@Nullable Long expectedSize) {
+		this.expectedSize = expectedSize;
+		return this;
+	}
+
+	public DownloadAttachmentOptionsBuilder withExpectedSizeOf(Attachment attachment) {
+		return withExpectedSize((long) attachment.getSize());
+	}
+
+	public DownloadAttachmentOptionsBuilder withChunkSize(long chunkSize) {
+		this.chunkSize = chunkSize;
+		return this;
+	}
+
+	public DownloadAttachmentOptionsBuilder withMaxRetriesPerChunk(int maxRetriesPerChunk) {
+		this.maxRetriesPerChunk = maxRetriesPerChunk;
+		return this;
+	}
+
+	public DownloadAttachmentOptionsBuilder withResume(boolean resume) {
+		this.resume = resume;
+		return this;
+	}
+
+	public DownloadAttachmentOptions build() {
+		return new DownloadAttachmentOptions(expectedSize, chunkSize, maxRetriesPerChunk, resume);
+	}
+}
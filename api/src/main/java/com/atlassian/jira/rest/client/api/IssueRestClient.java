@@ -16,10 +16,13 @@
 
 package com.atlassian.jira.rest.client.api;
 
+import com.atlassian.jira.rest.client.api.domain.Attachment;
 import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationErrorResult;
 import com.atlassian.jira.rest.client.api.domain.BulkOperationResult;
 import com.atlassian.jira.rest.client.api.domain.CimProject;
 import com.atlassian.jira.rest.client.api.domain.Comment;
+import com.atlassian.jira.rest.client.api.domain.IndexedBulkOperationResult;
 import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.Transition;
 import com.atlassian.jira.rest.client.api.domain.Votes;
@@ -36,6 +39,7 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.channels.FileChannel;
 import java.util.Collection;
 
 /**
@@ -87,6 +91,23 @@ public interface IssueRestClient {
 
 	Promise<BulkOperationResult<BasicIssue>> createIssues(Collection<IssueInput> issues);
 
+	/**
+	 * Creates any number of issues with many bulk requests, at most {@link BulkCreateOptions#maxConcurrentChunks}
+	 * of them running at the same time. Inputs are split into chunks of {@link BulkCreateOptions#chunkSize} issues;
+	 * a chunk rejected as too large is split in halves and later chunks are made no larger than the half JIRA
+	 * accepted. Issues which failed for reasons that may be temporary and are known not to have been created are
+	 * sent again, up to {@link BulkCreateOptions#maxRetries} times, while issues rejected by validation are reported
+	 * as they are.
+	 *
+	 * @param issues  populated with data to create new issues
+	 * @param options chunk size, concurrency and retry settings
+	 * @return result with created issues keyed by position of their input in the given collection and errors
+	 *         whose {@link BulkOperationErrorResult#getFailedElementNumber()} is such position as well. Every input
+	 *         is either created or reported as failed, so the promise is never rejected because of single chunks.
+	 * @since 3.0 client, 6.0 server
+	 */
+	Promise<IndexedBulkOperationResult<BasicIssue>> createIssues(Collection<IssueInput> issues, BulkCreateOptions options);
+
 	/**
 	 * Retrieves issue with selected issue key.
 	 *
@@ -266,6 +287,30 @@ public interface IssueRestClient {
 	 */
 	Promise<Void> addAttachments(URI attachmentsUri, File... files);
 
+	/**
+	 * Uploads files to JIRA (adding them to selected issue), streaming their content from disk as it is sent.
+	 * Memory use does not depend on the size of the files.
+	 *
+	 * @param attachmentsUri   where to upload the attachments. You can get this URI by examining issue resource first
+	 * @param progressListener receives progress of the upload, may be <code>null</code>
+	 * @param files            files to upload
+	 * @since v3.0
+	 */
+	Promise<Void> addAttachments(URI attachmentsUri, @Nullable UploadProgressListener progressListener, File... files);
+
+	/**
+	 * Uploads the remaining content of given channel to JIRA (adding it to selected issue), streaming it as it is
+	 * sent. Content is read from the current position of the channel up to its size. The channel is not closed.
+	 *
+	 * @param attachmentsUri   where to upload the attachment. You can get this URI by examining issue resource first
+	 * @param channel          channel from which to read data to upload
+	 * @param filename         file name to use for the uploaded attachment
+	 * @param progressListener receives progress of the upload, may be <code>null</code>
+	 * @since v3.0
+	 */
+	Promise<Void> addAttachment(URI attachmentsUri, FileChannel channel, String filename,
+			@Nullable UploadProgressListener progressListener);
+
 	/**
 	 * Adds a comment to JIRA (adding it to selected issue)
 	 *
@@ -284,6 +329,32 @@ public interface IssueRestClient {
 	@Beta
 	Promise<InputStream> getAttachment(URI attachmentUri);
 
+	/**
+	 * Downloads the content of given attachment straight to a file. Content is retrieved in ranged chunks of
+	 * {@link DownloadAttachmentOptions#chunkSize} bytes, so a dropped connection costs at most one chunk, which is
+	 * requested again. The size of the file is verified when the download completes. At most a few downloads of
+	 * a single client run at the same time, others wait for their turn without blocking the caller.
+	 *
+	 * @param attachmentUri URI for the attachment content, see {@link Attachment#getContentUri()}
+	 * @param target        file to write the content to
+	 * @param options       download parameters, <code>null</code> means defaults
+	 * @return the target file, once completely downloaded
+	 * @since v3.0
+	 */
+	Promise<File> downloadAttachment(URI attachmentUri, File target, @Nullable DownloadAttachmentOptions options);
+
+	/**
+	 * Downloads the content of given attachment straight to a file, checking its size against
+	 * {@link Attachment#getSize()}.
+	 *
+	 * @param attachment attachment to download
+	 * @param target     file to write the content to
+	 * @return the target file, once completely downloaded
+	 * @see #downloadAttachment(URI, File, DownloadAttachmentOptions)
+	 * @since v3.0
+	 */
+	Promise<File> downloadAttachment(Attachment attachment, File target);
+
 	/**
 	 * Adds new worklog entry to issue.
 	 *
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Set of parameters for {@link SearchRestClient#searchJqlParallel(String, java.util.Set, ParallelSearchOptions, SearchPageHandler)}.
+ * {@link ParallelSearchOptionsBuilder} is very useful for building objects of this class.
+ *
+ * @since v3.0
+ */
+public class ParallelSearchOptions {
+
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int DEFAULT_MAX_CONCURRENT_PAGES = 4;
+	public static final int DEFAULT_MAX_RETRIES_PER_PAGE = 2;
+	public static final long DEFAULT_RETRY_DELAY_MILLIS = 1000;
+
+	/**
+	 * Number of issues requested in a single page. JIRA may return less when its configured limit is lower.
+	 */
+	public final int pageSize;
+	/**
+	 * Maximum number of pages requested at the same time. Pages which were retrieved but not yet passed to
+	 * {@link SearchPageHandler} count towards this limit too, so it also bounds the number of pages held in memory.
+	 */
+	public final int maxConcurrentPages;
+	/**
+	 * When <code>true</code> pages are passed to {@link SearchPageHandler} in the order of their start index,
+	 * otherwise as soon as they are retrieved.
+	 */
+	public final boolean ordered;
+	/**
+	 * How many times a failed page request is repeated before {@link SearchPageHandler#failed(int, Throwable)} is called.
+	 * Only requests which failed without a response, or with a 5xx or 429 status, are repeated.
+	 */
+	public final int maxRetriesPerPage;
+	/**
+	 * Delay before a failed page request is repeated for the first time, doubled (with random jitter) for every next
+	 * attempt. A delay JIRA asks for with a <code>Retry-After</code> header is used instead when present.
+	 */
+	public final long retryDelayMillis;
+
+	public ParallelSearchOptions(int pageSize, int maxConcurrentPages, boolean ordered, int maxRetriesPerPage) {
+		this(pageSize, maxConcurrentPages, ordered, maxRetriesPerPage, DEFAULT_RETRY_DELAY_MILLIS);
+	}
+
+	public ParallelSearchOptions(int pageSize, int maxConcurrentPages, boolean ordered, int maxRetriesPerPage,
+			long retryDelayMillis) {
+		if (pageSize <= 0 || maxConcurrentPages <= 0 || maxRetriesPerPage < 0 || retryDelayMillis < 0) {
+			throw new IllegalArgumentException("pageSize and maxConcurrentPages must be positive, maxRetriesPerPage"
+					+ " and retryDelayMillis cannot be negative");
+		}
+		this.pageSize = pageSize;
+		this.maxConcurrentPages = maxConcurrentPages;
+		this.ordered = ordered;
+		this.maxRetriesPerPage = maxRetriesPerPage;
+		this.retryDelayMillis = retryDelayMillis;
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Builder class for {@link ParallelSearchOptions}. All fields are optional and have reasonable defaults,
+ * so set only those that you need and use {@link ParallelSearchOptionsBuilder#build()} method to build new
+ * {@link ParallelSearchOptions} class.
+ *
+ * @since v3.0
+ */
+public class ParallelSearchOptionsBuilder {
+	private int pageSize = ParallelSearchOptions.DEFAULT_PAGE_SIZE;
+	private int maxConcurrentPages = ParallelSearchOptions.DEFAULT_MAX_CONCURRENT_PAGES;
+	private boolean ordered = true;
+	private int maxRetriesPerPage = ParallelSearchOptions.DEFAULT_MAX_RETRIES_PER_PAGE;
+	private long retryDelayMillis = ParallelSearchOptions.DEFAULT_RETRY_DELAY_MILLIS;
+
+	public ParallelSearchOptionsBuilder withPageSize(int pageSize) {
+		this.pageSize = pageSize;
+		return this;
+	}
+
+	public ParallelSearchOptionsBuilder withMaxConcurrentPages(int maxConcurrentPages) {
+		this.maxConcurrentPages = maxConcurrentPages;
+		return this;
+	}
+
+	public ParallelSearchOptionsBuilder withOrdered(boolean ordered) {
+		this.ordered = ordered;
+		return this;
+	}
+
+	public ParallelSearchOptionsBuilder withUnordered() {
+		return withOrdered(false);
+	}
+
+	public ParallelSearchOptionsBuilder withMaxRetriesPerPage(int maxRetriesPerPage) {
+		this.maxRetriesPerPage = maxRetriesPerPage;
+		return this;
+	}
+
+	public ParallelSearchOptionsBuilder withRetryDelayMillis(long retryDelayMillis) {
+		this.retryDelayMillis = retryDelayMillis;
+		return this;
+	}
+
+	public ParallelSearchOptions build() {
+		return new ParallelSearchOptions(pageSize, maxConcurrentPages, ordered, maxRetriesPerPage, retryDelayMillis);
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+import com.google.common.base.Objects;
+
+import javax.annotation.Nullable;
+
+/**
+ * Measurements of a single REST call passed to {@link RestClientMetrics}. Times are in nanoseconds; byte counts
+ * are -1 when not known.
+ *
+ * @since v3.0
+ */
+public class RestCallMetrics {
+
+	private final String endpoint;
+	private final String method;
+	@Nullable
+	private final Integer statusCode;
+	private final long bytesSent;
+	private final long bytesReceived;
+	private final long queueWaitNanos;
+	private final long networkNanos;
+	private final long parseNanos;
+	@Nullable
+	private final Throwable failure;
+
+	public RestCallMetrics(String endpoint, String method, @Nullable Integer statusCode, long bytesSent,
+			long bytesReceived, long queueWaitNanos, long networkNanos, long parseNanos, @Nullable Throwable failure) {
+		this.endpoint = endpoint;
+		this.method = method;
+		this.statusCode = statusCode;
+		this.bytesSent = bytesSent;
+		this.bytesReceived = bytesReceived;
+		this.queueWaitNanos = queueWaitNanos;
+		this.networkNanos = networkNanos;
+		this.parseNanos = parseNanos;
+		this.failure = failure;
+	}
+
+	/**
+	 * @return path of the called resource with ids and issue keys replaced by <code>{id}</code> and <code>{key}</code>
+	 *         placeholders, e.g. <code>/rest/api/latest/issue/{key}/transitions</code>, so that it can be used
+	 *         as a metric tag; <code>unknown</code> when the call was made without telling its URI
+	 */
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * @return HTTP method, e.g. <code>GET</code>
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * @return HTTP status of the response, or <code>null</code> when no response was received
+	 */
+	@Nullable
+	public Integer getStatusCode() {
+		return statusCode;
+	}
+
+	public long getBytesSent() {
+		return bytesSent;
+	}
+
+	public long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	/**
+	 * @return time the received response waited before the client started handling it
+	 */
+	public long getQueueWaitNanos() {
+		return queueWaitNanos;
+	}
+
+	/**
+	 * @return time from sending the request until the response was received, which includes time spent by JIRA
+	 */
+	public long getNetworkNanos() {
+		return networkNanos;
+	}
+
+	/**
+	 * @return time spent on turning the response into the result of the call (or into an exception)
+	 */
+	public long getParseNanos() {
+		return parseNanos;
+	}
+
+	/**
+	 * @return cause of the failure of the call, or <code>null</code> when the call succeeded
+	 */
+	@Nullable
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	public boolean isSuccessful() {
+		return failure == null;
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(this).
+				add("endpoint", endpoint).
+				add("method", method).
+				add("statusCode", statusCode).
+				add("bytesSent", bytesSent).
+				add("bytesReceived", bytesReceived).
+				add("queueWaitNanos", queueWaitNanos).
+				add("networkNanos", networkNanos).
+				add("parseNanos", parseNanos).
+				add("failure", failure).
+				toString();
+	}
+}
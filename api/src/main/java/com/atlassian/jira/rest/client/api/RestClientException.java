@@ -20,6 +20,7 @@ import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -33,41 +34,63 @@ public class RestClientException extends RuntimeException {
 
 	private final Optional<Integer> statusCode;
 	private final Collection<ErrorCollection> errorCollections;
+	private final Optional<Long> retryAfterMillis;
 
 	public RestClientException(final RestClientException exception) {
 		super(exception.getMessage(), exception);
 		this.statusCode = exception.getStatusCode();
 		this.errorCollections = exception.errorCollections;
+		this.retryAfterMillis = exception.retryAfterMillis;
 	}
 
 	public RestClientException(final Throwable cause) {
 		super(cause);
 		this.errorCollections = Collections.emptyList();
 		this.statusCode = Optional.absent();
+		this.retryAfterMillis = Optional.absent();
 	}
 
 	public RestClientException(final Throwable cause, final int statusCode) {
 		super(cause);
 		this.errorCollections = Collections.emptyList();
 		this.statusCode = Optional.of(statusCode);
+		this.retryAfterMillis = Optional.absent();
 	}
 
 	public RestClientException(final String errorMessage, final Throwable cause) {
 		super(errorMessage, cause);
 		this.errorCollections = ImmutableList.of(new ErrorCollection(errorMessage));
 		statusCode = Optional.absent();
+		this.retryAfterMillis = Optional.absent();
 	}
 
 	public RestClientException(final Collection<ErrorCollection> errorCollections, final int statusCode) {
 		super(errorCollections.toString());
 		this.errorCollections = ImmutableList.copyOf(errorCollections);
 		this.statusCode = Optional.of(statusCode);
+		this.retryAfterMillis = Optional.absent();
 	}
 
 	public RestClientException(final Collection<ErrorCollection> errorCollections, final Throwable cause, final int statusCode) {
 		super(errorCollections.toString(), cause);
 		this.errorCollections = ImmutableList.copyOf(errorCollections);
 		this.statusCode = Optional.of(statusCode);
+		this.retryAfterMillis = Optional.absent();
+	}
+
+	/**
+	 * @param cause            cause of the failure, e.g. a response body which could not be parsed; may be
+	 *                         <code>null</code>
+	 * @param retryAfterMillis delay after which the server asked to send the request again, with a
+	 *                         <code>Retry-After</code> header; <code>null</code> when it did not
+	 * @since v3.0
+	 */
+	public RestClientException(final Collection<ErrorCollection> errorCollections, @Nullable final Throwable cause,
+			final int statusCode, @Nullable final Long retryAfterMillis) {
+		super(errorCollections.isEmpty() && cause != null ? cause.toString() : errorCollections.toString(), cause);
+		this.errorCollections = ImmutableList.copyOf(errorCollections);
+		this.statusCode = Optional.of(statusCode);
+		this.retryAfterMillis = Optional.fromNullable(retryAfterMillis);
 	}
 
 	/**
@@ -84,6 +107,14 @@ public class RestClientException extends RuntimeException {
 		return statusCode;
 	}
 
+	/**
+	 * @return delay after which the server asked to send the request again, usually together with status 429 or 503
+	 * @since v3.0
+	 */
+	public Optional<Long> getRetryAfterMillis() {
+		return retryAfterMillis;
+	}
+
 	@Override
 	public String toString() {
 		return "RestClientException{" +
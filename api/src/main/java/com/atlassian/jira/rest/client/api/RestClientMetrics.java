@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Receives measurements of every REST call made by a {@link JiraRestClient}, e.g. to feed them into a metrics
+ * library. It is called once per call, after the call completes or fails, from the thread which completed it,
+ * so implementations should be thread safe and return quickly.
+ *
+ * @see AggregatingRestClientMetrics
+ * @since v3.0
+ */
+public interface RestClientMetrics {
+
+	/**
+	 * Does not record anything.
+	 */
+	RestClientMetrics NONE = new RestClientMetrics() {
+		@Override
+		public void callCompleted(RestCallMetrics call) {
+		}
+	};
+
+	void callCompleted(RestCallMetrics call);
+}
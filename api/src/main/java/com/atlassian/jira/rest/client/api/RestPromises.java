@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Composition of promises returned by the REST clients, without blocking on any of them: fan-in of many calls,
+ * combining results of two calls and running continuations on an executor of your choice. Failure of any input
+ * promise fails the composed promise with the same exception. For callers which do block on every call there is
+ * {@link #claim(Promise, long, TimeUnit)}.
+ *
+ * @since v3.0
+ */
+public class RestPromises {
+
+	private RestPromises() {
+	}
+
+	/**
+	 * Combines results of two promises when both complete successfully.
+	 *
+	 * @param <A> result type of the first promise
+	 * @param <B> result type of the second promise
+	 * @param <C> combined result type
+	 */
+	public interface Combiner<A, B, C> {
+		C combine(A first, B second);
+	}
+
+	/**
+	 * @return promise of results of all given promises, in their order; fails as soon as any of them fails
+	 */
+	public static <A> Promise<List<A>> allOf(final Iterable<? extends Promise<? extends A>> promises) {
+		return Promises.forListenableFuture(Futures.<A>allAsList(promises));
+	}
+
+	/**
+	 * @return promise of the result of given combiner, called on the thread completing the later of given promises
+	 */
+	public static <A, B, C> Promise<C> combine(final Promise<A> first, final Promise<B> second,
+			final Combiner<? super A, ? super B, ? extends C> combiner) {
+		return first.flatMap(new Function<A, Promise<C>>() {
+			@Override
+			public Promise<C> apply(final A firstResult) {
+				return second.map(new Function<B, C>() {
+					@Override
+					public C apply(final B secondResult) {
+						return combiner.combine(firstResult, secondResult);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * @return promise of the result of given function, which is applied to the result of given promise on given
+	 *         executor rather than on the thread completing the promise
+	 */
+	public static <A, B> Promise<B> map(final Promise<A> promise, final Function<? super A, ? extends B> function,
+			final Executor executor) {
+		return Promises.forListenableFuture(Futures.transform(promise, function, executor));
+	}
+
+	/**
+	 * @return promise completed with the outcome of given promise from given executor, so that callbacks registered
+	 *         on it (e.g. with {@link Promise#then}, {@link Promise#map}) run there
+	 */
+	public static <A> Promise<A> on(final Promise<A> promise, final Executor executor) {
+		final SettableFuture<A> delivered = SettableFuture.create();
+		Futures.addCallback(promise, new FutureCallback<A>() {
+			@Override
+			public void onSuccess(final A result) {
+				delivered.set(result);
+			}
+
+			@Override
+			public void onFailure(final Throwable t) {
+				delivered.setException(t);
+			}
+		}, executor);
+		return Promises.forListenableFuture(delivered);
+	}
+
+	/**
+	 * Waits for the result of given promise for at most given time. Meant for callers which block on every call
+	 * anyway: unlike {@link Promise#claim()} the wait is bounded and can be interrupted. The waiting thread holds no
+	 * locks of the client and occupies no thread of the HTTP client while it waits.
+	 *
+	 * @return result of given promise
+	 * @throws RestClientException when the call failed, the wait timed out or was interrupted; in the last two
+	 *                             cases the call is cancelled and, on interruption, the interrupt flag is restored
+	 */
+	public static <A> A claim(final Promise<A> promise, final long timeout, final TimeUnit unit) {
+		try {
+			return promise.get(timeout, unit);
+		} catch (InterruptedException e) {
+			promise.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new RestClientException("Interrupted while waiting for a REST call", e);
+		} catch (TimeoutException e) {
+			promise.cancel(true);
+			throw new RestClientException("REST call did not complete within " + timeout + " " + unit, e);
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RestClientException) {
+				// gives a stack trace of the calling thread, like DelegatingPromise#claim()
+				throw new RestClientException((RestClientException) cause);
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RestClientException(cause);
+		}
+	}
+}
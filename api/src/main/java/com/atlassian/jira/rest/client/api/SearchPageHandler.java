@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+
+/**
+ * Receives pages of a search performed with
+ * {@link SearchRestClient#searchJqlParallel(String, java.util.Set, ParallelSearchOptions, SearchPageHandler)}.
+ * Methods of this interface are never called concurrently, but they may be called from different
+ * (usually HTTP client callback) threads, so implementations should return quickly. No lock of the client is held
+ * while they run; pages waiting for delivery count towards {@link ParallelSearchOptions#maxConcurrentPages}, so a
+ * slow handler slows down retrieval rather than piling up pages in memory.
+ *
+ * @since v3.0
+ */
+public interface SearchPageHandler {
+
+	/**
+	 * @param page successfully retrieved page of issues
+	 */
+	void handle(SearchResult page);
+
+	/**
+	 * Called when a page could not be retrieved even after configured number of retries.
+	 * The search continues with remaining pages.
+	 *
+	 * @param startAt start index of the page that failed, can be used to request it again with
+	 *                {@link SearchRestClient#searchJql(String, Integer, Integer, java.util.Set)}
+	 * @param cause   failure of the last attempt
+	 */
+	void failed(int startAt, Throwable cause);
+}
@@ -17,6 +17,7 @@
 package com.atlassian.jira.rest.client.api;
 
 import com.atlassian.jira.rest.client.api.domain.Filter;
+import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.util.concurrent.Promise;
 
@@ -54,13 +55,52 @@ public interface SearchRestClient {
 	 * @param fields     set of fields which should be retrieved. You can specify *all for all fields
 	 *                   or *navigable (which is the default value, used when null is given) which will cause to include only
 	 *                   navigable fields in the result. To ignore the specific field you can use "-" before the field's name.
-	 *                   Note that the following fields: summary, issuetype, created, updated, project and status are
-	 *                   required. These fields are included in *all and *navigable.
+	 *                   Only the given fields are parsed, so a narrow set (e.g. status and updated) gives
+	 *                   small responses which are fast to parse. Attributes of returned issues whose fields were not
+	 *                   retrieved are <code>null</code>, including summary, issue type, creation and update date,
+	 *                   project and status which are otherwise always present.
 	 * @return issues matching given JQL query
 	 * @throws RestClientException in case of problems (connectivity, malformed messages, invalid JQL query, etc.)
 	 */
 	Promise<SearchResult> searchJql(@Nullable String jql, @Nullable Integer maxResults, @Nullable Integer startAt, @Nullable Set<String> fields);
 
+	/**
+	 * Performs a JQL search and returns all issues matching the query, fetching them page by page as the returned
+	 * iterable is traversed. After the first page is retrieved, up to <code>pagesAhead</code> subsequent pages are
+	 * requested in the background, so that the network round trips overlap with processing of the current page.
+	 * Memory usage is bounded by <code>pagesAhead + 1</code> pages.
+	 * <p/>
+	 * The returned iterable can be traversed multiple times, each traversal runs the search again.
+	 * Iterators block while waiting for the next page and throw {@link RestClientException} when a page cannot be retrieved.
+	 *
+	 * @param jql        a valid JQL query (will be properly encoded by JIRA client). All issues matches to the null or empty JQL.
+	 * @param pageSize   number of issues requested in a single page. JIRA may return less when its configured limit is lower.
+	 * @param pagesAhead maximum number of pages requested ahead of the one being iterated
+	 * @param fields     set of fields which should be retrieved, see {@link #searchJql(String, Integer, Integer, java.util.Set)}
+	 * @return lazily loaded issues matching given JQL query
+	 * @since 3.0 client, 4.3 server
+	 */
+	Iterable<Issue> searchJqlAll(@Nullable String jql, int pageSize, int pagesAhead, @Nullable Set<String> fields);
+
+	/**
+	 * Performs a JQL search retrieving all matching issues with many page requests running at the same time.
+	 * The first page is requested alone to learn the total number of issues, then the remaining pages are requested
+	 * in parallel, with at most {@link ParallelSearchOptions#maxConcurrentPages} requests in flight.
+	 * Pages are passed to given handler either in order of their start index or as soon as they arrive, depending
+	 * on {@link ParallelSearchOptions#ordered}. Failed page requests are retried after a growing delay, or the one
+	 * JIRA asks for with a <code>Retry-After</code> header, and pages which still fail are reported with {@link SearchPageHandler#failed(int, Throwable)} while the search goes on.
+	 *
+	 * @param jql     a valid JQL query (will be properly encoded by JIRA client). All issues matches to the null or empty JQL.
+	 * @param fields  set of fields which should be retrieved, see {@link #searchJql(String, Integer, Integer, java.util.Set)}
+	 * @param options page size, concurrency, ordering and retry settings
+	 * @param handler receives retrieved pages and failures
+	 * @return promise fulfilled when every page has been either handled or reported as failed. It is rejected
+	 *         when the first page cannot be retrieved or when the handler throws an exception.
+	 * @since 3.0 client, 4.3 server
+	 */
+	Promise<Void> searchJqlParallel(@Nullable String jql, @Nullable Set<String> fields, ParallelSearchOptions options,
+			SearchPageHandler handler);
+
 	/**
 	 * Retrieves list of your favourite filters.
 	 *
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api;
+
+/**
+ * Receives progress of a streaming attachment upload started with
+ * {@link IssueRestClient#addAttachments(java.net.URI, UploadProgressListener, java.io.File...)} or
+ * {@link IssueRestClient#addAttachment(java.net.URI, java.nio.channels.FileChannel, String, UploadProgressListener)}.
+ * It is called from the HTTP client I/O thread, so implementations should return quickly.
+ *
+ * @since v3.0
+ */
+public interface UploadProgressListener {
+
+	/**
+	 * @param bytesSent  number of bytes of the request body written so far, including multipart framing
+	 * @param totalBytes total size of the request body, or -1 when it is not known up front
+	 */
+	void progress(long bytesSent, long totalBytes);
+}
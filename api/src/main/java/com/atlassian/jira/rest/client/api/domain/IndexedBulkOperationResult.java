@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.util.SortedMap;
+
+/**
+ * Result of a bulk operation split into many requests. Created entities are keyed by position of their input in
+ * the original collection, and {@link BulkOperationErrorResult#getFailedElementNumber()} of every error is such
+ * position too. Every input ends up either created or failed.
+ *
+ * @since v3.0
+ */
+public class IndexedBulkOperationResult<T> extends BulkOperationResult<T> {
+
+	private final SortedMap<Integer, T> issuesByPosition;
+
+	public IndexedBulkOperationResult(final SortedMap<Integer, T> issuesByPosition,
+			final Iterable<BulkOperationErrorResult> errors) {
+		this(ImmutableSortedMap.copyOfSorted(issuesByPosition), errors);
+	}
+
+	private IndexedBulkOperationResult(final ImmutableSortedMap<Integer, T> issuesByPosition,
+			final Iterable<BulkOperationErrorResult> errors) {
+		super(ImmutableList.copyOf(issuesByPosition.values()), errors);
+		this.issuesByPosition = issuesByPosition;
+	}
+
+	/**
+	 * @return created entities keyed by position of their input, in the order of inputs
+	 */
+	public SortedMap<Integer, T> getIssuesByPosition() {
+		return issuesByPosition;
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(this)
+				.add("issuesByPosition", issuesByPosition)
+				.add("errors", getErrors())
+				.toString();
+	}
+}
@@ -27,28 +27,41 @@ import com.google.common.base.Objects;
  */
 public class IssueField implements NamedEntity, IdentifiableEntity<String> {
 
-	private final String id;
-	private final String name;
-	private final String type;
+	private final IssueFieldDescriptor descriptor;
 	private final Object value;
 
 	public IssueField(String id, String name, String type, Object value) {
-		this.id = id;
-		this.name = name;
-		this.type = type;
+		this(new IssueFieldDescriptor(id, name, type), value);
+	}
+
+	/**
+	 * @param descriptor id, name and type of this field, usually shared with other issues parsed from the same response
+	 * @param value      current value of this field
+	 * @since v3.0
+	 */
+	public IssueField(IssueFieldDescriptor descriptor, Object value) {
+		this.descriptor = descriptor;
 		this.value = value;
 	}
 
 	public String getId() {
-		return id;
+		return descriptor.getId();
 	}
 
 	public String getName() {
-		return name;
+		return descriptor.getName();
 	}
 
 	public String getType() {
-		return type;
+		return descriptor.getType();
+	}
+
+	/**
+	 * @return id, name and type of this field
+	 * @since v3.0
+	 */
+	public IssueFieldDescriptor getDescriptor() {
+		return descriptor;
 	}
 
 	public Object getValue() {
@@ -58,25 +71,23 @@ public class IssueField implements NamedEntity, IdentifiableEntity<String> {
 	@Override
 	public String toString() {
 		return Objects.toStringHelper(this).
-				add("id", id).
-				add("name", name).
-				add("type", type).
+				add("id", getId()).
+				add("name", getName()).
+				add("type", getType()).
 				add("value", getValue()).
 				toString();
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hashCode(id, name, type); // for the sake of performance we don't include "value" field here
+		return descriptor.hashCode(); // for the sake of performance we don't include "value" field here
 	}
 
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof IssueField) {
 			final IssueField that = (IssueField) obj;
-			return Objects.equal(this.id, that.id)
-					&& Objects.equal(this.name, that.name)
-					&& Objects.equal(this.type, that.type)
+			return Objects.equal(this.descriptor, that.descriptor)
 					&& Objects.equal(this.value, that.value);
 		}
 		return false;
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.api.domain;
+
+import com.atlassian.jira.rest.client.api.IdentifiableEntity;
+import com.atlassian.jira.rest.client.api.NamedEntity;
+import com.google.common.base.Objects;
+
+import javax.annotation.Nullable;
+
+/**
+ * Id, name and type of an issue field, as described by <code>names</code> and <code>schema</code> sections
+ * of JIRA responses. Instances are shared by all {@link IssueField}s of the same field parsed from a single
+ * response. Parsers which meet the <code>names</code> and <code>schema</code> sections only after the issues may
+ * hand out a subclass which takes the name and type once they are known.
+ *
+ * @since v3.0
+ */
+public class IssueFieldDescriptor implements NamedEntity, IdentifiableEntity<String> {
+
+	private final String id;
+	@Nullable
+	private final String name;
+	@Nullable
+	private final String type;
+
+	public IssueFieldDescriptor(String id, @Nullable String name, @Nullable String type) {
+		this.id = id;
+		this.name = name;
+		this.type = type;
+	}
+
+	@Override
+	public String getId() {
+		return id;
+	}
+
+	@Nullable
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Nullable
+	public String getType() {
+		return type;
+	}
+
+	@Override
+	public String toString() {
+		return Objects.toStringHelper(this).
+				add("id", getId()).
+				add("name", getName()).
+				add("type", getType()).
+				toString();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof IssueFieldDescriptor) {
+			final IssueFieldDescriptor that = (IssueFieldDescriptor) obj;
+			return Objects.equal(getId(), that.getId())
+					&& Objects.equal(getName(), that.getName())
+					&& Objects.equal(getType(), that.getType());
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(getId(), getName(), getType());
+	}
+}
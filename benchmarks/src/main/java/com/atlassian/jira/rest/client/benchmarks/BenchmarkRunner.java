@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks with the GC profiler always enabled, so that allocation rate per operation is reported next to
+ * the time. Accepts the usual JMH command line, e.g. <code>java -jar benchmarks/target/benchmarks.jar SearchResult
+ * -p customFields=200</code>; with no benchmark name given all benchmarks of this module are run.
+ *
+ * @since v3.0
+ */
+public class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		final OptionsBuilder options = new OptionsBuilder();
+		if (commandLineOptions.getIncludes().isEmpty()) {
+			options.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+		}
+		options.parent(commandLineOptions);
+		options.addProfiler(GCProfiler.class);
+		new Runner(options.build()).run();
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.benchmarks;
+
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.internal.json.gen.IssueInputJsonGenerator;
+import com.atlassian.jira.rest.client.internal.json.gen.IssuesInputJsonGenerator;
+import org.codehaus.jettison.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation of request bodies creating a single issue and a batch of issues, serialization included.
+ *
+ * @since v3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IssueInputJsonGeneratorBenchmark {
+
+	@Param({"50"})
+	public int issues;
+
+	@Param({"10", "200"})
+	public int customFields;
+
+	private final IssueInputJsonGenerator issueInputJsonGenerator = new IssueInputJsonGenerator();
+	private final IssuesInputJsonGenerator issuesInputJsonGenerator = new IssuesInputJsonGenerator();
+	private List<IssueInput> issueInputs;
+
+	@Setup
+	public void setUp() {
+		issueInputs = SyntheticPayloads.issueInputs(issues, customFields);
+	}
+
+	@Benchmark
+	public String generateIssue() throws JSONException {
+		return issueInputJsonGenerator.generate(issueInputs.get(0)).toString();
+	}
+
+	@Benchmark
+	public String generateIssues() throws JSONException {
+		return issuesInputJsonGenerator.generate(issueInputs).toString();
+	}
+}
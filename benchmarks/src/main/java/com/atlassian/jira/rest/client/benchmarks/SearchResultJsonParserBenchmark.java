@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.benchmarks;
+
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.internal.json.SearchResultJsonParser;
+import com.google.common.base.Charsets;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a search result page, both from a JSON tree and straight from the response stream.
+ *
+ * @since v3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchResultJsonParserBenchmark {
+
+	@Param({"50"})
+	public int issues;
+
+	@Param({"10", "200"})
+	public int customFields;
+
+	@Param({"5", "50"})
+	public int changelogDepth;
+
+	private byte[] searchResultBytes;
+	private JSONObject searchResultJson;
+
+	@Setup
+	public void setUp() throws JSONException {
+		final String searchResult = SyntheticPayloads.searchResult(issues, customFields, changelogDepth);
+		searchResultBytes = searchResult.getBytes(Charsets.UTF_8);
+		searchResultJson = new JSONObject(searchResult);
+	}
+
+	@Benchmark
+	public SearchResult parseTree() throws JSONException {
+		return new SearchResultJsonParser().parse(searchResultJson);
+	}
+
+	@Benchmark
+	public SearchResult parseStream() throws JSONException, IOException {
+		return new SearchResultJsonParser().parse(new ByteArrayInputStream(searchResultBytes));
+	}
+
+	@Benchmark
+	public SearchResult parseStreamLazily() throws JSONException, IOException {
+		return new SearchResultJsonParser(true).parse(new ByteArrayInputStream(searchResultBytes));
+	}
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.benchmarks;
+
+import com.atlassian.jira.rest.client.api.domain.input.ComplexIssueInputFieldValue;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInputBuilder;
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.io.Resources;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Builds payloads of arbitrary size out of small responses captured from a real JIRA (kept in
+ * <code>payloads</code> resources). Issues get any number of custom fields of the most common types and changelogs
+ * of any depth, create issue metadata gets any number of custom fields per issue type.
+ *
+ * @since v3.0
+ */
+public class SyntheticPayloads {
+
+	private static final String BASE_URL = "http://localhost:2990/jira";
+	private static final int FIRST_CUSTOM_FIELD_ID = 20000;
+	private static final String[] CUSTOM_FIELD_TYPES = {"number", "string", "option", "array"};
+
+	private SyntheticPayloads() {
+	}
+
+	/**
+	 * @param seq            sequence number, makes ids and keys of generated issues unique
+	 * @param customFields   number of custom fields added to the template issue
+	 * @param changelogDepth number of changelog groups of the issue
+	 * @return issue as returned by <code>/rest/api/2/issue/{key}?expand=names,schema,changelog</code>
+	 */
+	public static JSONObject issue(final int seq, final int customFields, final int changelogDepth) throws JSONException {
+		final JSONObject issue = resource("issue.json");
+		final long id = 30000L + seq;
+		issue.put("id", String.valueOf(id));
+		issue.put("key", "TST-" + seq);
+		issue.put("self", BASE_URL + "/rest/api/2/issue/" + id);
+
+		final JSONObject fields = issue.getJSONObject("fields");
+		final JSONObject names = issue.getJSONObject("names");
+		final JSONObject schema = issue.getJSONObject("schema");
+		for (int i = 0; i < customFields; i++) {
+			final String fieldId = customFieldId(i);
+			final String type = CUSTOM_FIELD_TYPES[i % CUSTOM_FIELD_TYPES.length];
+			fields.put(fieldId, customFieldValue(type, seq, i));
+			names.put(fieldId, "Synthetic " + type + " field " + i);
+			schema.put(fieldId, customFieldSchema(type, i));
+		}
+
+		final JSONObject changelog = issue.getJSONObject("changelog");
+		changelog.put("histories", histories(changelog.getJSONArray("histories"), changelogDepth));
+		changelog.put("maxResults", changelogDepth);
+		changelog.put("total", changelogDepth);
+		return issue;
+	}
+
+	/**
+	 * @return changelog groups of an issue with given depth, each with the items of one of template groups
+	 */
+	public static JSONArray histories(final int changelogDepth) throws JSONException {
+		return histories(resource("issue.json").getJSONObject("changelog").getJSONArray("histories"), changelogDepth);
+	}
+
+	/**
+	 * @return search result serialized the way JIRA does it: issues first, then names and schema shared by them
+	 */
+	public static String searchResult(final int issues, final int customFields, final int changelogDepth)
+			throws JSONException {
+		return searchResult(0, issues, issues, customFields, changelogDepth);
+	}
+
+	/**
+	 * @param startAt index of the first issue of the page
+	 * @param issues  number of issues in the page
+	 * @param total   number of issues matching the query
+	 * @return search result page serialized the way JIRA does it: issues first, then names and schema shared by them
+	 */
+	public static String searchResult(final int startAt, final int issues, final int total, final int customFields,
+			final int changelogDepth) throws JSONException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("{\"expand\":\"names,schema\",\"startAt\":").append(startAt).append(",\"maxResults\":").append(issues)
+				.append(",\"total\":").append(total).append(",\"issues\":[");
+		JSONObject names = null;
+		JSONObject schema = null;
+		for (int i = 0; i < issues; i++) {
+			final JSONObject issue = issue(startAt + i, customFields, changelogDepth);
+			names = (JSONObject) issue.remove("names");
+			schema = (JSONObject) issue.remove("schema");
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(issue.toString());
+		}
+		sb.append("],\"names\":").append(names != null ? names.toString() : "{}");
+		sb.append(",\"schema\":").append(schema != null ? schema.toString() : "{}");
+		return sb.append('}').toString();
+	}
+
+	/**
+	 * @param seq sequence number, makes ids and keys of created issues unique
+	 * @return response of <code>/rest/api/2/issue</code> creating an issue
+	 */
+	public static JSONObject createdIssue(final int seq) throws JSONException {
+		final long id = 30000L + seq;
+		return new JSONObject()
+				.put("id", String.valueOf(id))
+				.put("key", "TST-" + seq)
+				.put("self", BASE_URL + "/rest/api/2/issue/" + id);
+	}
+
+	public static JSONObject serverInfo() throws JSONException {
+		return resource("server-info.json");
+	}
+
+	/**
+	 * @return response of <code>/rest/api/2/issue/createmeta?expand=projects.issuetypes.fields</code> with given
+	 *         number of custom fields (half of them with allowed values) for every issue type of the template
+	 */
+	public static JSONObject createIssueMetadata(final int customFields) throws JSONException {
+		final JSONObject createMeta = resource("createmeta.json");
+		final JSONArray projects = createMeta.getJSONArray("projects");
+		for (int p = 0; p < projects.length(); p++) {
+			final JSONArray issueTypes = projects.getJSONObject(p).getJSONArray("issuetypes");
+			for (int t = 0; t < issueTypes.length(); t++) {
+				final JSONObject fields = new JSONObject();
+				fields.put("summary", new JSONObject()
+						.put("required", true)
+						.put("schema", new JSONObject().put("type", "string").put("system", "summary"))
+						.put("name", "Summary")
+						.put("operations", new JSONArray(ImmutableList.of("set"))));
+				for (int i = 0; i < customFields; i++) {
+					fields.put(customFieldId(i), fieldInfo(i));
+				}
+				issueTypes.getJSONObject(t).put("fields", fields);
+			}
+		}
+		return createMeta;
+	}
+
+	/**
+	 * @return audit records page with given number of records, each with given number of changed values
+	 */
+	public static JSONObject auditRecords(final int records, final int changedValues) throws JSONException {
+		final JSONObject auditRecords = resource("audit-records.json");
+		final JSONArray templates = auditRecords.getJSONArray("records");
+		final JSONArray result = new JSONArray();
+		for (int i = 0; i < records; i++) {
+			final JSONObject record = copy(templates.getJSONObject(i % templates.length()));
+			record.put("id", 10000 + i);
+			final JSONArray values = new JSONArray();
+			for (int v = 0; v < changedValues; v++) {
+				values.put(new JSONObject()
+						.put("fieldName", "Field " + v)
+						.put("changedFrom", "old value " + v)
+						.put("changedTo", "new value " + v));
+			}
+			record.put("changedValues", values);
+			result.put(record);
+		}
+		auditRecords.put("records", result);
+		auditRecords.put("limit", records);
+		auditRecords.put("total", records);
+		return auditRecords;
+	}
+
+	/**
+	 * @return inputs of issues to create, each with given number of custom fields of the most common types
+	 */
+	public static List<IssueInput> issueInputs(final int issues, final int customFields) {
+		final List<IssueInput> inputs = Lists.newArrayListWithCapacity(issues);
+		for (int seq = 0; seq < issues; seq++) {
+			final IssueInputBuilder builder = new IssueInputBuilder("TST", 1L, "Synthetic issue " + seq)
+					.setDescription("Description of synthetic issue " + seq)
+					.setAssigneeName("admin")
+					.setComponentsNames(ImmutableList.of("Component A", "Component B"))
+					.setFixVersionsNames(ImmutableList.of("1.0"));
+			for (int i = 0; i < customFields; i++) {
+				final String fieldId = customFieldId(i);
+				switch (i % CUSTOM_FIELD_TYPES.length) {
+					case 0:
+						builder.setFieldValue(fieldId, (double) seq * i);
+						break;
+					case 1:
+						builder.setFieldValue(fieldId, "Value " + i + " of issue " + seq);
+						break;
+					case 2:
+						builder.setFieldValue(fieldId, ComplexIssueInputFieldValue.with("value", "Option " + (i % 5)));
+						break;
+					default:
+						builder.setFieldValue(fieldId, ImmutableList.of("label-" + i, "label-" + seq));
+				}
+			}
+			inputs.add(builder.build());
+		}
+		return inputs;
+	}
+
+	private static JSONArray histories(final JSONArray templates, final int changelogDepth) throws JSONException {
+		final JSONArray histories = new JSONArray();
+		for (int i = 0; i < changelogDepth; i++) {
+			final JSONObject history = copy(templates.getJSONObject(i % templates.length()));
+			history.put("id", String.valueOf(10000 + i));
+			histories.put(history);
+		}
+		return histories;
+	}
+
+	private static String customFieldId(final int i) {
+		return "customfield_" + (FIRST_CUSTOM_FIELD_ID + i);
+	}
+
+	private static Object customFieldValue(final String type, final int seq, final int i) throws JSONException {
+		if ("number".equals(type)) {
+			return (double) seq * i;
+		} else if ("string".equals(type)) {
+			return "Value " + i + " of issue " + seq;
+		} else if ("option".equals(type)) {
+			return customFieldOption(i % 5);
+		} else {
+			return new JSONArray(ImmutableList.of("label-" + i, "label-" + seq));
+		}
+	}
+
+	private static JSONObject customFieldSchema(final String type, final int i) throws JSONException {
+		final JSONObject schema = new JSONObject().put("customId", FIRST_CUSTOM_FIELD_ID + i);
+		if ("number".equals(type)) {
+			return schema.put("type", "number").put("custom", "com.atlassian.jira.plugin.system.customfieldtypes:float");
+		} else if ("string".equals(type)) {
+			return schema.put("type", "string").put("custom", "com.atlassian.jira.plugin.system.customfieldtypes:textfield");
+		} else if ("option".equals(type)) {
+			return schema.put("type", "option").put("custom", "com.atlassian.jira.plugin.system.customfieldtypes:select");
+		} else {
+			return schema.put("type", "array").put("items", "string")
+					.put("custom", "com.atlassian.jira.plugin.system.customfieldtypes:labels");
+		}
+	}
+
+	private static JSONObject customFieldOption(final int option) throws JSONException {
+		final int id = 10000 + option;
+		return new JSONObject()
+				.put("self", BASE_URL + "/rest/api/2/customFieldOption/" + id)
+				.put("value", "Option " + option)
+				.put("id", String.valueOf(id));
+	}
+
+	private static JSONObject fieldInfo(final int i) throws JSONException {
+		// every other field is a select list, so that allowed values are parsed as well
+		final String type = i % 2 == 0 ? "option" : CUSTOM_FIELD_TYPES[i % CUSTOM_FIELD_TYPES.length];
+		final JSONObject fieldInfo = new JSONObject()
+				.put("required", false)
+				.put("schema", customFieldSchema(type, i))
+				.put("name", "Synthetic " + type + " field " + i)
+				.put("operations", new JSONArray(ImmutableList.of("set")));
+		if ("option".equals(type)) {
+			final JSONArray allowedValues = new JSONArray();
+			for (int option = 0; option < 5; option++) {
+				allowedValues.put(customFieldOption(option));
+			}
+			fieldInfo.put("allowedValues", allowedValues);
+		}
+		return fieldInfo;
+	}
+
+	private static JSONObject copy(final JSONObject json) throws JSONException {
+		return new JSONObject(json.toString());
+	}
+
+	private static JSONObject resource(final String name) throws JSONException {
+		try {
+			return new JSONObject(Resources.toString(Resources.getResource(SyntheticPayloads.class, "/payloads/" + name),
+					Charsets.UTF_8));
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot read payload template " + name, e);
+		}
+	}
+}
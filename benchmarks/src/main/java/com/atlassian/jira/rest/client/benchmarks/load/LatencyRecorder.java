@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.benchmarks.load;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects latencies of completed requests and counts failed ones. Safe for use from many callback threads.
+ *
+ * @since v3.0
+ */
+public class LatencyRecorder {
+
+	private long[] latencies = new long[1024];
+	private int size;
+	private int failures;
+
+	public synchronized void record(final long latencyNanos) {
+		if (size == latencies.length) {
+			latencies = Arrays.copyOf(latencies, size * 2);
+		}
+		latencies[size++] = latencyNanos;
+	}
+
+	public synchronized void failed() {
+		failures++;
+	}
+
+	public synchronized int getSuccesses() {
+		return size;
+	}
+
+	public synchronized int getFailures() {
+		return failures;
+	}
+
+	/**
+	 * @param percentile from 0 (exclusive) to 100 (inclusive)
+	 * @return latency not exceeded by given percent of successful requests, using the nearest rank method,
+	 *         or 0 when nothing was recorded
+	 */
+	public synchronized double percentileMillis(final double percentile) {
+		if (percentile <= 0 || percentile > 100) {
+			throw new IllegalArgumentException("percentile must be greater than 0 and not greater than 100");
+		}
+		if (size == 0) {
+			return 0;
+		}
+		final long[] sorted = Arrays.copyOf(latencies, size);
+		Arrays.sort(sorted);
+		final int rank = (int) Math.ceil(percentile / 100 * size);
+		return toMillis(sorted[Math.max(rank, 1) - 1]);
+	}
+
+	private static double toMillis(final long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
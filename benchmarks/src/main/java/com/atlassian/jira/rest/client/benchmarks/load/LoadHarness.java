@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.benchmarks.load;
+
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.benchmarks.SyntheticPayloads;
+import com.atlassian.jira.rest.client.benchmarks.stub.StubJiraServer;
+import com.atlassian.jira.rest.client.benchmarks.stub.StubJiraServerOptions;
+import com.atlassian.jira.rest.client.benchmarks.stub.StubJiraServerOptionsBuilder;
+import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
+import com.atlassian.util.concurrent.Promise;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.FutureCallback;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives {@link com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClient} end-to-end against
+ * a {@link StubJiraServer} and reports throughput and latency percentiles. Run with:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.atlassian.jira.rest.client.benchmarks.load.LoadHarness \
+ *     [scenario] [requests] [concurrency] [latencyMillis] [errorRate]
+ * </pre>
+ * where scenario is one of {@link Scenario} (in any case). A tenth of the requests is sent first as a warm-up
+ * and is not reported.
+ *
+ * @since v3.0
+ */
+public class LoadHarness {
+
+	private static final int DEFAULT_REQUESTS = 10000;
+	private static final int DEFAULT_CONCURRENCY = 32;
+
+	public enum Scenario {
+		SERVER_INFO {
+			@Override
+			Promise<?> execute(final JiraRestClient client, final URI baseUri, final int seq) {
+				return client.getMetadataClient().getServerInfo();
+			}
+		},
+		SEARCH {
+			@Override
+			Promise<?> execute(final JiraRestClient client, final URI baseUri, final int seq) {
+				return client.getSearchClient().searchJql("project = TST", 50, 0, null);
+			}
+		},
+		GET_ISSUE {
+			@Override
+			Promise<?> execute(final JiraRestClient client, final URI baseUri, final int seq) {
+				return client.getIssueClient().getIssue("TST-" + seq);
+			}
+		},
+		CREATE_ISSUES {
+			private final List<IssueInput> issues = SyntheticPayloads.issueInputs(10, 20);
+
+			@Override
+			Promise<?> execute(final JiraRestClient client, final URI baseUri, final int seq) {
+				return client.getIssueClient().createIssues(issues);
+			}
+		},
+		DOWNLOAD_ATTACHMENT {
+			@Override
+			Promise<?> execute(final JiraRestClient client, final URI baseUri, final int seq) {
+				final URI attachmentUri = baseUri.resolve("/secure/attachment/10000/attachment.bin");
+				return client.getIssueClient().getAttachment(attachmentUri).map(new Function<InputStream, Long>() {
+					@Override
+					public Long apply(final InputStream in) {
+						return consume(in);
+					}
+				});
+			}
+		};
+
+		abstract Promise<?> execute(JiraRestClient client, URI baseUri, int seq);
+	}
+
+	private LoadHarness() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		final Scenario scenario = args.length > 0 ? Scenario.valueOf(args[0].toUpperCase(Locale.ENGLISH)) : Scenario.SEARCH;
+		final int requests = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REQUESTS;
+		final int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CONCURRENCY;
+		final long latencyMillis = args.length > 3 ? Long.parseLong(args[3]) : 0;
+		final double errorRate = args.length > 4 ? Double.parseDouble(args[4]) : 0;
+
+		final StubJiraServerOptions options = new StubJiraServerOptionsBuilder()
+				.withLatency(latencyMillis, latencyMillis / 2)
+				.withErrorRate(errorRate)
+				.build();
+		final StubJiraServer server = StubJiraServer.start(options);
+		try {
+			final JiraRestClient client = new AsynchronousJiraRestClientFactory()
+					.createWithBasicHttpAuthentication(server.getBaseUri(), "admin", "admin");
+			try {
+				run(client, server.getBaseUri(), scenario, Math.max(requests / 10, 1), concurrency);
+				final long start = System.nanoTime();
+				final LatencyRecorder recorder = run(client, server.getBaseUri(), scenario, requests, concurrency);
+				final long elapsedNanos = System.nanoTime() - start;
+				report(scenario, recorder, elapsedNanos, concurrency);
+			} finally {
+				client.close();
+			}
+		} finally {
+			server.close();
+		}
+	}
+
+	/**
+	 * Sends given number of requests keeping at most <code>concurrency</code> of them in flight and waits
+	 * until all of them complete.
+	 */
+	public static LatencyRecorder run(final JiraRestClient client, final URI baseUri, final Scenario scenario,
+			final int requests, final int concurrency) throws InterruptedException {
+		final LatencyRecorder recorder = new LatencyRecorder();
+		final Semaphore inFlight = new Semaphore(concurrency);
+		final CountDownLatch completed = new CountDownLatch(requests);
+		for (int i = 0; i < requests; i++) {
+			inFlight.acquire();
+			final long start = System.nanoTime();
+			final FutureCallback<Object> callback = new FutureCallback<Object>() {
+				@Override
+				public void onSuccess(final Object result) {
+					recorder.record(System.nanoTime() - start);
+					inFlight.release();
+					completed.countDown();
+				}
+
+				@Override
+				public void onFailure(final Throwable t) {
+					recorder.failed();
+					inFlight.release();
+					completed.countDown();
+				}
+			};
+			try {
+				whenDone(scenario.execute(client, baseUri, i), callback);
+			} catch (RuntimeException e) {
+				callback.onFailure(e);
+			}
+		}
+		completed.await();
+		return recorder;
+	}
+
+	private static <T> void whenDone(final Promise<T> promise, final FutureCallback<Object> callback) {
+		promise.then(new FutureCallback<T>() {
+			@Override
+			public void onSuccess(final T result) {
+				callback.onSuccess(result);
+			}
+
+			@Override
+			public void onFailure(final Throwable t) {
+				callback.onFailure(t);
+			}
+		});
+	}
+
+	private static void report(final Scenario scenario, final LatencyRecorder recorder, final long elapsedNanos,
+			final int concurrency) {
+		final int completed = recorder.getSuccesses() + recorder.getFailures();
+		final double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+		System.out.println(String.format(Locale.ENGLISH,
+				"%s: %d requests (%d failed), concurrency %d, %.1f s, %.1f requests/s, "
+						+ "latency p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+				scenario, completed, recorder.getFailures(), concurrency, elapsedSeconds, completed / elapsedSeconds,
+				recorder.percentileMillis(50), recorder.percentileMillis(99), recorder.percentileMillis(100)));
+	}
+
+	private static long consume(final InputStream in) {
+		final byte[] buffer = new byte[8192];
+		long total = 0;
+		try {
+			try {
+				int read;
+				while ((read = in.read(buffer)) != -1) {
+					total += read;
+				}
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		return total;
+	}
+}
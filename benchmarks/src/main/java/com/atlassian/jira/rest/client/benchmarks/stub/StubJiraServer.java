@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.benchmarks.stub;
+
+import com.atlassian.jira.rest.client.benchmarks.SyntheticPayloads;
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
+import com.google.common.io.CharStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process HTTP server standing in for JIRA, so that the client can be load tested without a real instance.
+ * It answers the resources used most by clients with synthetic payloads (see {@link SyntheticPayloads}):
+ * <ul>
+ * <li><code>GET /rest/api/latest/serverInfo</code></li>
+ * <li><code>GET</code> and <code>POST /rest/api/latest/search</code>, honouring <code>startAt</code> and
+ * <code>maxResults</code></li>
+ * <li><code>GET /rest/api/latest/issue/{key}</code>, <code>POST /rest/api/latest/issue</code> and
+ * <code>POST /rest/api/latest/issue/bulk</code></li>
+ * <li><code>POST /rest/api/latest/issue/{key}/attachments</code> and <code>GET /secure/attachment/{id}/{name}</code>,
+ * the latter with support for <code>Range</code> requests</li>
+ * </ul>
+ * <code>/rest/api/2</code> is accepted as well. Authentication is not checked. Latency, injected errors and
+ * payload sizes are set by {@link StubJiraServerOptions}.
+ *
+ * @since v3.0
+ */
+public class StubJiraServer implements Closeable {
+
+	private static final String[] REST_PREFIXES = {"/rest/api/latest/", "/rest/api/2/"};
+	private static final Pattern ISSUE_PATTERN = Pattern.compile("issue/([^/]+)");
+	private static final Pattern ISSUE_ATTACHMENTS_PATTERN = Pattern.compile("issue/([^/]+)/attachments");
+	private static final Pattern ATTACHMENT_PATTERN = Pattern.compile("/secure/attachment/\\d+/[^/]+");
+	private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d+)-(\\d*)");
+	private static final String APPLICATION_JSON = "application/json;charset=UTF-8";
+	private static final int DEFAULT_MAX_RESULTS = 50;
+
+	private final StubJiraServerOptions options;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final Random random = new Random();
+	private final AtomicInteger requestCount = new AtomicInteger();
+	private final AtomicInteger createdIssues = new AtomicInteger();
+	// generating payloads costs far more than serving them, so each distinct one is generated only once
+	private final ConcurrentMap<String, byte[]> payloads = new ConcurrentHashMap<String, byte[]>();
+	private final byte[] attachment;
+
+	private StubJiraServer(final StubJiraServerOptions options) throws IOException {
+		this.options = options;
+		this.attachment = new byte[options.attachmentSize];
+		random.nextBytes(attachment);
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", options.port), 0);
+		this.executor = Executors.newFixedThreadPool(options.threads);
+		server.setExecutor(executor);
+		server.createContext("/", new HttpHandler() {
+			@Override
+			public void handle(final HttpExchange exchange) throws IOException {
+				try {
+					StubJiraServer.this.handle(exchange);
+				} catch (JSONException e) {
+					respond(exchange, 500, APPLICATION_JSON, error(e.getMessage()));
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+	}
+
+	public static StubJiraServer start(final StubJiraServerOptions options) throws IOException {
+		final StubJiraServer stubJiraServer = new StubJiraServer(options);
+		stubJiraServer.server.start();
+		return stubJiraServer;
+	}
+
+	/**
+	 * @return URI to create clients with, e.g. <code>http://127.0.0.1:54321</code>
+	 */
+	public URI getBaseUri() {
+		return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+	}
+
+	/**
+	 * @return number of requests received so far, including those answered with injected errors
+	 */
+	public int getRequestCount() {
+		return requestCount.get();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(final HttpExchange exchange) throws IOException, JSONException {
+		requestCount.incrementAndGet();
+		delay();
+		if (options.errorRate > 0 && random.nextDouble() < options.errorRate) {
+			respond(exchange, 503, APPLICATION_JSON, error("Injected failure"));
+			return;
+		}
+
+		final String method = exchange.getRequestMethod();
+		final String path = exchange.getRequestURI().getPath();
+		final String resource = restResource(path);
+		if (resource == null) {
+			if ("GET".equals(method) && ATTACHMENT_PATTERN.matcher(path).matches()) {
+				sendAttachment(exchange);
+			} else {
+				respond(exchange, 404, APPLICATION_JSON, error("Not found: " + path));
+			}
+			return;
+		}
+
+		if ("serverInfo".equals(resource) && "GET".equals(method)) {
+			byte[] serverInfo = payloads.get("serverInfo");
+			if (serverInfo == null) {
+				serverInfo = remember("serverInfo", utf8(SyntheticPayloads.serverInfo().toString()));
+			}
+			respond(exchange, 200, APPLICATION_JSON, serverInfo);
+		} else if ("search".equals(resource)) {
+			search(exchange, method);
+		} else if ("issue".equals(resource) && "POST".equals(method)) {
+			drain(exchange);
+			respond(exchange, 201, APPLICATION_JSON, utf8(SyntheticPayloads.createdIssue(createdIssues.incrementAndGet()).toString()));
+		} else if ("issue/bulk".equals(resource) && "POST".equals(method)) {
+			createIssues(exchange);
+		} else if (ISSUE_ATTACHMENTS_PATTERN.matcher(resource).matches() && "POST".equals(method)) {
+			drain(exchange);
+			respond(exchange, 200, APPLICATION_JSON, utf8("[]"));
+		} else if (ISSUE_PATTERN.matcher(resource).matches() && "GET".equals(method)) {
+			byte[] issue = payloads.get("issue");
+			if (issue == null) {
+				issue = remember("issue", utf8(SyntheticPayloads.issue(1, options.customFields, options.changelogDepth).toString()));
+			}
+			respond(exchange, 200, APPLICATION_JSON, issue);
+		} else {
+			respond(exchange, 404, APPLICATION_JSON, error("Not found: " + path));
+		}
+	}
+
+	private void search(final HttpExchange exchange, final String method) throws IOException, JSONException {
+		int startAt = 0;
+		int maxResults = DEFAULT_MAX_RESULTS;
+		if ("POST".equals(method)) {
+			final JSONObject query = new JSONObject(readBody(exchange));
+			startAt = query.optInt("startAt", startAt);
+			maxResults = query.optInt("maxResults", maxResults);
+		} else {
+			final String rawQuery = exchange.getRequestURI().getRawQuery();
+			if (rawQuery != null) {
+				for (final String param : Splitter.on('&').split(rawQuery)) {
+					if (param.startsWith("startAt=")) {
+						startAt = Integer.parseInt(param.substring("startAt=".length()));
+					} else if (param.startsWith("maxResults=")) {
+						maxResults = Integer.parseInt(param.substring("maxResults=".length()));
+					}
+				}
+			}
+		}
+		final int issues = Math.max(0, Math.min(maxResults, options.searchTotal - startAt));
+		final String key = "search:" + startAt + ":" + issues;
+		byte[] page = payloads.get(key);
+		if (page == null) {
+			page = remember(key, utf8(SyntheticPayloads.searchResult(startAt, issues, options.searchTotal,
+					options.customFields, options.changelogDepth)));
+		}
+		respond(exchange, 200, APPLICATION_JSON, page);
+	}
+
+	private void createIssues(final HttpExchange exchange) throws IOException, JSONException {
+		final JSONArray issueUpdates = new JSONObject(readBody(exchange)).getJSONArray("issueUpdates");
+		final JSONArray issues = new JSONArray();
+		for (int i = 0; i < issueUpdates.length(); i++) {
+			issues.put(SyntheticPayloads.createdIssue(createdIssues.incrementAndGet()));
+		}
+		final JSONObject result = new JSONObject().put("issues", issues).put("errors", new JSONArray());
+		respond(exchange, 201, APPLICATION_JSON, utf8(result.toString()));
+	}
+
+	private void sendAttachment(final HttpExchange exchange) throws IOException {
+		final String range = exchange.getRequestHeaders().getFirst("Range");
+		final Matcher matcher = range != null ? RANGE_PATTERN.matcher(range) : null;
+		if (matcher == null || !matcher.matches()) {
+			respond(exchange, 200, "application/octet-stream", attachment);
+			return;
+		}
+		final int first = Integer.parseInt(matcher.group(1));
+		if (first >= attachment.length) {
+			exchange.getResponseHeaders().set("Content-Range", "bytes */" + attachment.length);
+			respond(exchange, 416, "application/octet-stream", new byte[0]);
+			return;
+		}
+		final int last = matcher.group(2).isEmpty() ? attachment.length - 1
+				: Math.min(Integer.parseInt(matcher.group(2)), attachment.length - 1);
+		exchange.getResponseHeaders().set("Content-Range", "bytes " + first + "-" + last + "/" + attachment.length);
+		exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+		exchange.sendResponseHeaders(206, last - first + 1);
+		final OutputStream out = exchange.getResponseBody();
+		out.write(attachment, first, last - first + 1);
+		out.close();
+	}
+
+	private void delay() {
+		final long jitter = options.latencyJitterMillis > 0 ? (long) (random.nextDouble() * options.latencyJitterMillis) : 0;
+		final long delay = options.latencyMillis + jitter;
+		if (delay > 0) {
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private byte[] remember(final String key, final byte[] payload) {
+		final byte[] previous = payloads.putIfAbsent(key, payload);
+		return previous != null ? previous : payload;
+	}
+
+	private static String restResource(final String path) {
+		for (final String prefix : REST_PREFIXES) {
+			if (path.startsWith(prefix)) {
+				return path.substring(prefix.length());
+			}
+		}
+		return null;
+	}
+
+	private static String readBody(final HttpExchange exchange) throws IOException {
+		final InputStreamReader reader = new InputStreamReader(exchange.getRequestBody(), Charsets.UTF_8);
+		try {
+			return CharStreams.toString(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static void drain(final HttpExchange exchange) throws IOException {
+		final InputStream in = exchange.getRequestBody();
+		final byte[] buffer = new byte[8192];
+		while (in.read(buffer) != -1) {
+			// uploaded content is not needed
+		}
+	}
+
+	private static void respond(final HttpExchange exchange, final int status, final String contentType, final byte[] body)
+			throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+		if (body.length > 0) {
+			final OutputStream out = exchange.getResponseBody();
+			out.write(body);
+			out.close();
+		}
+	}
+
+	private static byte[] error(final String message) {
+		try {
+			return utf8(new JSONObject()
+					.put("errorMessages", new JSONArray().put(message))
+					.put("errors", new JSONObject()).toString());
+		} catch (JSONException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static byte[] utf8(final String s) {
+		return s.getBytes(Charsets.UTF_8);
+	}
+}
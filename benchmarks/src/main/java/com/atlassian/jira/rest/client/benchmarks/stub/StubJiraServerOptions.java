@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.benchmarks.stub;
+
+/**
+ * Behaviour of {@link StubJiraServer}. {@link StubJiraServerOptionsBuilder} is very useful for building objects
+ * of this class.
+ *
+ * @since v3.0
+ */
+public class StubJiraServerOptions {
+
+	public static final int DEFAULT_THREADS = 200;
+	public static final int DEFAULT_SEARCH_TOTAL = 1000;
+	public static final int DEFAULT_CUSTOM_FIELDS = 20;
+	public static final int DEFAULT_CHANGELOG_DEPTH = 10;
+	public static final int DEFAULT_ATTACHMENT_SIZE = 1024 * 1024;
+
+	/**
+	 * Port to listen on, 0 for any free port.
+	 */
+	public final int port;
+	/**
+	 * Number of threads serving requests, which is also the maximum number of requests handled at the same time.
+	 */
+	public final int threads;
+	/**
+	 * Time every response is delayed by.
+	 */
+	public final long latencyMillis;
+	/**
+	 * Upper bound of random time added to {@link #latencyMillis}.
+	 */
+	public final long latencyJitterMillis;
+	/**
+	 * Fraction (from 0 to 1) of requests answered with <code>503 Service Unavailable</code>.
+	 */
+	public final double errorRate;
+	/**
+	 * Number of issues matched by every search.
+	 */
+	public final int searchTotal;
+	/**
+	 * Number of custom fields of every returned issue.
+	 */
+	public final int customFields;
+	/**
+	 * Number of changelog groups of every returned issue.
+	 */
+	public final int changelogDepth;
+	/**
+	 * Size in bytes of every downloaded attachment.
+	 */
+	public final int attachmentSize;
+
+	public StubJiraServerOptions(int port, int threads, long latencyMillis, long latencyJitterMillis, double errorRate,
+			int searchTotal, int customFields, int changelogDepth, int attachmentSize) {
+		if (port < 0 || threads <= 0 || latencyMillis < 0 || latencyJitterMillis < 0 || errorRate < 0 || errorRate > 1
+				|| searchTotal < 0 || customFields < 0 || changelogDepth < 0 || attachmentSize < 0) {
+			throw new IllegalArgumentException("threads must be positive, errorRate must be between 0 and 1, "
+					+ "other options cannot be negative");
+		}
+		this.port = port;
+		this.threads = threads;
+		this.latencyMillis = latencyMillis;
+		this.latencyJitterMillis = latencyJitterMillis;
+		this.errorRate = errorRate;
+		this.searchTotal = searchTotal;
+		this.customFields = customFields;
+		this.changelogDepth = changelogDepth;
+		this.attachmentSize = attachmentSize;
+	}
+}
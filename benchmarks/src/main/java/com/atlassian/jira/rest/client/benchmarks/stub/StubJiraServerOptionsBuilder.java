@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.benchmarks.stub;
+
+/**
+ * Builder class for {@link StubJiraServerOptions}. All fields are optional and have reasonable defaults:
+ * no latency, no errors and moderately sized payloads.
+ *
+ * @since v3.0
+ */
+public class StubJiraServerOptionsBuilder {
+	private int port = 0;
+	private int threads = StubJiraServerOptions.DEFAULT_THREADS;
+	private long latencyMillis = 0;
+	private long latencyJitterMillis = 0;
+	private double errorRate = 0;
+	private int searchTotal = StubJiraServerOptions.DEFAULT_SEARCH_TOTAL;
+	private int customFields = StubJiraServerOptions.DEFAULT_CUSTOM_FIELDS;
+	private int changelogDepth = StubJiraServerOptions.DEFAULT_CHANGELOG_DEPTH;
+	private int attachmentSize = StubJiraServerOptions.DEFAULT_ATTACHMENT_SIZE;
+
+	public StubJiraServerOptionsBuilder withPort(int port) {
+		this.port = port;
+		return this;
+	}
+
+	public StubJiraServerOptionsBuilder withThreads(int threads) {
+		this.threads = threads;
+		return this;
+	}
+
+	public StubJiraServerOptionsBuilder withLatency(long latencyMillis, long latencyJitterMillis) {
+		this.latencyMillis = latencyMillis;
+		this.latencyJitterMillis = latencyJitterMillis;
+		return this;
+	}
+
+	public StubJiraServerOptionsBuilder withErrorRate(double errorRate) {
+		this.errorRate = errorRate;
+		return this;
+	}
+
+	public StubJiraServerOptionsBuilder withSearchTotal(int searchTotal) {
+		this.searchTotal = searchTotal;
+		return this;
+	}
+
+	public StubJiraServerOptionsBuilder withCustomFields(int customFields) {
+		this.customFields = customFields;
+		return this;
+	}
+
+	public StubJiraServerOptionsBuilder withChangelogDepth(int changelogDepth) {
+		this.changelogDepth = changelogDepth;
+		return this;
+	}
+
+	public StubJiraServerOptionsBuilder withAttachmentSize(int attachmentSize) {
+		this.attachmentSize = attachmentSize;
+		return this;
+	}
+
+	public StubJiraServerOptions build() {
+		return new StubJiraServerOptions(port, threads, latencyMillis, latencyJitterMillis, errorRate, searchTotal,
+				customFields, changelogDepth, attachmentSize);
+	}
+}
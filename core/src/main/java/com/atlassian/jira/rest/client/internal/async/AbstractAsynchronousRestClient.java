@@ -20,15 +20,24 @@ import com.atlassian.jira.rest.client.internal.json.JsonArrayParser;
 import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
 import com.atlassian.jira.rest.client.internal.json.JsonParseUtil;
 import com.atlassian.jira.rest.client.internal.json.JsonParser;
+import com.atlassian.jira.rest.client.internal.json.StreamingJsonParser;
 import com.atlassian.httpclient.api.EntityBuilder;
 import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Request;
 import com.atlassian.httpclient.api.Response;
 import com.atlassian.httpclient.api.ResponsePromise;
 import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.internal.json.gen.JsonGenerator;
 import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
 import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.base.Objects;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.CountingInputStream;
+import com.google.common.util.concurrent.SettableFuture;
 import org.apache.commons.lang.StringUtils;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
@@ -43,6 +52,8 @@ import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * This is a base class for asynchronous REST clients.
@@ -52,43 +63,173 @@ import java.util.Map;
 public abstract class AbstractAsynchronousRestClient {
 
 	private static final String JSON_CONTENT_TYPE = "application/json";
+	private static final int NOT_MODIFIED = 304;
 
 	private final HttpClient client;
+	private final RestClientMetrics metrics;
+	@Nullable
+	private final Executor parseExecutor;
+	private final SingleFlight<GetKey> getsInFlight = new SingleFlight<GetKey>();
+	private volatile boolean coalesceGets;
+	@Nullable
+	private volatile ConditionalGetCache conditionalGetCache;
 
 	protected AbstractAsynchronousRestClient(HttpClient client) {
+		this(client, RestClientMetrics.NONE);
+	}
+
+	/**
+	 * @param metrics receives measurements of every call made by this client
+	 * @since v3.0
+	 */
+	protected AbstractAsynchronousRestClient(HttpClient client, RestClientMetrics metrics) {
+		this(client, metrics, null);
+	}
+
+	/**
+	 * @param parseExecutor runs handling (parsing) of response bodies, so that large responses do not hold up
+	 *                      threads of the HTTP client which complete other calls; <code>null</code> handles responses
+	 *                      on the thread which completed the call
+	 * @since v3.0
+	 */
+	protected AbstractAsynchronousRestClient(HttpClient client, RestClientMetrics metrics,
+			@Nullable Executor parseExecutor) {
 		this.client = client;
+		this.metrics = metrics;
+		this.parseExecutor = parseExecutor;
 	}
 
 	protected interface ResponseHandler<T> {
 		T handle(Response request) throws JSONException, IOException;
 	}
 
+	/**
+	 * Makes concurrent identical GET requests of this client share one request and one parse. Such requests are
+	 * the ones for the same URI, accepted content type and parser; all of them are made with the credentials of
+	 * the HTTP client of this client. Results are not retained after the request completes. Disabled by default.
+	 *
+	 * @since v3.0
+	 */
+	public void setCoalesceConcurrentGets(final boolean coalesceGets) {
+		this.coalesceGets = coalesceGets;
+	}
+
+	/**
+	 * Makes GET requests of this client for rarely changing resources (see {@link #getAndParseConditionally}) revalidate
+	 * responses kept in given cache, instead of transferring and parsing them again when JIRA answers
+	 * <code>304 Not Modified</code>. Only responses carrying an <code>ETag</code> or <code>Last-Modified</code> header
+	 * are kept. A cache may be shared only by clients using the same credentials. Disabled by default.
+	 *
+	 * @param cache cache to use, <code>null</code> to disable conditional requests
+	 * @since v3.0
+	 */
+	public void setConditionalGetCache(@Nullable final ConditionalGetCache cache) {
+		this.conditionalGetCache = cache;
+	}
+
 	protected final <T> Promise<T> getAndParse(final URI uri, final JsonParser<?, T> parser) {
-		return callAndParse(client.newRequest(uri).setAccept("application/json").get(), parser);
+		return getAndParse(uri, parser, false);
+	}
+
+	/**
+	 * Same as {@link #getAndParse(URI, JsonParser)}, but the response is revalidated with the cache set by
+	 * {@link #setConditionalGetCache(ConditionalGetCache)}. Meant for resources which rarely change and are read
+	 * again and again, like projects or fields - not for results of searches, which are seldom repeated and would
+	 * only push them out of the cache.
+	 *
+	 * @since v3.0
+	 */
+	protected final <T> Promise<T> getAndParseConditionally(final URI uri, final JsonParser<?, T> parser) {
+		return getAndParse(uri, parser, true);
+	}
+
+	private <T> Promise<T> getAndParse(final URI uri, final JsonParser<?, T> parser, final boolean conditional) {
+		if (!coalesceGets) {
+			return sendGetAndParse(uri, parser, conditional);
+		}
+		final Promise<T> shared = getsInFlight.join(new GetKey(uri, JSON_CONTENT_TYPE, parser), new Supplier<Promise<T>>() {
+			@Override
+			public Promise<T> get() {
+				return sendGetAndParse(uri, parser, conditional);
+			}
+		});
+		return new DelegatingPromise<T>(shared);
+	}
+
+	private <T> Promise<T> sendGetAndParse(final URI uri, final JsonParser<?, T> parser, final boolean conditional) {
+		final RestCallTimer timer = startCall("GET", uri);
+		final Request request = client.newRequest(uri).setAccept(JSON_CONTENT_TYPE);
+		final ConditionalGetCache cache = conditional ? conditionalGetCache : null;
+		if (cache == null) {
+			return callAndParse(request.get(), parser, timer);
+		}
+		final GetKey key = new GetKey(uri, JSON_CONTENT_TYPE, parser);
+		final ConditionalGetCache.Entry cached = cache.get(key);
+		if (cached != null) {
+			if (cached.etag != null) {
+				request.setHeader("If-None-Match", cached.etag);
+			}
+			if (cached.lastModified != null) {
+				request.setHeader("If-Modified-Since", cached.lastModified);
+			}
+		}
+		final ResponseHandler<T> parsingHandler = parsingHandler(parser, timer);
+		final ResponseHandler<T> revalidatingHandler = new ResponseHandler<T>() {
+			@SuppressWarnings("unchecked")
+			@Override
+			public T handle(Response response) throws JSONException, IOException {
+				if (response.getStatusCode() == NOT_MODIFIED) {
+					if (cached == null) {
+						throw new RestClientException(Collections.singletonList(new ErrorCollection(NOT_MODIFIED,
+								Collections.singletonList("Not Modified received for an unconditional request"),
+								Collections.<String, String>emptyMap())), NOT_MODIFIED);
+					}
+					return (T) cached.value;
+				}
+				final T value = parsingHandler.handle(response);
+				final String etag = response.getHeader("ETag");
+				final String lastModified = response.getHeader("Last-Modified");
+				if (etag == null && lastModified == null) {
+					cache.remove(key);
+				} else {
+					final long weightBytes = timer.isBytesReceivedKnown()
+							? timer.getBytesReceived() : ConditionalGetCache.UNKNOWN_WEIGHT_BYTES;
+					cache.put(key, new ConditionalGetCache.Entry(uri, etag, lastModified, value, weightBytes));
+				}
+				return value;
+			}
+		};
+		return callAndParse(request.get(), revalidatingHandler, timer, true);
 	}
 
 	protected final <I, T> Promise<T> postAndParse(final URI uri, I entity, final JsonGenerator<I> jsonGenerator,
 			final JsonObjectParser<T> parser) {
+		final RestCallTimer timer = startCall("POST", uri);
 		final ResponsePromise responsePromise = client.newRequest(uri)
-				.setEntity(toEntity(jsonGenerator, entity))
+				.setEntity(toEntity(jsonGenerator, entity, timer))
 				.post();
-		return callAndParse(responsePromise, parser);
+		return callAndParse(responsePromise, parser, timer);
 	}
 
 	protected final <T> Promise<T> postAndParse(final URI uri, final JSONObject entity, final JsonObjectParser<T> parser) {
+		final RestCallTimer timer = startCall("POST", uri);
+		final String body = entity.toString();
+		timer.bytesSent(utf8Length(body));
 		final ResponsePromise responsePromise = client.newRequest(uri)
-				.setEntity(entity.toString())
+				.setEntity(body)
 				.setContentType(JSON_CONTENT_TYPE)
 				.post();
-		return callAndParse(responsePromise, parser);
+		return callAndParse(responsePromise, parser, timer);
 	}
 
 	protected final Promise<Void> post(final URI uri, final String entity) {
+		final RestCallTimer timer = startCall("POST", uri);
+		timer.bytesSent(utf8Length(entity));
 		final ResponsePromise responsePromise = client.newRequest(uri)
 				.setEntity(entity)
 				.setContentType(JSON_CONTENT_TYPE)
 				.post();
-		return call(responsePromise);
+		return call(responsePromise, timer);
 	}
 
 	protected final Promise<Void> post(final URI uri, final JSONObject entity) {
@@ -96,10 +237,11 @@ public abstract class AbstractAsynchronousRestClient {
 	}
 
 	protected final <T> Promise<Void> post(final URI uri, final T entity, final JsonGenerator<T> jsonGenerator) {
+		final RestCallTimer timer = startCall("POST", uri);
 		final ResponsePromise responsePromise = client.newRequest(uri)
-				.setEntity(toEntity(jsonGenerator, entity))
+				.setEntity(toEntity(jsonGenerator, entity, timer))
 				.post();
-		return call(responsePromise);
+		return call(responsePromise, timer);
 	}
 
 	protected final Promise<Void> post(final URI uri) {
@@ -108,100 +250,264 @@ public abstract class AbstractAsynchronousRestClient {
 
 	protected final <I, T> Promise<T> putAndParse(final URI uri, I entity, final JsonGenerator<I> jsonGenerator,
 			final JsonObjectParser<T> parser) {
+		final RestCallTimer timer = startCall("PUT", uri);
 		final ResponsePromise responsePromise = client.newRequest(uri)
-				.setEntity(toEntity(jsonGenerator, entity))
+				.setEntity(toEntity(jsonGenerator, entity, timer))
 				.put();
-		return callAndParse(responsePromise, parser);
+		return callAndParse(responsePromise, parser, timer);
 	}
 
 	protected final <T> Promise<Void> put(final URI uri, final T entity, final JsonGenerator<T> jsonGenerator) {
+		final RestCallTimer timer = startCall("PUT", uri);
 		final ResponsePromise responsePromise = client.newRequest(uri)
-				.setEntity(toEntity(jsonGenerator, entity))
+				.setEntity(toEntity(jsonGenerator, entity, timer))
 				.put();
-		return call(responsePromise);
+		return call(responsePromise, timer);
 	}
 
 	protected final Promise<Void> delete(final URI uri) {
+		final RestCallTimer timer = startCall("DELETE", uri);
 		final ResponsePromise responsePromise = client.newRequest(uri).delete();
-		return call(responsePromise);
+		return call(responsePromise, timer);
 	}
 
+	/**
+	 * Prefer helpers which know the method and URI of the call, so that it is reported to {@link RestClientMetrics}
+	 * with its endpoint.
+	 */
 	protected final <T> Promise<T> callAndParse(final ResponsePromise responsePromise, final ResponseHandler<T> responseHandler) {
-		final Function<Response, ? extends T> transformFunction = toFunction(responseHandler);
+		return callAndParse(responsePromise, responseHandler, startCall(null, null));
+	}
 
-		return new DelegatingPromise<T>(responsePromise.<T>transform()
-				.ok(transformFunction)
-				.created(transformFunction)
-				.others(AbstractAsynchronousRestClient.<T>errorFunction())
-				.toPromise());
+	/**
+	 * Starts measuring a call, right before its request is sent.
+	 */
+	final RestCallTimer startCall(@Nullable final String method, @Nullable final URI uri) {
+		return new RestCallTimer(metrics, method, uri);
+	}
+
+	final <T> Promise<T> callAndParse(final ResponsePromise responsePromise, final ResponseHandler<T> responseHandler,
+			final RestCallTimer timer) {
+		return callAndParse(responsePromise, responseHandler, timer, false);
+	}
+
+	/**
+	 * @param handleNotModified whether <code>304 Not Modified</code> responses are passed to given handler rather
+	 *                          than treated as errors
+	 */
+	private <T> Promise<T> callAndParse(final ResponsePromise responsePromise, final ResponseHandler<T> responseHandler,
+			final RestCallTimer timer, final boolean handleNotModified) {
+		final Promise<T> promise;
+		if (parseExecutor == null) {
+			final Function<Response, ? extends T> transformFunction = toFunction(responseHandler, timer);
+			promise = responsePromise.<T>transform()
+					.ok(transformFunction)
+					.created(transformFunction)
+					.notModified(handleNotModified ? transformFunction : AbstractAsynchronousRestClient.<T>errorFunction(timer))
+					.others(AbstractAsynchronousRestClient.<T>errorFunction(timer))
+					.toPromise();
+		} else {
+			final Function<Response, Promise<T>> handOffFunction = handOffFunction(responseHandler, timer, parseExecutor);
+			promise = responsePromise.<Promise<T>>transform()
+					.ok(handOffFunction)
+					.created(handOffFunction)
+					.notModified(handleNotModified ? handOffFunction
+							: AbstractAsynchronousRestClient.<Promise<T>>errorFunction(timer))
+					.others(AbstractAsynchronousRestClient.<Promise<T>>errorFunction(timer))
+					.toPromise()
+					.flatMap(Functions.<Promise<T>>identity());
+		}
+		timer.reportWhenDone(promise);
+		return new DelegatingPromise<T>(promise);
 	}
 
-	@SuppressWarnings("unchecked")
 	protected final <T> Promise<T> callAndParse(final ResponsePromise responsePromise, final JsonParser<?, T> parser) {
-		final ResponseHandler<T> responseHandler = new ResponseHandler<T>() {
+		return callAndParse(responsePromise, parser, startCall(null, null));
+	}
+
+	final <T> Promise<T> callAndParse(final ResponsePromise responsePromise, final JsonParser<?, T> parser,
+			final RestCallTimer timer) {
+		return callAndParse(responsePromise, parsingHandler(parser, timer), timer);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> ResponseHandler<T> parsingHandler(final JsonParser<?, T> parser, final RestCallTimer timer) {
+		return new ResponseHandler<T>() {
 			@Override
 			public T handle(Response response) throws JSONException, IOException {
+				if (parser instanceof StreamingJsonParser) {
+					final CountingInputStream entityStream = new CountingInputStream(response.getEntityStream());
+					try {
+						return ((StreamingJsonParser<T>) parser).parse(entityStream);
+					} finally {
+						if (!timer.isBytesReceivedKnown()) {
+							timer.bytesReceived(entityStream.getCount());
+						}
+					}
+				}
 				final String body = response.getEntity();
+				if (!timer.isBytesReceivedKnown()) {
+					timer.bytesReceived(utf8Length(body));
+				}
 				return (T) (parser instanceof JsonObjectParser ?
 						((JsonObjectParser) parser).parse(new JSONObject(body)) :
 						((JsonArrayParser) parser).parse(new JSONArray(body)));
 			}
 		};
-		return callAndParse(responsePromise, responseHandler);
 	}
 
+	/**
+	 * Prefer helpers which know the method and URI of the call, so that it is reported to {@link RestClientMetrics}
+	 * with its endpoint.
+	 */
 	protected final Promise<Void> call(final ResponsePromise responsePromise) {
-		return new DelegatingPromise<Void>(responsePromise.<Void>transform()
-				.ok(constant((Void) null))
-				.created(constant((Void) null))
-				.noContent(constant((Void) null))
-				.others(AbstractAsynchronousRestClient.<Void>errorFunction())
-				.toPromise());
+		return call(responsePromise, startCall(null, null));
+	}
+
+	final Promise<Void> call(final ResponsePromise responsePromise, final RestCallTimer timer) {
+		final Promise<Void> promise = responsePromise.<Void>transform()
+				.ok(constant((Void) null, timer))
+				.created(constant((Void) null, timer))
+				.noContent(constant((Void) null, timer))
+				.others(AbstractAsynchronousRestClient.<Void>errorFunction(timer))
+				.toPromise();
+		timer.reportWhenDone(promise);
+		return new DelegatingPromise<Void>(promise);
 	}
 
 	protected HttpClient client() {
 		return client;
 	}
 
-	private static <T> Function<Response, T> errorFunction() {
+	protected RestClientMetrics metrics() {
+		return metrics;
+	}
+
+	@Nullable
+	protected Executor parseExecutor() {
+		return parseExecutor;
+	}
+
+	static <T> Function<Response, T> errorFunction() {
 		return new Function<Response, T>() {
 			@Override
 			public T apply(Response response) {
+				final Long retryAfterMillis = RetryBackoff.parseRetryAfter(response.getHeader("Retry-After"),
+						System.currentTimeMillis());
 				try {
 					final String body = response.getEntity();
 					final Collection<ErrorCollection> errorMessages = extractErrors(response.getStatusCode(), body);
-					throw new RestClientException(errorMessages, response.getStatusCode());
+					throw new RestClientException(errorMessages, null, response.getStatusCode(), retryAfterMillis);
 				} catch (JSONException e) {
-					throw new RestClientException(e, response.getStatusCode());
+					throw new RestClientException(Collections.<ErrorCollection>emptyList(), e, response.getStatusCode(),
+							retryAfterMillis);
 				}
 			}
 		};
 	}
 
-	private static <T> Function<Response, ? extends T> toFunction(final ResponseHandler<T> responseHandler) {
+	private static <T> Function<Response, T> errorFunction(final RestCallTimer timer) {
+		final Function<Response, T> errorFunction = errorFunction();
+		return new Function<Response, T>() {
+			@Override
+			public T apply(Response response) {
+				timer.responseReceived(response);
+				try {
+					return errorFunction.apply(response);
+				} finally {
+					timer.handlingFinished();
+				}
+			}
+		};
+	}
+
+	private static <T> Function<Response, ? extends T> toFunction(final ResponseHandler<T> responseHandler,
+			final RestCallTimer timer) {
 		return new Function<Response, T>() {
 			@Override
 			public T apply(@Nullable Response input) {
+				timer.responseReceived(input);
+				return handle(responseHandler, input, timer);
+			}
+		};
+	}
+
+	/**
+	 * Only queues the response for the parse executor, so that the thread which completed the call is free
+	 * right away. The executor applies back pressure of its own choosing, e.g. by running the task in place.
+	 */
+	private static <T> Function<Response, Promise<T>> handOffFunction(final ResponseHandler<T> responseHandler,
+			final RestCallTimer timer, final Executor parseExecutor) {
+		return new Function<Response, Promise<T>>() {
+			@Override
+			public Promise<T> apply(final Response input) {
+				timer.responseReceived(input);
+				final SettableFuture<T> handled = SettableFuture.create();
 				try {
-					return responseHandler.handle(input);
-				} catch (JSONException e) {
-					throw new RestClientException(e);
-				} catch (IOException e) {
-					throw new RestClientException(e);
+					parseExecutor.execute(new Runnable() {
+						@Override
+						public void run() {
+							timer.handlingStarted();
+							try {
+								handled.set(handle(responseHandler, input, timer));
+							} catch (Throwable t) {
+								handled.setException(t);
+							}
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					handled.setException(e);
 				}
+				return Promises.forListenableFuture(handled);
 			}
 		};
 	}
 
-	private static <T> Function<Response, T> constant(final T value) {
+	private static <T> T handle(final ResponseHandler<T> responseHandler, final Response response,
+			final RestCallTimer timer) {
+		try {
+			return responseHandler.handle(response);
+		} catch (JSONException e) {
+			throw new RestClientException(e);
+		} catch (IOException e) {
+			throw new RestClientException(e);
+		} finally {
+			timer.handlingFinished();
+		}
+	}
+
+	private static <T> Function<Response, T> constant(final T value, final RestCallTimer timer) {
 		return new Function<Response, T>() {
 			@Override
 			public T apply(Response input) {
+				timer.responseReceived(input);
+				timer.handlingFinished();
 				return value;
 			}
 		};
 	}
 
+	/**
+	 * @return number of bytes of given string encoded in UTF-8, counted without encoding it
+	 */
+	static long utf8Length(final CharSequence s) {
+		long length = 0;
+		for (int i = 0; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			if (c < 0x80) {
+				length++;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
 	static Collection<ErrorCollection> extractErrors(final int status, final String body) throws JSONException {
 		if (body == null) {
 			return Collections.emptyList();
@@ -242,7 +548,34 @@ public abstract class AbstractAsynchronousRestClient {
 		return new ErrorCollection(status, errorMessages, errors);
 	}
 
-	private <T> EntityBuilder toEntity(final JsonGenerator<T> generator, final T bean) {
+	private static class GetKey {
+		private final URI uri;
+		private final String accept;
+		// identity of the parser, as it determines the type of the result
+		private final JsonParser<?, ?> parser;
+
+		private GetKey(final URI uri, final String accept, final JsonParser<?, ?> parser) {
+			this.uri = uri;
+			this.accept = accept;
+			this.parser = parser;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj instanceof GetKey) {
+				final GetKey that = (GetKey) obj;
+				return uri.equals(that.uri) && accept.equals(that.accept) && parser == that.parser;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(uri, accept, System.identityHashCode(parser));
+		}
+	}
+
+	private <T> EntityBuilder toEntity(final JsonGenerator<T> generator, final T bean, final RestCallTimer timer) {
 		return new EntityBuilder() {
 
 			@Override
@@ -256,8 +589,9 @@ public abstract class AbstractAsynchronousRestClient {
 					@Override
 					public InputStream getInputStream() {
 						try {
-							return new ByteArrayInputStream(generator.generate(bean).toString().getBytes(Charset
-									.forName("UTF-8")));
+							final byte[] body = generator.generate(bean).toString().getBytes(Charset.forName("UTF-8"));
+							timer.bytesSent(body.length);
+							return new ByteArrayInputStream(body);
 						} catch (JSONException e) {
 							throw new RestClientException(e);
 						}
@@ -2,6 +2,7 @@ package com.atlassian.jira.rest.client.internal.async;
 
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.AuditRestClient;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.api.domain.AuditRecordInput;
 import com.atlassian.jira.rest.client.api.domain.AuditRecordsData;
 import com.atlassian.jira.rest.client.api.domain.input.AuditRecordSearchInput;
@@ -11,8 +12,10 @@ import com.atlassian.jira.rest.client.internal.json.gen.AuditRecordInputJsonGene
 import com.atlassian.util.concurrent.Promise;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -24,7 +27,16 @@ public class AsynchronousAuditRestClient extends AbstractAsynchronousRestClient
     private final AuditRecordsJsonParser auditRecordsParser = new AuditRecordsJsonParser();
 
     protected AsynchronousAuditRestClient(final HttpClient client, final URI baseUri) {
-        super(client);
+        this(client, baseUri, RestClientMetrics.NONE);
+    }
+
+    protected AsynchronousAuditRestClient(final HttpClient client, final URI baseUri, final RestClientMetrics metrics) {
+        this(client, baseUri, metrics, null);
+    }
+
+    protected AsynchronousAuditRestClient(final HttpClient client, final URI baseUri, final RestClientMetrics metrics,
+            @Nullable final Executor parseExecutor) {
+        super(client, metrics, parseExecutor);
         this.baseUri = baseUri;
     }
 
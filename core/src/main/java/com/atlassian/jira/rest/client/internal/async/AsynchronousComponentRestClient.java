@@ -16,6 +16,7 @@
 package com.atlassian.jira.rest.client.internal.async;
 
 import com.atlassian.jira.rest.client.api.ComponentRestClient;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.api.domain.Component;
 import com.atlassian.jira.rest.client.api.domain.input.ComponentInput;
 import com.atlassian.jira.rest.client.internal.domain.input.ComponentInputWithProjectKey;
@@ -30,6 +31,7 @@ import org.codehaus.jettison.json.JSONObject;
 import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.concurrent.Executor;
 
 /**
  * Asynchronous implementation of ComponentRestClient.
@@ -39,10 +41,25 @@ import java.net.URI;
 public class AsynchronousComponentRestClient extends AbstractAsynchronousRestClient implements ComponentRestClient {
 
 	private final ComponentJsonParser componentJsonParser = new ComponentJsonParser();
+	private final JsonObjectParser<Integer> relatedIssueCountJsonParser = new JsonObjectParser<Integer>() {
+		@Override
+		public Integer parse(JSONObject json) throws JSONException {
+			return json.getInt("issueCount");
+		}
+	};
 	private final URI componentUri;
 
 	public AsynchronousComponentRestClient(final URI baseUri, final HttpClient client) {
-		super(client);
+		this(baseUri, client, RestClientMetrics.NONE);
+	}
+
+	public AsynchronousComponentRestClient(final URI baseUri, final HttpClient client, final RestClientMetrics metrics) {
+		this(baseUri, client, metrics, null);
+	}
+
+	public AsynchronousComponentRestClient(final URI baseUri, final HttpClient client, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		super(client, metrics, parseExecutor);
 		componentUri = UriBuilder.fromUri(baseUri).path("component").build();
 	}
 
@@ -75,11 +92,6 @@ public class AsynchronousComponentRestClient extends AbstractAsynchronousRestCli
 	@Override
 	public Promise<Integer> getComponentRelatedIssuesCount(URI componentUri) {
 		final URI relatedIssueCountsUri = UriBuilder.fromUri(componentUri).path("relatedIssueCounts").build();
-		return getAndParse(relatedIssueCountsUri, new JsonObjectParser<Integer>() {
-			@Override
-			public Integer parse(JSONObject json) throws JSONException {
-				return json.getInt("issueCount");
-			}
-		});
+		return getAndParse(relatedIssueCountsUri, relatedIssueCountJsonParser);
 	}
 }
@@ -33,6 +33,7 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.Date;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Factory for asynchronous http clients.
@@ -41,8 +42,18 @@ import java.util.Properties;
  */
 public class AsynchronousHttpClientFactory {
 
-	@SuppressWarnings("unchecked")
 	public DisposableHttpClient createClient(final URI serverUri, final AuthenticationHandler authenticationHandler) {
+		return createClient(serverUri, authenticationHandler, AsynchronousHttpClientOptions.DEFAULTS);
+	}
+
+	/**
+	 * @param clientOptions connection pool, timeout and thread settings, unset ones are left at defaults of the
+	 *                      underlying Atlassian HttpClient
+	 * @since v3.0
+	 */
+	@SuppressWarnings("unchecked")
+	public DisposableHttpClient createClient(final URI serverUri, final AuthenticationHandler authenticationHandler,
+			final AsynchronousHttpClientOptions clientOptions) {
 		final HttpClientOptions options = new HttpClientOptions();
 		options.setRequestPreparer(new Effect<Request>() {
 			@Override
@@ -50,6 +61,7 @@ public class AsynchronousHttpClientFactory {
 				authenticationHandler.configure(request);
 			}
 		});
+		applyOptions(clientOptions, options);
 		final DefaultHttpClient defaultHttpClient = new DefaultHttpClient(new NoOpEventPublisher(),
 				new RestClientApplicationProperties(serverUri),
 				ThreadLocalContextManagers.noop(), options);
@@ -62,6 +74,30 @@ public class AsynchronousHttpClientFactory {
 		};
 	}
 
+	private static void applyOptions(final AsynchronousHttpClientOptions clientOptions, final HttpClientOptions options) {
+		if (clientOptions.maxTotalConnections != null) {
+			options.setMaxTotalConnections(clientOptions.maxTotalConnections);
+		}
+		if (clientOptions.maxConnectionsPerHost != null) {
+			options.setMaxConnectionsPerHost(clientOptions.maxConnectionsPerHost);
+		}
+		if (clientOptions.connectionTimeoutMillis != null) {
+			options.setConnectionTimeout(clientOptions.connectionTimeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		if (clientOptions.socketTimeoutMillis != null) {
+			options.setSocketTimeout(clientOptions.socketTimeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		if (clientOptions.requestTimeoutMillis != null) {
+			options.setRequestTimeout(clientOptions.requestTimeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		if (clientOptions.ioThreadCount != null) {
+			options.setIoThreadCount(clientOptions.ioThreadCount);
+		}
+		if (clientOptions.maxCallbackThreadPoolSize != null) {
+			options.setMaxCallbackThreadPoolSize(clientOptions.maxCallbackThreadPoolSize);
+		}
+	}
+
 	public DisposableHttpClient createClient(final HttpClient client) {
 		return new AtlassianHttpClientDecorator(client) {
 
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import javax.annotation.Nullable;
+
+/**
+ * Settings of the HTTP client created by {@link AsynchronousHttpClientFactory}. Every setting is optional,
+ * <code>null</code> means that the default of the underlying Atlassian HttpClient is used. A few settings concern
+ * the REST clients using the HTTP client rather than the HTTP client itself; they are applied by
+ * {@link AsynchronousJiraRestClientFactory}.
+ * {@link AsynchronousHttpClientOptionsBuilder} is very useful for building objects of this class.
+ *
+ * @since v3.0
+ */
+public class AsynchronousHttpClientOptions {
+
+	public static final AsynchronousHttpClientOptions DEFAULTS = new AsynchronousHttpClientOptionsBuilder().build();
+
+	/**
+	 * Maximum number of connections in the pool, shared by all hosts.
+	 */
+	@Nullable
+	public final Integer maxTotalConnections;
+	/**
+	 * Maximum number of pooled connections to a single host (route).
+	 */
+	@Nullable
+	public final Integer maxConnectionsPerHost;
+	@Nullable
+	public final Integer connectionTimeoutMillis;
+	@Nullable
+	public final Integer socketTimeoutMillis;
+	/**
+	 * Maximum time of the whole request, including waiting for a pooled connection and reading the response.
+	 */
+	@Nullable
+	public final Integer requestTimeoutMillis;
+	/**
+	 * Number of I/O reactor threads.
+	 */
+	@Nullable
+	public final Integer ioThreadCount;
+	/**
+	 * Maximum size of the thread pool which runs promise callbacks, including response parsing.
+	 */
+	@Nullable
+	public final Integer maxCallbackThreadPoolSize;
+	/**
+	 * Number of threads parsing response bodies, so that parsing of large responses does not hold up promise
+	 * callback threads. When not set responses are parsed on the callback threads.
+	 */
+	@Nullable
+	public final Integer parseThreadCount;
+	/**
+	 * Number of responses allowed to wait for a parsing thread, when exceeded the callback thread parses the response
+	 * itself. Used only together with {@link #parseThreadCount}.
+	 */
+	@Nullable
+	public final Integer maxQueuedParses;
+	/**
+	 * Maximum number of attachment downloads of the issue client running at the same time, see
+	 * {@link AsynchronousIssueRestClient#setMaxConcurrentDownloads(int)}.
+	 */
+	@Nullable
+	public final Integer maxConcurrentDownloads;
+	/**
+	 * Whether concurrent identical GET requests of each REST client share one request and one parse, see
+	 * {@link AbstractAsynchronousRestClient#setCoalesceConcurrentGets(boolean)}.
+	 */
+	@Nullable
+	public final Boolean coalesceConcurrentGets;
+	/**
+	 * Maximum total size in bytes of GET responses kept for revalidation, in a {@link ConditionalGetCache} shared by
+	 * the REST clients of one JiraRestClient, see
+	 * {@link AbstractAsynchronousRestClient#setConditionalGetCache(ConditionalGetCache)}. Only GET requests for
+	 * projects, issues, fields, issue types, filters and users are made conditional. When not set no GET request is.
+	 */
+	@Nullable
+	public final Long conditionalGetCacheMaxBytes;
+	/**
+	 * Whether the search client builds issues of search results lazily, parsing their attributes on first access,
+	 * see {@link AsynchronousSearchRestClient#setLazyIssues(boolean)}.
+	 */
+	@Nullable
+	public final Boolean lazySearchIssues;
+
+	public AsynchronousHttpClientOptions(@Nullable Integer maxTotalConnections, @Nullable Integer maxConnectionsPerHost,
+			@Nullable Integer connectionTimeoutMillis, @Nullable Integer socketTimeoutMillis,
+			@Nullable Integer requestTimeoutMillis, @Nullable Integer ioThreadCount,
+			@Nullable Integer maxCallbackThreadPoolSize) {
+		this(maxTotalConnections, maxConnectionsPerHost, connectionTimeoutMillis, socketTimeoutMillis,
+				requestTimeoutMillis, ioThreadCount, maxCallbackThreadPoolSize, null, null, null, null, null, null);
+	}
+
+	public AsynchronousHttpClientOptions(@Nullable Integer maxTotalConnections, @Nullable Integer maxConnectionsPerHost,
+			@Nullable Integer connectionTimeoutMillis, @Nullable Integer socketTimeoutMillis,
+			@Nullable Integer requestTimeoutMillis, @Nullable Integer ioThreadCount,
+			@Nullable Integer maxCallbackThreadPoolSize, @Nullable Integer parseThreadCount,
+			@Nullable Integer maxQueuedParses, @Nullable Integer maxConcurrentDownloads,
+			@Nullable Boolean coalesceConcurrentGets, @Nullable Long conditionalGetCacheMaxBytes,
+			@Nullable Boolean lazySearchIssues) {
+		this.maxTotalConnections = maxTotalConnections;
+		this.maxConnectionsPerHost = maxConnectionsPerHost;
+		this.connectionTimeoutMillis = connectionTimeoutMillis;
+		this.socketTimeoutMillis = socketTimeoutMillis;
+		this.requestTimeoutMillis = requestTimeoutMillis;
+		this.ioThreadCount = ioThreadCount;
+		this.maxCallbackThreadPoolSize = maxCallbackThreadPoolSize;
+		this.parseThreadCount = parseThreadCount;
+		this.maxQueuedParses = maxQueuedParses;
+		this.maxConcurrentDownloads = maxConcurrentDownloads;
+		this.coalesceConcurrentGets = coalesceConcurrentGets;
+		this.conditionalGetCacheMaxBytes = conditionalGetCacheMaxBytes;
+		this.lazySearchIssues = lazySearchIssues;
+	}
+}
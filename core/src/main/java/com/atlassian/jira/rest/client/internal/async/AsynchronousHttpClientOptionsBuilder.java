@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder class for {@link AsynchronousHttpClientOptions}. All settings are optional, so set only those that you need
+ * and use {@link AsynchronousHttpClientOptionsBuilder#build()} method to build new {@link AsynchronousHttpClientOptions}.
+ *
+ * @since v3.0
+ */
+public class AsynchronousHttpClientOptionsBuilder {
+	private Integer maxTotalConnections;
+	private Integer maxConnectionsPerHost;
+	private Integer connectionTimeoutMillis;
+	private Integer socketTimeoutMillis;
+	private Integer requestTimeoutMillis;
+	private Integer ioThreadCount;
+	private Integer maxCallbackThreadPoolSize;
+	private Integer parseThreadCount;
+	private Integer maxQueuedParses;
+	private Integer maxConcurrentDownloads;
+	private Boolean coalesceConcurrentGets;
+	private Long conditionalGetCacheMaxBytes;
+	private Boolean lazySearchIssues;
+
+	public AsynchronousHttpClientOptionsBuilder withMaxTotalConnections(int maxTotalConnections) {
+		this.maxTotalConnections = positive(maxTotalConnections, "maxTotalConnections");
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withMaxConnectionsPerHost(int maxConnectionsPerHost) {
+		this.maxConnectionsPerHost = positive(maxConnectionsPerHost, "maxConnectionsPerHost");
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withConnectionTimeout(long connectionTimeout, TimeUnit timeUnit) {
+		this.connectionTimeoutMillis = toMillis(connectionTimeout, timeUnit, "connectionTimeout");
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withSocketTimeout(long socketTimeout, TimeUnit timeUnit) {
+		this.socketTimeoutMillis = toMillis(socketTimeout, timeUnit, "socketTimeout");
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withRequestTimeout(long requestTimeout, TimeUnit timeUnit) {
+		this.requestTimeoutMillis = toMillis(requestTimeout, timeUnit, "requestTimeout");
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withIoThreadCount(int ioThreadCount) {
+		this.ioThreadCount = positive(ioThreadCount, "ioThreadCount");
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withMaxCallbackThreadPoolSize(int maxCallbackThreadPoolSize) {
+		this.maxCallbackThreadPoolSize = positive(maxCallbackThreadPoolSize, "maxCallbackThreadPoolSize");
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withParseThreadCount(int parseThreadCount) {
+		this.parseThreadCount = positive(parseThreadCount, "parseThreadCount");
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withMaxQueuedParses(int maxQueuedParses) {
+		this.maxQueuedParses = positive(maxQueuedParses, "maxQueuedParses");
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withMaxConcurrentDownloads(int maxConcurrentDownloads) {
+		this.maxConcurrentDownloads = positive(maxConcurrentDownloads, "maxConcurrentDownloads");
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withCoalesceConcurrentGets(boolean coalesceConcurrentGets) {
+		this.coalesceConcurrentGets = coalesceConcurrentGets;
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withConditionalGetCacheMaxBytes(long conditionalGetCacheMaxBytes) {
+		Preconditions.checkArgument(conditionalGetCacheMaxBytes > 0, "conditionalGetCacheMaxBytes must be positive");
+		this.conditionalGetCacheMaxBytes = conditionalGetCacheMaxBytes;
+		return this;
+	}
+
+	public AsynchronousHttpClientOptionsBuilder withLazySearchIssues(boolean lazySearchIssues) {
+		this.lazySearchIssues = lazySearchIssues;
+		return this;
+	}
+
+	public AsynchronousHttpClientOptions build() {
+		return new AsynchronousHttpClientOptions(maxTotalConnections, maxConnectionsPerHost, connectionTimeoutMillis,
+				socketTimeoutMillis, requestTimeoutMillis, ioThreadCount, maxCallbackThreadPoolSize, parseThreadCount,
+				maxQueuedParses, maxConcurrentDownloads, coalesceConcurrentGets, conditionalGetCacheMaxBytes,
+				lazySearchIssues);
+	}
+
+	private static int positive(int value, String name) {
+		Preconditions.checkArgument(value > 0, "%s must be positive", name);
+		return value;
+	}
+
+	private static int toMillis(long value, TimeUnit timeUnit, String name) {
+		final long millis = timeUnit.toMillis(value);
+		Preconditions.checkArgument(millis >= 0 && millis <= Integer.MAX_VALUE, "%s out of range", name);
+		return (int) millis;
+	}
+}
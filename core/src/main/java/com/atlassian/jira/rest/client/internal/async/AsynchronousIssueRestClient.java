@@ -15,7 +15,6 @@
  */
 package com.atlassian.jira.rest.client.internal.async;
 
-import com.atlassian.httpclient.apache.httpcomponents.MultiPartEntityBuilder;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.httpclient.api.Response;
 import com.atlassian.httpclient.api.ResponsePromise;
@@ -30,10 +29,6 @@ import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
 import com.google.common.collect.Iterables;
-import org.apache.http.entity.mime.HttpMultipartMode;
-import org.apache.http.entity.mime.MultipartEntity;
-import org.apache.http.entity.mime.content.FileBody;
-import org.apache.http.entity.mime.content.InputStreamBody;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
@@ -44,8 +39,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.Executor;
 
 /**
  * Asynchronous implementation of IssueRestClient.
@@ -62,7 +59,6 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 		}
 	};
 	private final SessionRestClient sessionRestClient;
-	private final MetadataRestClient metadataRestClient;
 
 	private final IssueJsonParser issueParser = new IssueJsonParser();
 	private final BasicIssueJsonParser basicIssueParser = new BasicIssueJsonParser();
@@ -73,21 +69,44 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 	private final CreateIssueMetadataJsonParser createIssueMetadataJsonParser = new CreateIssueMetadataJsonParser();
 	private static final String FILE_BODY_TYPE = "file";
 	private final URI baseUri;
-	private ServerInfo serverInfo;
+	private final ServerInfoProvider serverInfoProvider;
+	private final AttachmentDownloader attachmentDownloader;
 
 	public AsynchronousIssueRestClient(final URI baseUri, final HttpClient client, final SessionRestClient sessionRestClient,
 			final MetadataRestClient metadataRestClient) {
-		super(client);
+		this(baseUri, client, sessionRestClient, metadataRestClient, RestClientMetrics.NONE);
+	}
+
+	public AsynchronousIssueRestClient(final URI baseUri, final HttpClient client, final SessionRestClient sessionRestClient,
+			final MetadataRestClient metadataRestClient, final RestClientMetrics metrics) {
+		this(baseUri, client, sessionRestClient, metadataRestClient, metrics, null);
+	}
+
+	public AsynchronousIssueRestClient(final URI baseUri, final HttpClient client, final SessionRestClient sessionRestClient,
+			final MetadataRestClient metadataRestClient, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		this(baseUri, client, sessionRestClient, new ServerInfoProvider(metadataRestClient), metrics, parseExecutor);
+	}
+
+	AsynchronousIssueRestClient(final URI baseUri, final HttpClient client, final SessionRestClient sessionRestClient,
+			final ServerInfoProvider serverInfoProvider, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		super(client, metrics, parseExecutor);
 		this.baseUri = baseUri;
 		this.sessionRestClient = sessionRestClient;
-		this.metadataRestClient = metadataRestClient;
+		this.serverInfoProvider = serverInfoProvider;
+		this.attachmentDownloader = new AttachmentDownloader(client, AttachmentDownloader.DEFAULT_MAX_CONCURRENT_DOWNLOADS,
+				parseExecutor);
 	}
 
-	private synchronized ServerInfo getVersionInfo() {
-		if (serverInfo == null) {
-			serverInfo = metadataRestClient.getServerInfo().claim();
-		}
-		return serverInfo;
+	/**
+	 * Changes how many downloads started with {@link #downloadAttachment(URI, File, DownloadAttachmentOptions)} run
+	 * at the same time, 4 by default. Downloads above the limit wait for their turn.
+	 *
+	 * @since v3.0
+	 */
+	public void setMaxConcurrentDownloads(final int maxConcurrentDownloads) {
+		attachmentDownloader.setMaxConcurrentDownloads(maxConcurrentDownloads);
 	}
 
 	@Override
@@ -109,8 +128,18 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 		return postAndParse(uriBuilder.build(), issues, new IssuesInputJsonGenerator(), new BasicIssuesJsonParser());
 	}
 
+	@Override
+	public Promise<IndexedBulkOperationResult<BasicIssue>> createIssues(final Collection<IssueInput> issues,
+			final BulkCreateOptions options) {
+		return new BulkIssueCreator(this, issues, options).start();
+	}
+
 	@Override
 	public Promise<Iterable<CimProject>> getCreateIssueMetadata(@Nullable GetCreateIssueMetadataOptions options) {
+		return getAndParse(createIssueMetadataUri(options), createIssueMetadataJsonParser);
+	}
+
+	URI createIssueMetadataUri(@Nullable final GetCreateIssueMetadataOptions options) {
 		final UriBuilder uriBuilder = UriBuilder.fromUri(baseUri).path("issue/createmeta");
 
 		if (options != null) {
@@ -139,7 +168,23 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 			}
 		}
 
-		return getAndParse(uriBuilder.build(), createIssueMetadataJsonParser);
+		return uriBuilder.build();
+	}
+
+	/**
+	 * @return createmeta document at given URI together with the projects parsed from it, so that
+	 *         {@link CreateIssueMetadataCache} can keep the document
+	 */
+	Promise<CreateIssueMetadataCache.Snapshot> getCreateIssueMetadataSnapshot(final URI uri) {
+		final RestCallTimer timer = startCall("GET", uri);
+		final ResponsePromise responsePromise = client().newRequest(uri).setAccept("application/json").get();
+		return callAndParse(responsePromise, new ResponseHandler<CreateIssueMetadataCache.Snapshot>() {
+			@Override
+			public CreateIssueMetadataCache.Snapshot handle(final Response response) throws JSONException, IOException {
+				final String json = response.getEntity();
+				return new CreateIssueMetadataCache.Snapshot(json, createIssueMetadataJsonParser.parse(new JSONObject(json)));
+			}
+		}, timer);
 	}
 
 	@Override
@@ -153,7 +198,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 		final Iterable<Expandos> expands = Iterables.concat(DEFAULT_EXPANDS, expand);
 		uriBuilder.path("issue").path(issueKey).queryParam("expand",
 				Joiner.on(',').join(Iterables.transform(expands, EXPANDO_TO_PARAM)));
-		return getAndParse(uriBuilder.build(), issueParser);
+		return getAndParseConditionally(uriBuilder.build(), issueParser);
 	}
 
 	@Override
@@ -174,6 +219,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
 	@Override
 	public Promise<Iterable<Transition>> getTransitions(final URI transitionsUri) {
+		final RestCallTimer timer = startCall("GET", transitionsUri);
 		return callAndParse(client().newRequest(transitionsUri).get(),
 				new AbstractAsynchronousRestClient.ResponseHandler<Iterable<Transition>>() {
 					@Override
@@ -201,7 +247,7 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 							return transitions;
 						}
 					}
-				}
+				}, timer
 		);
 	}
 
@@ -217,37 +263,44 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
 	@Override
 	public Promise<Void> transition(final URI transitionsUri, final TransitionInput transitionInput) {
-		final int buildNumber = getVersionInfo().getBuildNumber();
-		try {
-			JSONObject jsonObject = new JSONObject();
-			if (buildNumber >= ServerVersionConstants.BN_JIRA_5) {
-				jsonObject.put("transition", new JSONObject().put("id", transitionInput.getId()));
-			} else {
-				jsonObject.put("transition", transitionInput.getId());
-			}
-			if (transitionInput.getComment() != null) {
-				if (buildNumber >= ServerVersionConstants.BN_JIRA_5) {
-					jsonObject.put("update", new JSONObject().put("comment",
-							new JSONArray().put(new JSONObject().put("add",
-									new CommentJsonGenerator(getVersionInfo())
-											.generate(transitionInput.getComment())))));
-				} else {
-					jsonObject.put("comment", new CommentJsonGenerator(getVersionInfo())
-							.generate(transitionInput.getComment()));
+		return serverInfoProvider.get().flatMap(new Function<ServerInfo, Promise<Void>>() {
+			@Override
+			public Promise<Void> apply(final ServerInfo serverInfo) {
+				try {
+					return post(transitionsUri, generateTransitionJson(transitionInput, serverInfo));
+				} catch (JSONException ex) {
+					throw new RestClientException(ex);
 				}
 			}
-			final Iterable<FieldInput> fields = transitionInput.getFields();
-			final JSONObject fieldsJs = new IssueUpdateJsonGenerator().generate(fields);
-			if (fieldsJs.keys().hasNext()) {
-				jsonObject.put("fields", fieldsJs);
-			}
-			if (fieldsJs.keys().hasNext()) {
-				jsonObject.put("fields", fieldsJs);
+		});
+	}
+
+	private JSONObject generateTransitionJson(final TransitionInput transitionInput, final ServerInfo serverInfo)
+			throws JSONException {
+		final int buildNumber = serverInfo.getBuildNumber();
+		JSONObject jsonObject = new JSONObject();
+		if (buildNumber >= ServerVersionConstants.BN_JIRA_5) {
+			jsonObject.put("transition", new JSONObject().put("id", transitionInput.getId()));
+		} else {
+			jsonObject.put("transition", transitionInput.getId());
+		}
+		if (transitionInput.getComment() != null) {
+			if (buildNumber >= ServerVersionConstants.BN_JIRA_5) {
+				jsonObject.put("update", new JSONObject().put("comment",
+						new JSONArray().put(new JSONObject().put("add",
+								new CommentJsonGenerator(serverInfo)
+										.generate(transitionInput.getComment())))));
+			} else {
+				jsonObject.put("comment", new CommentJsonGenerator(serverInfo)
+						.generate(transitionInput.getComment()));
 			}
-			return post(transitionsUri, jsonObject);
-		} catch (JSONException ex) {
-			throw new RestClientException(ex);
 		}
+		final Iterable<FieldInput> fields = transitionInput.getFields();
+		final JSONObject fieldsJs = new IssueUpdateJsonGenerator().generate(fields);
+		if (fieldsJs.keys().hasNext()) {
+			jsonObject.put("fields", fieldsJs);
+		}
+		return jsonObject;
 	}
 
 	@Override
@@ -278,7 +331,12 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
 	@Override
 	public Promise<Void> unwatch(final URI watchersUri) {
-		return removeWatcher(watchersUri, getLoggedUsername());
+		return getLoggedSession().flatMap(new Function<Session, Promise<Void>>() {
+			@Override
+			public Promise<Void> apply(final Session session) {
+				return removeWatcher(watchersUri, session.getUsername());
+			}
+		});
 	}
 
 	@Override
@@ -288,63 +346,106 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 
 	@Override
 	public Promise<Void> removeWatcher(final URI watchersUri, final String username) {
-		final UriBuilder uriBuilder = UriBuilder.fromUri(watchersUri);
-		if (getVersionInfo().getBuildNumber() >= ServerVersionConstants.BN_JIRA_4_4) {
-			uriBuilder.queryParam("username", username);
-		} else {
-			uriBuilder.path(username).build();
-		}
-		return delete(uriBuilder.build());
+		return serverInfoProvider.get().flatMap(new Function<ServerInfo, Promise<Void>>() {
+			@Override
+			public Promise<Void> apply(final ServerInfo serverInfo) {
+				final UriBuilder uriBuilder = UriBuilder.fromUri(watchersUri);
+				if (serverInfo.getBuildNumber() >= ServerVersionConstants.BN_JIRA_4_4) {
+					uriBuilder.queryParam("username", username);
+				} else {
+					uriBuilder.path(username);
+				}
+				return delete(uriBuilder.build());
+			}
+		});
 	}
 
 	@Override
 	public Promise<Void> linkIssue(final LinkIssuesInput linkIssuesInput) {
 		final URI uri = UriBuilder.fromUri(baseUri).path("issueLink").build();
-		return post(uri, linkIssuesInput, new LinkIssuesInputGenerator(getVersionInfo()));
+		return serverInfoProvider.get().flatMap(new Function<ServerInfo, Promise<Void>>() {
+			@Override
+			public Promise<Void> apply(final ServerInfo serverInfo) {
+				return post(uri, linkIssuesInput, new LinkIssuesInputGenerator(serverInfo));
+			}
+		});
 	}
 
 	@Override
 	public Promise<Void> addAttachment(final URI attachmentsUri, final InputStream inputStream, final String filename) {
-		final MultipartEntity entity = new MultipartEntity(HttpMultipartMode.BROWSER_COMPATIBLE, null, Charset.defaultCharset());
-		entity.addPart(FILE_BODY_TYPE, new InputStreamBody(inputStream, filename));
+		final StreamingMultipartEntityBuilder entity = new StreamingMultipartEntityBuilder(Charset.defaultCharset(), null);
+		entity.addPart(FILE_BODY_TYPE, filename, inputStream);
 		return postAttachments(attachmentsUri, entity);
 	}
 
 	@Override
 	public Promise<Void> addAttachments(final URI attachmentsUri, final AttachmentInput... attachments) {
-		final MultipartEntity entity = new MultipartEntity(HttpMultipartMode.BROWSER_COMPATIBLE, null, Charset.defaultCharset());
+		final StreamingMultipartEntityBuilder entity = new StreamingMultipartEntityBuilder(Charset.defaultCharset(), null);
 		for (final AttachmentInput attachmentInput : attachments) {
-			entity.addPart(FILE_BODY_TYPE, new InputStreamBody(attachmentInput.getInputStream(), attachmentInput.getFilename()));
+			entity.addPart(FILE_BODY_TYPE, attachmentInput.getFilename(), attachmentInput.getInputStream());
 		}
 		return postAttachments(attachmentsUri, entity);
 	}
 
 	@Override
 	public Promise<Void> addAttachments(final URI attachmentsUri, final File... files) {
-		final MultipartEntity entity = new MultipartEntity(HttpMultipartMode.BROWSER_COMPATIBLE, null, Charset.defaultCharset());
+		return addAttachments(attachmentsUri, null, files);
+	}
+
+	@Override
+	public Promise<Void> addAttachments(final URI attachmentsUri, @Nullable final UploadProgressListener progressListener,
+			final File... files) {
+		final StreamingMultipartEntityBuilder entity = new StreamingMultipartEntityBuilder(Charset.defaultCharset(), progressListener);
 		for (final File file : files) {
-			entity.addPart(FILE_BODY_TYPE, new FileBody(file));
+			entity.addPart(FILE_BODY_TYPE, file);
 		}
 		return postAttachments(attachmentsUri, entity);
 	}
 
+	@Override
+	public Promise<Void> addAttachment(final URI attachmentsUri, final FileChannel channel, final String filename,
+			@Nullable final UploadProgressListener progressListener) {
+		final StreamingMultipartEntityBuilder entity = new StreamingMultipartEntityBuilder(Charset.defaultCharset(), progressListener);
+		entity.addPart(FILE_BODY_TYPE, filename, channel);
+		return postAttachments(attachmentsUri, entity);
+	}
+
 	@Override
 	public Promise<Void> addComment(final URI commentsUri, final Comment comment) {
-		return post(commentsUri, comment, new CommentJsonGenerator(getVersionInfo()));
+		return serverInfoProvider.get().flatMap(new Function<ServerInfo, Promise<Void>>() {
+			@Override
+			public Promise<Void> apply(final ServerInfo serverInfo) {
+				return post(commentsUri, comment, new CommentJsonGenerator(serverInfo));
+			}
+		});
 	}
 
 	@Override
 	public Promise<InputStream> getAttachment(URI attachmentUri) {
+		final RestCallTimer timer = startCall("GET", attachmentUri);
 		return callAndParse(client().newRequest(attachmentUri).get(),
 				new ResponseHandler<InputStream>() {
 					@Override
 					public InputStream handle(final Response request) throws JSONException, IOException {
 						return request.getEntityStream();
 					}
-				}
+				}, timer
 		);
 	}
 
+	@Override
+	public Promise<File> downloadAttachment(final URI attachmentUri, final File target,
+			@Nullable final DownloadAttachmentOptions options) {
+		return attachmentDownloader.download(attachmentUri, target,
+				options != null ? options : new DownloadAttachmentOptionsBuilder().build());
+	}
+
+	@Override
+	public Promise<File> downloadAttachment(final Attachment attachment, final File target) {
+		return downloadAttachment(attachment.getContentUri(), target,
+				new DownloadAttachmentOptionsBuilder().withExpectedSizeOf(attachment).build());
+	}
+
 	@Override
 	public Promise<Void> addWorklog(URI worklogUri, WorklogInput worklogInput) {
 		final UriBuilder uriBuilder = UriBuilder.fromUri(worklogUri)
@@ -362,16 +463,21 @@ public class AsynchronousIssueRestClient extends AbstractAsynchronousRestClient
 		return post(uriBuilder.build(), worklogInput, new WorklogInputJsonGenerator());
 	}
 
-	private Promise<Void> postAttachments(final URI attachmentsUri, final MultipartEntity multipartEntity) {
+	private Promise<Void> postAttachments(final URI attachmentsUri, final StreamingMultipartEntityBuilder entity) {
+		final RestCallTimer timer = startCall("POST", attachmentsUri);
+		timer.bytesSent(entity.getContentLength());
 		final ResponsePromise responsePromise = client()
 				.newRequest(attachmentsUri)
-				.setEntity(new MultiPartEntityBuilder(multipartEntity))
+				.setEntity(entity)
 				.setHeader("X-Atlassian-Token", "nocheck")
 				.post();
-		return call(responsePromise);
+		return call(responsePromise, timer);
 	}
 
-	private String getLoggedUsername() {
-		return sessionRestClient.getCurrentSession().claim().getUsername();
+	private Promise<Session> getLoggedSession() {
+		if (sessionRestClient instanceof AsynchronousSessionRestClient) {
+			return ((AsynchronousSessionRestClient) sessionRestClient).getCachedCurrentSession();
+		}
+		return sessionRestClient.getCurrentSession();
 	}
 }
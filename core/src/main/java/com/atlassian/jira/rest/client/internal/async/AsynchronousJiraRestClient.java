@@ -16,10 +16,14 @@
 package com.atlassian.jira.rest.client.internal.async;
 
 import com.atlassian.jira.rest.client.api.*;
+import com.google.common.collect.Lists;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
 import java.net.URI;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Asynchronous implementation of JIRA REST com.atlassian.jira.rest.client.
@@ -28,36 +32,64 @@ import java.net.URI;
  */
 public class AsynchronousJiraRestClient implements JiraRestClient {
 
-	private final IssueRestClient issueRestClient;
+	private final AsynchronousIssueRestClient issueRestClient;
 	private final SessionRestClient sessionRestClient;
 	private final UserRestClient userRestClient;
 	private final ProjectRestClient projectRestClient;
 	private final ComponentRestClient componentRestClient;
 	private final MetadataRestClient metadataRestClient;
-	private final SearchRestClient searchRestClient;
+	private final AsynchronousSearchRestClient searchRestClient;
 	private final VersionRestClient versionRestClient;
 	private final ProjectRolesRestClient projectRolesRestClient;
 	private final MyPermissionsRestClient myPermissionsRestClient;
 	private final DisposableHttpClient httpClient;
     private final AuditRestClient auditRestClient;
+	// all of the above, for settings which apply to every one of them
+	private final List<AbstractAsynchronousRestClient> restClients = Lists.newArrayList();
 
     public AsynchronousJiraRestClient(final URI serverUri, final DisposableHttpClient httpClient) {
+		this(serverUri, httpClient, RestClientMetrics.NONE);
+	}
+
+	/**
+	 * @param metrics receives measurements of every REST call made by this client
+	 * @since v3.0
+	 */
+	public AsynchronousJiraRestClient(final URI serverUri, final DisposableHttpClient httpClient, final RestClientMetrics metrics) {
+		this(serverUri, httpClient, metrics, null);
+	}
+
+	/**
+	 * @param metrics       receives measurements of every REST call made by this client
+	 * @param parseExecutor parses response bodies instead of threads of the HTTP client, see {@link ParseExecutors};
+	 *                      <code>null</code> parses them on the thread which completed the call. It is not shut down
+	 *                      by {@link #close()}.
+	 * @since v3.0
+	 */
+	public AsynchronousJiraRestClient(final URI serverUri, final DisposableHttpClient httpClient, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
 		final URI baseUri = UriBuilder.fromUri(serverUri).path("/rest/api/latest").build();
 
 		this.httpClient = httpClient;
-		metadataRestClient = new AsynchronousMetadataRestClient(baseUri, httpClient);
-		sessionRestClient = new AsynchronousSessionRestClient(serverUri, httpClient);
-		issueRestClient = new AsynchronousIssueRestClient(baseUri, httpClient, sessionRestClient, metadataRestClient);
-		userRestClient = new AsynchronousUserRestClient(baseUri, httpClient);
-		projectRestClient = new AsynchronousProjectRestClient(baseUri, httpClient);
-		componentRestClient = new AsynchronousComponentRestClient(baseUri, httpClient);
-		searchRestClient = new AsynchronousSearchRestClient(baseUri, httpClient);
-		versionRestClient = new AsynchronousVersionRestClient(baseUri, httpClient);
-		projectRolesRestClient = new AsynchronousProjectRolesRestClient(serverUri, httpClient);
-		myPermissionsRestClient = new AsynchronousMyPermissionsRestClient(baseUri, httpClient);
-        auditRestClient = new AsynchronousAuditRestClient(httpClient, baseUri);
+		metadataRestClient = track(new AsynchronousMetadataRestClient(baseUri, httpClient, metrics, parseExecutor));
+		sessionRestClient = track(new AsynchronousSessionRestClient(serverUri, httpClient, metrics, parseExecutor));
+		final ServerInfoProvider serverInfoProvider = new ServerInfoProvider(metadataRestClient);
+		issueRestClient = track(new AsynchronousIssueRestClient(baseUri, httpClient, sessionRestClient, serverInfoProvider, metrics, parseExecutor));
+		userRestClient = track(new AsynchronousUserRestClient(baseUri, httpClient, metrics, parseExecutor));
+		projectRestClient = track(new AsynchronousProjectRestClient(baseUri, httpClient, metrics, parseExecutor));
+		componentRestClient = track(new AsynchronousComponentRestClient(baseUri, httpClient, metrics, parseExecutor));
+		searchRestClient = track(new AsynchronousSearchRestClient(baseUri, httpClient, metrics, parseExecutor));
+		versionRestClient = track(new AsynchronousVersionRestClient(baseUri, httpClient, metrics, parseExecutor));
+		projectRolesRestClient = track(new AsynchronousProjectRolesRestClient(serverUri, httpClient, metrics, parseExecutor));
+		myPermissionsRestClient = track(new AsynchronousMyPermissionsRestClient(baseUri, httpClient, metrics, parseExecutor));
+        auditRestClient = track(new AsynchronousAuditRestClient(httpClient, baseUri, metrics, parseExecutor));
     }
 
+	private <T extends AbstractAsynchronousRestClient> T track(final T restClient) {
+		restClients.add(restClient);
+		return restClient;
+	}
+
 	@Override
 	public IssueRestClient getIssueClient() {
 		return issueRestClient;
@@ -113,6 +145,30 @@ public class AsynchronousJiraRestClient implements JiraRestClient {
         return auditRestClient;
     }
 
+	/**
+	 * Applies settings of given options which concern the REST clients rather than the HTTP client.
+	 */
+	void applyOptions(final AsynchronousHttpClientOptions options) {
+		if (options.maxConcurrentDownloads != null) {
+			issueRestClient.setMaxConcurrentDownloads(options.maxConcurrentDownloads);
+		}
+		if (options.coalesceConcurrentGets != null) {
+			for (AbstractAsynchronousRestClient restClient : restClients) {
+				restClient.setCoalesceConcurrentGets(options.coalesceConcurrentGets);
+			}
+		}
+		if (options.conditionalGetCacheMaxBytes != null) {
+			// all REST clients use the same credentials, so they can share the cache
+			final ConditionalGetCache cache = new ConditionalGetCache(options.conditionalGetCacheMaxBytes);
+			for (AbstractAsynchronousRestClient restClient : restClients) {
+				restClient.setConditionalGetCache(cache);
+			}
+		}
+		if (options.lazySearchIssues != null) {
+			searchRestClient.setLazyIssues(options.lazySearchIssues);
+		}
+	}
+
     @Override
 	public void close() throws IOException {
 		try {
@@ -19,9 +19,11 @@ import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.AuthenticationHandler;
 import com.atlassian.jira.rest.client.api.JiraRestClient;
 import com.atlassian.jira.rest.client.api.JiraRestClientFactory;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.auth.BasicHttpAuthenticationHandler;
 
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Serves asynchronous implementations of the JiraRestClient.
@@ -30,11 +32,63 @@ import java.net.URI;
  */
 public class AsynchronousJiraRestClientFactory implements JiraRestClientFactory {
 
+	private static final int DEFAULT_MAX_QUEUED_PARSES = 64;
+
 	@Override
 	public JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler) {
+		return create(serverUri, authenticationHandler, AsynchronousHttpClientOptions.DEFAULTS);
+	}
+
+	/**
+	 * Creates an instance of JiraRestClient with HttpClient configured according to given options.
+	 *
+	 * @param serverUri             URI of JIRA instance.
+	 * @param authenticationHandler requests authenticator.
+	 * @param clientOptions         connection pool, timeout and thread settings of the HttpClient.
+	 * @since v3.0
+	 */
+	public JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler,
+			final AsynchronousHttpClientOptions clientOptions) {
+		return create(serverUri, authenticationHandler, clientOptions, RestClientMetrics.NONE);
+	}
+
+	/**
+	 * Creates an instance of JiraRestClient reporting every REST call it makes to given metrics.
+	 *
+	 * @param serverUri             URI of JIRA instance.
+	 * @param authenticationHandler requests authenticator.
+	 * @param clientOptions         connection pool, timeout and thread settings of the HttpClient.
+	 * @param metrics               receives endpoint, status, sizes and timings of every call.
+	 * @since v3.0
+	 */
+	public JiraRestClient create(final URI serverUri, final AuthenticationHandler authenticationHandler,
+			final AsynchronousHttpClientOptions clientOptions, final RestClientMetrics metrics) {
 		final DisposableHttpClient httpClient = new AsynchronousHttpClientFactory()
-				.createClient(serverUri, authenticationHandler);
-		return new AsynchronousJiraRestClient(serverUri, httpClient);
+				.createClient(serverUri, authenticationHandler, clientOptions);
+		final AsynchronousJiraRestClient restClient = clientOptions.parseThreadCount == null
+				? new AsynchronousJiraRestClient(serverUri, httpClient, metrics)
+				: createWithParseExecutor(serverUri, httpClient, clientOptions, metrics);
+		restClient.applyOptions(clientOptions);
+		return restClient;
+	}
+
+	private static AsynchronousJiraRestClient createWithParseExecutor(final URI serverUri,
+			final DisposableHttpClient httpClient, final AsynchronousHttpClientOptions clientOptions,
+			final RestClientMetrics metrics) {
+		final ExecutorService parseExecutor = ParseExecutors.bounded(clientOptions.parseThreadCount,
+				clientOptions.maxQueuedParses != null ? clientOptions.maxQueuedParses : DEFAULT_MAX_QUEUED_PARSES);
+		// the parse executor lives as long as the HttpClient, which is destroyed when the JiraRestClient is closed
+		final DisposableHttpClient parsingHttpClient = new AtlassianHttpClientDecorator(httpClient) {
+			@Override
+			public void destroy() throws Exception {
+				try {
+					httpClient.destroy();
+				} finally {
+					parseExecutor.shutdown();
+				}
+			}
+		};
+		return new AsynchronousJiraRestClient(serverUri, parsingHttpClient, metrics, parseExecutor);
 	}
 
 	@Override
@@ -17,12 +17,15 @@ package com.atlassian.jira.rest.client.internal.async;
 
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.MetadataRestClient;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.api.domain.*;
 import com.atlassian.jira.rest.client.internal.json.*;
 import com.atlassian.util.concurrent.Promise;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.concurrent.Executor;
 
 /**
  * Asynchronous implementation of MetadataRestClient.
@@ -46,20 +49,29 @@ public class AsynchronousMetadataRestClient extends AbstractAsynchronousRestClie
 	private final URI baseUri;
 
 	public AsynchronousMetadataRestClient(final URI baseUri, HttpClient httpClient) {
-		super(httpClient);
+		this(baseUri, httpClient, RestClientMetrics.NONE);
+	}
+
+	public AsynchronousMetadataRestClient(final URI baseUri, final HttpClient httpClient, final RestClientMetrics metrics) {
+		this(baseUri, httpClient, metrics, null);
+	}
+
+	public AsynchronousMetadataRestClient(final URI baseUri, final HttpClient httpClient, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		super(httpClient, metrics, parseExecutor);
 		this.baseUri = baseUri;
 
 	}
 
 	@Override
 	public Promise<IssueType> getIssueType(final URI uri) {
-		return getAndParse(uri, issueTypeJsonParser);
+		return getAndParseConditionally(uri, issueTypeJsonParser);
 	}
 
 	@Override
 	public Promise<Iterable<IssueType>> getIssueTypes() {
 		final URI uri = UriBuilder.fromUri(baseUri).path("issuetype").build();
-		return getAndParse(uri, issueTypesJsonParser);
+		return getAndParseConditionally(uri, issueTypesJsonParser);
 	}
 
 	@Override
@@ -110,6 +122,6 @@ public class AsynchronousMetadataRestClient extends AbstractAsynchronousRestClie
 	@Override
 	public Promise<Iterable<Field>> getFields() {
 		final URI uri = UriBuilder.fromUri(baseUri).path("field").build();
-		return getAndParse(uri, fieldsJsonParser);
+		return getAndParseConditionally(uri, fieldsJsonParser);
 	}
 }
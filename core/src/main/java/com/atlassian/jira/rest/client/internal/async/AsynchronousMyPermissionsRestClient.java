@@ -17,13 +17,16 @@ package com.atlassian.jira.rest.client.internal.async;
 
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.MyPermissionsRestClient;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.api.domain.Permissions;
 import com.atlassian.jira.rest.client.api.domain.input.MyPermissionsInput;
 import com.atlassian.jira.rest.client.internal.json.PermissionsJsonParser;
 import com.atlassian.util.concurrent.Promise;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.concurrent.Executor;
 
 public class AsynchronousMyPermissionsRestClient extends AbstractAsynchronousRestClient implements MyPermissionsRestClient {
 	private static final String URI_PREFIX = "mypermissions";
@@ -31,7 +34,16 @@ public class AsynchronousMyPermissionsRestClient extends AbstractAsynchronousRes
 	private final PermissionsJsonParser permissionsJsonParser = new PermissionsJsonParser();
 
 	protected AsynchronousMyPermissionsRestClient(final URI baseUri, final HttpClient client) {
-		super(client);
+		this(baseUri, client, RestClientMetrics.NONE);
+	}
+
+	protected AsynchronousMyPermissionsRestClient(final URI baseUri, final HttpClient client, final RestClientMetrics metrics) {
+		this(baseUri, client, metrics, null);
+	}
+
+	protected AsynchronousMyPermissionsRestClient(final URI baseUri, final HttpClient client, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		super(client, metrics, parseExecutor);
 		this.baseUri = baseUri;
 	}
 
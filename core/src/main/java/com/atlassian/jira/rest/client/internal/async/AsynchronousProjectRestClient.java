@@ -16,6 +16,7 @@
 package com.atlassian.jira.rest.client.internal.async;
 
 import com.atlassian.jira.rest.client.api.ProjectRestClient;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.api.domain.BasicProject;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.domain.Project;
@@ -23,8 +24,10 @@ import com.atlassian.jira.rest.client.internal.json.BasicProjectsJsonParser;
 import com.atlassian.jira.rest.client.internal.json.ProjectJsonParser;
 import com.atlassian.util.concurrent.Promise;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.concurrent.Executor;
 
 /**
  * Asynchronous implementation of ProjectRestClient.
@@ -40,24 +43,33 @@ public class AsynchronousProjectRestClient extends AbstractAsynchronousRestClien
 	private final URI baseUri;
 
 	public AsynchronousProjectRestClient(final URI baseUri, final HttpClient client) {
-		super(client);
+		this(baseUri, client, RestClientMetrics.NONE);
+	}
+
+	public AsynchronousProjectRestClient(final URI baseUri, final HttpClient client, final RestClientMetrics metrics) {
+		this(baseUri, client, metrics, null);
+	}
+
+	public AsynchronousProjectRestClient(final URI baseUri, final HttpClient client, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		super(client, metrics, parseExecutor);
 		this.baseUri = baseUri;
 	}
 
 	@Override
 	public Promise<Project> getProject(final String key) {
 		final URI uri = UriBuilder.fromUri(baseUri).path(PROJECT_URI_PREFIX).path(key).build();
-		return getAndParse(uri, projectJsonParser);
+		return getAndParseConditionally(uri, projectJsonParser);
 	}
 
 	@Override
 	public Promise<Project> getProject(final URI projectUri) {
-		return getAndParse(projectUri, projectJsonParser);
+		return getAndParseConditionally(projectUri, projectJsonParser);
 	}
 
 	@Override
 	public Promise<Iterable<BasicProject>> getAllProjects() {
 		final URI uri = UriBuilder.fromUri(baseUri).path(PROJECT_URI_PREFIX).build();
-		return getAndParse(uri, basicProjectsJsonParser);
+		return getAndParseConditionally(uri, basicProjectsJsonParser);
 	}
 }
@@ -16,19 +16,23 @@
 package com.atlassian.jira.rest.client.internal.async;
 
 import com.atlassian.jira.rest.client.api.ProjectRolesRestClient;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
+import com.atlassian.jira.rest.client.api.RestPromises;
 import com.atlassian.jira.rest.client.api.domain.BasicProjectRole;
 import com.atlassian.jira.rest.client.api.domain.ProjectRole;
 import com.atlassian.jira.rest.client.internal.json.BasicProjectRoleJsonParser;
 import com.atlassian.jira.rest.client.internal.json.ProjectRoleJsonParser;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.util.concurrent.Promise;
-import com.atlassian.util.concurrent.Promises;
 import com.google.common.base.Function;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Asynchronous implementation of ProjectRolesRestClient.
@@ -41,7 +45,16 @@ public class AsynchronousProjectRolesRestClient extends AbstractAsynchronousRest
 	private final BasicProjectRoleJsonParser basicRoleJsonParser;
 
 	public AsynchronousProjectRolesRestClient(final URI serverUri, final HttpClient client) {
-		super(client);
+		this(serverUri, client, RestClientMetrics.NONE);
+	}
+
+	public AsynchronousProjectRolesRestClient(final URI serverUri, final HttpClient client, final RestClientMetrics metrics) {
+		this(serverUri, client, metrics, null);
+	}
+
+	public AsynchronousProjectRolesRestClient(final URI serverUri, final HttpClient client, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		super(client, metrics, parseExecutor);
 		this.projectRoleJsonParser = new ProjectRoleJsonParser(serverUri);
 		this.basicRoleJsonParser = new BasicProjectRoleJsonParser();
 	}
@@ -69,11 +82,21 @@ public class AsynchronousProjectRolesRestClient extends AbstractAsynchronousRest
 				.build();
 		final Promise<Collection<BasicProjectRole>> basicProjectRoles = getAndParse(rolesUris, basicRoleJsonParser);
 
-		return Promises.promise(Iterables.transform(basicProjectRoles.claim(), new Function<BasicProjectRole, ProjectRole>() {
+		// roles are fetched concurrently, without blocking the caller
+		return basicProjectRoles.flatMap(new Function<Collection<BasicProjectRole>, Promise<Iterable<ProjectRole>>>() {
 			@Override
-			public ProjectRole apply(final BasicProjectRole basicProjectRole) {
-				return getRole(basicProjectRole.getSelf()).claim();
+			public Promise<Iterable<ProjectRole>> apply(final Collection<BasicProjectRole> roles) {
+				final List<Promise<ProjectRole>> rolePromises = Lists.newArrayListWithCapacity(roles.size());
+				for (final BasicProjectRole basicProjectRole : roles) {
+					rolePromises.add(getRole(basicProjectRole.getSelf()));
+				}
+				return RestPromises.allOf(rolePromises).map(new Function<List<ProjectRole>, Iterable<ProjectRole>>() {
+					@Override
+					public Iterable<ProjectRole> apply(final List<ProjectRole> projectRoles) {
+						return projectRoles;
+					}
+				});
 			}
-		}));
+		});
 	}
 }
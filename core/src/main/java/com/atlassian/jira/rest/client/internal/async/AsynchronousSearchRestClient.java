@@ -16,12 +16,16 @@
 package com.atlassian.jira.rest.client.internal.async;
 
 import com.atlassian.jira.rest.client.api.IssueRestClient;
+import com.atlassian.jira.rest.client.api.ParallelSearchOptions;
+import com.atlassian.jira.rest.client.api.SearchPageHandler;
 import com.atlassian.jira.rest.client.api.domain.Filter;
+import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.internal.json.FilterJsonParser;
 import com.atlassian.jira.rest.client.internal.json.GenericJsonArrayParser;
 import com.atlassian.jira.rest.client.internal.json.SearchResultJsonParser;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.api.SearchRestClient;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.util.concurrent.Promise;
@@ -36,7 +40,9 @@ import org.codehaus.jettison.json.JSONObject;
 import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static com.atlassian.jira.rest.client.api.IssueRestClient.Expandos.NAMES;
 import static com.atlassian.jira.rest.client.api.IssueRestClient.Expandos.SCHEMA;
@@ -65,7 +71,8 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
 	private static final String EXPAND_ATTRIBUTE = "expand";
 	private static final String FIELDS_ATTRIBUTE = "fields";
 
-	private final SearchResultJsonParser searchResultJsonParser = new SearchResultJsonParser();
+	private volatile SearchResultJsonParser searchResultJsonParser;
+	private volatile SearchResultJsonParser projectionResultJsonParser;
 	private final FilterJsonParser filterJsonParser = new FilterJsonParser();
 	private final GenericJsonArrayParser<Filter> filtersParser = GenericJsonArrayParser.create(new FilterJsonParser());
 
@@ -74,12 +81,51 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
 	private final URI baseUri;
 
 	public AsynchronousSearchRestClient(final URI baseUri, final HttpClient asyncHttpClient) {
-		super(asyncHttpClient);
+		this(baseUri, asyncHttpClient, RestClientMetrics.NONE);
+	}
+
+	public AsynchronousSearchRestClient(final URI baseUri, final HttpClient asyncHttpClient, final RestClientMetrics metrics) {
+		this(baseUri, asyncHttpClient, metrics, null);
+	}
+
+	public AsynchronousSearchRestClient(final URI baseUri, final HttpClient asyncHttpClient, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		this(baseUri, asyncHttpClient, metrics, parseExecutor, false);
+	}
+
+	private AsynchronousSearchRestClient(final URI baseUri, final HttpClient asyncHttpClient, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor, final boolean lazyIssues) {
+		super(asyncHttpClient, metrics, parseExecutor);
+		setLazyIssues(lazyIssues);
 		this.baseUri = baseUri;
 		this.searchUri = UriBuilder.fromUri(baseUri).path(SEARCH_URI_PREFIX).build();
 		this.favouriteUri = UriBuilder.fromUri(baseUri).path(FILTER_FAVOURITE_PATH).build();
 	}
 
+	/**
+	 * Returns a search client which builds issues of search results lazily: only their key, id and self URI are
+	 * parsed up front and every other attribute is parsed on its first access. It pays off when consumers read
+	 * just a few attributes of each issue. Problems with attributes are then reported on access as
+	 * {@link com.atlassian.jira.rest.client.api.RestClientException}.
+	 *
+	 * @return search client sharing the HTTP client of this one
+	 * @since v3.0
+	 */
+	public AsynchronousSearchRestClient withLazyIssues() {
+		return new AsynchronousSearchRestClient(baseUri, client(), metrics(), parseExecutor(), true);
+	}
+
+	/**
+	 * Makes searches of this client build issues lazily, as described at {@link #withLazyIssues()}, or eagerly again.
+	 * Searches already sent are not affected. Disabled by default.
+	 *
+	 * @since v3.0
+	 */
+	public void setLazyIssues(final boolean lazyIssues) {
+		this.searchResultJsonParser = new SearchResultJsonParser(lazyIssues);
+		this.projectionResultJsonParser = new SearchResultJsonParser(lazyIssues, true);
+	}
+
 	@Override
 	public Promise<SearchResult> searchJql(@Nullable String jql) {
 		return searchJql(jql, null, null, null);
@@ -95,6 +141,23 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
 		}
 	}
 
+	@Override
+	public Iterable<Issue> searchJqlAll(@Nullable final String jql, final int pageSize, final int pagesAhead,
+			@Nullable final Set<String> fields) {
+		return new Iterable<Issue>() {
+			@Override
+			public Iterator<Issue> iterator() {
+				return new PrefetchingIssueIterator(AsynchronousSearchRestClient.this, jql, pageSize, pagesAhead, fields);
+			}
+		};
+	}
+
+	@Override
+	public Promise<Void> searchJqlParallel(@Nullable final String jql, @Nullable final Set<String> fields,
+			final ParallelSearchOptions options, final SearchPageHandler handler) {
+		return new ParallelSearchFanOut(this, jql, fields, options, handler).start();
+	}
+
 	private Promise<SearchResult> searchJqlImplGet(@Nullable Integer maxResults, @Nullable Integer startAt, Iterable<String> expandosValues, String jql, @Nullable Set<String> fields) {
 		final UriBuilder uriBuilder = UriBuilder.fromUri(searchUri)
 				.queryParam(JQL_ATTRIBUTE, jql)
@@ -106,7 +169,15 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
 		addOptionalQueryParam(uriBuilder, MAX_RESULTS_ATTRIBUTE, maxResults);
 		addOptionalQueryParam(uriBuilder, START_AT_ATTRIBUTE, startAt);
 
-		return getAndParse(uriBuilder.build(), searchResultJsonParser);
+		return getAndParse(uriBuilder.build(), searchResultParser(fields));
+	}
+
+	/**
+	 * Issues of searches narrowed to some fields may lack fields otherwise always present, so they are parsed
+	 * in projection mode.
+	 */
+	private SearchResultJsonParser searchResultParser(@Nullable final Set<String> fields) {
+		return fields != null ? projectionResultJsonParser : searchResultJsonParser;
 	}
 
 	private void addOptionalQueryParam(final UriBuilder uriBuilder, final String key, final Object... values) {
@@ -130,17 +201,17 @@ public class AsynchronousSearchRestClient extends AbstractAsynchronousRestClient
 		} catch (JSONException e) {
 			throw new RestClientException(e);
 		}
-		return postAndParse(searchUri, postEntity, searchResultJsonParser);
+		return postAndParse(searchUri, postEntity, searchResultParser(fields));
 	}
 
 	@Override
 	public Promise<Iterable<Filter>> getFavouriteFilters() {
-		return getAndParse(favouriteUri, filtersParser);
+		return getAndParseConditionally(favouriteUri, filtersParser);
 	}
 
 	@Override
 	public Promise<Filter> getFilter(URI filterUri) {
-		return getAndParse(filterUri, filterJsonParser);
+		return getAndParseConditionally(filterUri, filterJsonParser);
 	}
 
 	@Override
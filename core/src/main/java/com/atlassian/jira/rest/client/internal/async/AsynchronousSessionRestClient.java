@@ -15,6 +15,7 @@
  */
 package com.atlassian.jira.rest.client.internal.async;
 
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.api.SessionRestClient;
 import com.atlassian.jira.rest.client.internal.json.SessionJsonParser;
 import com.atlassian.httpclient.api.HttpClient;
@@ -22,8 +23,10 @@ import com.atlassian.jira.rest.client.api.RestClientException;
 import com.atlassian.jira.rest.client.api.domain.Session;
 import com.atlassian.util.concurrent.Promise;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.concurrent.Executor;
 
 /**
  * Asynchronous implementation of SessionRestClient.
@@ -34,9 +37,24 @@ public class AsynchronousSessionRestClient extends AbstractAsynchronousRestClien
 
 	private final SessionJsonParser sessionJsonParser = new SessionJsonParser();
 	private final URI serverUri;
+	private final LazyPromise<Session> cachedSession = new LazyPromise<Session>() {
+		@Override
+		protected Promise<Session> load() {
+			return getCurrentSession();
+		}
+	};
 
 	public AsynchronousSessionRestClient(final URI serverUri, final HttpClient client) {
-		super(client);
+		this(serverUri, client, RestClientMetrics.NONE);
+	}
+
+	public AsynchronousSessionRestClient(final URI serverUri, final HttpClient client, final RestClientMetrics metrics) {
+		this(serverUri, client, metrics, null);
+	}
+
+	public AsynchronousSessionRestClient(final URI serverUri, final HttpClient client, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		super(client, metrics, parseExecutor);
 		this.serverUri = serverUri;
 	}
 
@@ -45,4 +63,26 @@ public class AsynchronousSessionRestClient extends AbstractAsynchronousRestClien
 		return getAndParse(UriBuilder.fromUri(serverUri).path("rest/auth/latest/session").build(), sessionJsonParser);
 	}
 
+	/**
+	 * Same as {@link #getCurrentSession()}, but the session is retrieved only once and shared by all callers until
+	 * {@link #invalidateCachedSession()} is called. Failed retrievals are not cached. Every caller gets a promise
+	 * of its own, which it may cancel without affecting the others.
+	 *
+	 * @return information about current session
+	 * @since v3.0
+	 */
+	public Promise<Session> getCachedCurrentSession() {
+		return cachedSession.get();
+	}
+
+	/**
+	 * Forgets the session cached by {@link #getCachedCurrentSession()}. Call it whenever the credentials used by
+	 * the underlying HTTP client change.
+	 *
+	 * @since v3.0
+	 */
+	public void invalidateCachedSession() {
+		cachedSession.invalidate();
+	}
+
 }
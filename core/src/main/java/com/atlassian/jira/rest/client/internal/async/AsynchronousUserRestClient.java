@@ -15,14 +15,17 @@
  */
 package com.atlassian.jira.rest.client.internal.async;
 
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.api.UserRestClient;
 import com.atlassian.jira.rest.client.api.domain.User;
 import com.atlassian.httpclient.api.HttpClient;
 import com.atlassian.jira.rest.client.internal.json.UserJsonParser;
 import com.atlassian.util.concurrent.Promise;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.concurrent.Executor;
 
 /**
  * Asynchronous implementation of UserRestClient.
@@ -37,7 +40,16 @@ public class AsynchronousUserRestClient extends AbstractAsynchronousRestClient i
 	private final URI baseUri;
 
 	public AsynchronousUserRestClient(final URI baseUri, final HttpClient client) {
-		super(client);
+		this(baseUri, client, RestClientMetrics.NONE);
+	}
+
+	public AsynchronousUserRestClient(final URI baseUri, final HttpClient client, final RestClientMetrics metrics) {
+		this(baseUri, client, metrics, null);
+	}
+
+	public AsynchronousUserRestClient(final URI baseUri, final HttpClient client, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		super(client, metrics, parseExecutor);
 		this.baseUri = baseUri;
 	}
 
@@ -50,6 +62,6 @@ public class AsynchronousUserRestClient extends AbstractAsynchronousRestClient i
 
 	@Override
 	public Promise<User> getUser(final URI userUri) {
-		return getAndParse(userUri, userJsonParser);
+		return getAndParseConditionally(userUri, userJsonParser);
 	}
 }
@@ -15,6 +15,7 @@
  */
 package com.atlassian.jira.rest.client.internal.async;
 
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
 import com.atlassian.jira.rest.client.api.VersionRestClient;
 import com.atlassian.jira.rest.client.api.domain.Version;
 import com.atlassian.jira.rest.client.api.domain.VersionRelatedIssuesCount;
@@ -34,6 +35,7 @@ import org.codehaus.jettison.json.JSONObject;
 import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
+import java.util.concurrent.Executor;
 
 /**
  * Asynchronous implementation of VersionRestClient.
@@ -43,25 +45,43 @@ import java.net.URI;
 public class AsynchronousVersionRestClient extends AbstractAsynchronousRestClient implements VersionRestClient {
 
 	private final URI versionRootUri;
+	// kept for the life of the client, as GETs are coalesced and cached by the identity of their parser
+	private final VersionJsonParser versionJsonParser = new VersionJsonParser();
+	private final VersionRelatedIssueCountJsonParser versionRelatedIssueCountJsonParser = new VersionRelatedIssueCountJsonParser();
+	private final JsonObjectParser<Integer> unresolvedIssueCountJsonParser = new JsonObjectParser<Integer>() {
+		@Override
+		public Integer parse(JSONObject json) throws JSONException {
+			return json.getInt("issuesUnresolvedCount");
+		}
+	};
 
 	public AsynchronousVersionRestClient(URI baseUri, final HttpClient client) {
-		super(client);
+		this(baseUri, client, RestClientMetrics.NONE);
+	}
+
+	public AsynchronousVersionRestClient(final URI baseUri, final HttpClient client, final RestClientMetrics metrics) {
+		this(baseUri, client, metrics, null);
+	}
+
+	public AsynchronousVersionRestClient(final URI baseUri, final HttpClient client, final RestClientMetrics metrics,
+			@Nullable final Executor parseExecutor) {
+		super(client, metrics, parseExecutor);
 		versionRootUri = UriBuilder.fromUri(baseUri).path("version").build();
 	}
 
 	@Override
 	public Promise<Version> getVersion(final URI versionUri) {
-		return getAndParse(versionUri, new VersionJsonParser());
+		return getAndParse(versionUri, versionJsonParser);
 	}
 
 	@Override
 	public Promise<Version> createVersion(final VersionInput versionInput) {
-		return postAndParse(versionRootUri, versionInput, new VersionInputJsonGenerator(), new VersionJsonParser());
+		return postAndParse(versionRootUri, versionInput, new VersionInputJsonGenerator(), versionJsonParser);
 	}
 
 	@Override
 	public Promise<Version> updateVersion(final URI versionUri, final VersionInput versionInput) {
-		return putAndParse(versionUri, versionInput, new VersionInputJsonGenerator(), new VersionJsonParser());
+		return putAndParse(versionUri, versionInput, new VersionInputJsonGenerator(), versionJsonParser);
 	}
 
 	@Override
@@ -80,18 +100,13 @@ public class AsynchronousVersionRestClient extends AbstractAsynchronousRestClien
 	@Override
 	public Promise<VersionRelatedIssuesCount> getVersionRelatedIssuesCount(final URI versionUri) {
 		final URI relatedIssueCountsUri = UriBuilder.fromUri(versionUri).path("relatedIssueCounts").build();
-		return getAndParse(relatedIssueCountsUri, new VersionRelatedIssueCountJsonParser());
+		return getAndParse(relatedIssueCountsUri, versionRelatedIssueCountJsonParser);
 	}
 
 	@Override
 	public Promise<Integer> getNumUnresolvedIssues(final URI versionUri) {
 		final URI unresolvedIssueCountUri = UriBuilder.fromUri(versionUri).path("unresolvedIssueCount").build();
-		return getAndParse(unresolvedIssueCountUri, new JsonObjectParser<Integer>() {
-			@Override
-			public Integer parse(JSONObject json) throws JSONException {
-				return json.getInt("issuesUnresolvedCount");
-			}
-		});
+		return getAndParse(unresolvedIssueCountUri, unresolvedIssueCountJsonParser);
 	}
 
 	@Override
@@ -105,13 +120,13 @@ public class AsynchronousVersionRestClient extends AbstractAsynchronousRestClien
 				res.put("after", uri);
 				return res;
 			}
-		}, new VersionJsonParser());
+		}, versionJsonParser);
 	}
 
 	@Override
 	public Promise<Version> moveVersion(final URI versionUri, final VersionPosition versionPosition) {
 		final URI moveUri = getMoveVersionUri(versionUri);
-		return postAndParse(moveUri, versionPosition, new VersionPositionInputGenerator(), new VersionJsonParser());
+		return postAndParse(moveUri, versionPosition, new VersionPositionInputGenerator(), versionJsonParser);
 	}
 
 	private URI getMoveVersionUri(URI versionUri) {
@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.httpclient.api.Request;
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.DownloadAttachmentOptions;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.TimeZone;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Downloads attachments to files using ranged requests. Each chunk is written to the target file as soon as it is
+ * received, and a failed chunk is requested again from the same offset. At most <code>maxConcurrentDownloads</code>
+ * downloads run at the same time; the others are queued and started as running ones finish.
+ * <p/>
+ * Chunks are written by the given executor rather than the HTTP client thread which received them, as writing
+ * a chunk blocks on disk. Ranges are requested with <code>If-Range</code>, so that a changed attachment is sent
+ * whole instead of being mixed with an older version already written to the file. The target file is given the
+ * <code>Last-Modified</code> time of the attachment, which lets a download resumed later validate the bytes kept
+ * from an earlier one.
+ *
+ * @since v3.0
+ */
+class AttachmentDownloader {
+
+	static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 4;
+
+	private static final int HTTP_OK = 200;
+	private static final int HTTP_PARTIAL_CONTENT = 206;
+	private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+	private static final int HTTP_TOO_MANY_REQUESTS = 429;
+	private static final int HTTP_SERVER_ERROR = 500;
+	private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (?:(\\d+)-(\\d+)|\\*)/(\\d+|\\*)");
+
+	// one thread per download in progress at most, as a download has a single chunk in flight at a time
+	private static final Executor SHARED_WRITE_EXECUTOR = Executors.newCachedThreadPool(
+			new ThreadFactoryBuilder().setNameFormat("jira-rest-client-download-%d").setDaemon(true).build());
+
+	private final HttpClient client;
+	private final Executor writeExecutor;
+	private final Queue<Download> waiting = new LinkedList<Download>();
+	private int maxConcurrentDownloads;
+	private int running;
+
+	/**
+	 * @param writeExecutor writes received chunks to files, <code>null</code> uses threads shared by all downloaders
+	 */
+	AttachmentDownloader(final HttpClient client, final int maxConcurrentDownloads, @Nullable final Executor writeExecutor) {
+		Preconditions.checkArgument(maxConcurrentDownloads > 0, "maxConcurrentDownloads must be positive");
+		this.client = client;
+		this.maxConcurrentDownloads = maxConcurrentDownloads;
+		this.writeExecutor = writeExecutor != null ? writeExecutor : SHARED_WRITE_EXECUTOR;
+	}
+
+	/**
+	 * Changes the limit of downloads running at the same time. Raising it starts waiting downloads right away,
+	 * lowering it lets running ones finish.
+	 */
+	void setMaxConcurrentDownloads(final int maxConcurrentDownloads) {
+		Preconditions.checkArgument(maxConcurrentDownloads > 0, "maxConcurrentDownloads must be positive");
+		final List<Download> toStart = Lists.newArrayList();
+		synchronized (this) {
+			this.maxConcurrentDownloads = maxConcurrentDownloads;
+			while (running < maxConcurrentDownloads && !waiting.isEmpty()) {
+				running++;
+				toStart.add(waiting.poll());
+			}
+		}
+		for (Download download : toStart) {
+			download.start();
+		}
+	}
+
+	Promise<File> download(final URI uri, final File target, final DownloadAttachmentOptions options) {
+		final Download download = new Download(uri, target, options);
+		synchronized (this) {
+			if (running >= maxConcurrentDownloads) {
+				waiting.add(download);
+				return download.promise;
+			}
+			running++;
+		}
+		download.start();
+		return download.promise;
+	}
+
+	private void downloadFinished() {
+		final Download next;
+		synchronized (this) {
+			if (running > maxConcurrentDownloads || waiting.isEmpty()) {
+				running--;
+				return;
+			}
+			next = waiting.poll();
+		}
+		next.start();
+	}
+
+	private static boolean isRetryable(final Throwable t) {
+		if (t instanceof RestClientException) {
+			final Optional<Integer> statusCode = ((RestClientException) t).getStatusCode();
+			return !statusCode.isPresent() || statusCode.get() >= HTTP_SERVER_ERROR
+					|| statusCode.get() == HTTP_TOO_MANY_REQUESTS;
+		}
+		return true;
+	}
+
+	/**
+	 * @return new format of HTTP dates, as instances are not thread safe
+	 */
+	static DateFormat httpDateFormat() {
+		final SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+		format.setTimeZone(TimeZone.getTimeZone("GMT"));
+		return format;
+	}
+
+	private class Download {
+		private final URI uri;
+		private final File target;
+		private final DownloadAttachmentOptions options;
+		private final SettableFuture<File> result = SettableFuture.create();
+		private final Promise<File> promise = Promises.forListenableFuture(result);
+		// version of the attachment whose bytes are in the target file, sent as If-Range; chunks are sequential,
+		// but each may be handled by a different thread
+		@Nullable
+		private volatile String validator;
+
+		private Download(final URI uri, final File target, final DownloadAttachmentOptions options) {
+			this.uri = uri;
+			this.target = target;
+			this.options = options;
+		}
+
+		private void start() {
+			final long offset;
+			try {
+				if (options.resume && target.isFile() && target.length() > 0
+						&& (options.expectedSize == null || target.length() <= options.expectedSize)) {
+					offset = target.length();
+					// a file left by an earlier download carries the Last-Modified time of what it holds
+					validator = httpDateFormat().format(new Date(target.lastModified()));
+				} else {
+					truncate(0);
+					offset = 0;
+				}
+			} catch (RestClientException e) {
+				fail(e);
+				return;
+			}
+			requestChunk(offset, 0);
+		}
+
+		private void requestChunk(final long offset, final int attempt) {
+			final Request request = client.newRequest(uri)
+					.setHeader("Range", "bytes=" + offset + "-" + (offset + options.chunkSize - 1));
+			final String currentValidator = validator;
+			if (offset > 0 && currentValidator != null) {
+				request.setHeader("If-Range", currentValidator);
+			}
+			request.get().then(new FutureCallback<Response>() {
+				@Override
+				public void onSuccess(final Response response) {
+					try {
+						writeExecutor.execute(new Runnable() {
+							@Override
+							public void run() {
+								final Chunk chunk;
+								try {
+									chunk = handle(response, offset);
+								} catch (RuntimeException e) {
+									chunkFailed(offset, attempt, e);
+									return;
+								}
+								chunkReceived(chunk);
+							}
+						});
+					} catch (RejectedExecutionException e) {
+						fail(e);
+					}
+				}
+
+				@Override
+				public void onFailure(final Throwable t) {
+					chunkFailed(offset, attempt, t);
+				}
+			});
+		}
+
+		private void chunkReceived(final Chunk chunk) {
+			if (chunk.total < 0 || chunk.next < chunk.total) {
+				requestChunk(chunk.next, 0);
+			} else {
+				finish(chunk.total);
+			}
+		}
+
+		private void chunkFailed(final long offset, final int attempt, final Throwable t) {
+			if (attempt < options.maxRetriesPerChunk && isRetryable(t)) {
+				requestChunk(offset, attempt + 1);
+			} else {
+				fail(t);
+			}
+		}
+
+		private Chunk handle(final Response response, final long offset) {
+			final int statusCode = response.getStatusCode();
+			if (statusCode == HTTP_OK) {
+				// the server ignored the range, or the attachment changed since the file was written, so the
+				// response carries the whole content
+				rememberVersion(response);
+				final long length = write(response, 0);
+				truncate(length);
+				stampLastModified(response);
+				return new Chunk(length, length);
+			}
+			if (statusCode != HTTP_PARTIAL_CONTENT && statusCode != HTTP_RANGE_NOT_SATISFIABLE) {
+				return AbstractAsynchronousRestClient.<Chunk>errorFunction().apply(response);
+			}
+			final String contentRange = response.getHeader("Content-Range");
+			final Matcher matcher = contentRange != null ? CONTENT_RANGE.matcher(contentRange) : null;
+			if (matcher == null || !matcher.matches()) {
+				throw new RestClientException("Invalid Content-Range [" + contentRange + "] in response from " + uri, null);
+			}
+			final long total = "*".equals(matcher.group(3)) ? -1 : Long.parseLong(matcher.group(3));
+			if (statusCode == HTTP_RANGE_NOT_SATISFIABLE) {
+				// nothing left to download after the resumed offset
+				return new Chunk(offset, total >= 0 ? total : offset);
+			}
+			rememberVersion(response);
+			final long start = Long.parseLong(matcher.group(1));
+			final long end = Long.parseLong(matcher.group(2));
+			final long written = write(response, start);
+			if (written != end - start + 1) {
+				throw new RestClientException("Received " + written + " bytes of range " + start + "-" + end
+						+ " from " + uri, null);
+			}
+			stampLastModified(response);
+			// a short chunk is the last one when the server does not announce the total size
+			return new Chunk(end + 1, total >= 0 || written == options.chunkSize ? total : end + 1);
+		}
+
+		/**
+		 * Prefers a strong entity tag, which is exact, over the modification time, which has a one second resolution.
+		 */
+		private void rememberVersion(final Response response) {
+			final String etag = response.getHeader("ETag");
+			if (etag != null && !etag.startsWith("W/")) {
+				validator = etag;
+			} else {
+				validator = response.getHeader("Last-Modified");
+			}
+		}
+
+		private void stampLastModified(final Response response) {
+			final String lastModified = response.getHeader("Last-Modified");
+			if (lastModified != null) {
+				try {
+					target.setLastModified(httpDateFormat().parse(lastModified).getTime());
+				} catch (ParseException e) {
+					// the file cannot be validated when resumed, so a server honouring If-Range sends it whole
+				}
+			}
+		}
+
+		private long write(final Response response, final long position) {
+			try {
+				final InputStream in = response.getEntityStream();
+				final RandomAccessFile file = new RandomAccessFile(target, "rw");
+				try {
+					file.seek(position);
+					final byte[] buffer = new byte[8192];
+					long written = 0;
+					int count;
+					while ((count = in.read(buffer)) != -1) {
+						file.write(buffer, 0, count);
+						written += count;
+					}
+					return written;
+				} finally {
+					file.close();
+					in.close();
+				}
+			} catch (IOException e) {
+				throw new RestClientException(e);
+			}
+		}
+
+		private void truncate(final long length) {
+			try {
+				final RandomAccessFile file = new RandomAccessFile(target, "rw");
+				try {
+					file.setLength(length);
+				} finally {
+					file.close();
+				}
+			} catch (IOException e) {
+				throw new RestClientException(e);
+			}
+		}
+
+		private void finish(final long total) {
+			final long actual = target.length();
+			final long expected = options.expectedSize != null ? options.expectedSize : total;
+			if (expected >= 0 && actual != expected) {
+				fail(new RestClientException("Downloaded " + actual + " bytes of " + uri + " to " + target
+						+ ", but expected " + expected, null));
+			} else {
+				result.set(target);
+				downloadFinished();
+			}
+		}
+
+		private void fail(final Throwable t) {
+			result.setException(t);
+			downloadFinished();
+		}
+	}
+
+	private static class Chunk {
+		private final long next;
+		private final long total;
+
+		private Chunk(final long next, final long total) {
+			this.next = next;
+			this.total = total;
+		}
+	}
+}
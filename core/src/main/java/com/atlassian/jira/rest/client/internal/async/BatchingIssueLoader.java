@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.IssueRestClient;
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in batching of {@link IssueRestClient#getIssue(String)} calls. Keys requested within a short time window
+ * are gathered and retrieved with a single <code>key in (...)</code> JQL search, and every caller gets a promise
+ * of its own issue. Requests for the same key within a window share one promise. Keys missing from the search
+ * result (e.g. moved, not visible or not existing issues) and keys of a batch whose search failed are retrieved
+ * with {@link IssueRestClient#getIssue(String)} one by one, so callers get the same issues and errors as without
+ * batching. Issues come from search results, so they have all fields but no transitions or operations expanded.
+ * Use {@link BatchingIssueLoaderBuilder} to create instances of this class.
+ *
+ * @since v3.0
+ */
+public class BatchingIssueLoader {
+
+	private static final Set<String> ALL_FIELDS = ImmutableSet.of("*all");
+
+	private final IssueRestClient issueRestClient;
+	private final SearchRestClient searchRestClient;
+	private final int maxBatchSize;
+	private final long maxDelayNanos;
+	private final ScheduledExecutorService scheduler;
+
+	private Batch pending;
+
+	BatchingIssueLoader(final IssueRestClient issueRestClient, final SearchRestClient searchRestClient,
+			final int maxBatchSize, final long maxDelayNanos, final ScheduledExecutorService scheduler) {
+		this.issueRestClient = issueRestClient;
+		this.searchRestClient = searchRestClient;
+		this.maxBatchSize = maxBatchSize;
+		this.maxDelayNanos = maxDelayNanos;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * @param issueKey key of the issue
+	 * @return promise of the issue, fulfilled once the batch it joined is retrieved
+	 */
+	public Promise<Issue> getIssue(final String issueKey) {
+		final SettableFuture<Issue> future;
+		Batch full = null;
+		synchronized (this) {
+			if (pending == null) {
+				final Batch batch = new Batch();
+				pending = batch;
+				scheduler.schedule(new Runnable() {
+					@Override
+					public void run() {
+						flush(batch);
+					}
+				}, maxDelayNanos, TimeUnit.NANOSECONDS);
+			}
+			future = pending.add(issueKey);
+			if (pending.futures.size() >= maxBatchSize) {
+				full = pending;
+				pending = null;
+			}
+		}
+		if (full != null) {
+			send(full);
+		}
+		return Promises.forListenableFuture(future);
+	}
+
+	private void flush(final Batch batch) {
+		synchronized (this) {
+			if (pending != batch) {
+				// already sent as full
+				return;
+			}
+			pending = null;
+		}
+		send(batch);
+	}
+
+	private void send(final Batch batch) {
+		if (batch.futures.size() == 1) {
+			final Map.Entry<String, SettableFuture<Issue>> only = batch.futures.entrySet().iterator().next();
+			getOneByOne(only.getKey(), only.getValue());
+			return;
+		}
+		final Promise<SearchResult> search;
+		try {
+			search = searchRestClient.searchJql(batch.toJql(), batch.futures.size(), 0, ALL_FIELDS);
+		} catch (RuntimeException e) {
+			getAllOneByOne(batch);
+			return;
+		}
+		search.then(new FutureCallback<SearchResult>() {
+			@Override
+			public void onSuccess(final SearchResult result) {
+				final Map<String, Issue> found = Maps.newHashMap();
+				for (Issue issue : result.getIssues()) {
+					found.put(issue.getKey(), issue);
+				}
+				for (Map.Entry<String, SettableFuture<Issue>> entry : batch.futures.entrySet()) {
+					final Issue issue = found.get(entry.getKey());
+					if (issue != null) {
+						entry.getValue().set(issue);
+					} else {
+						getOneByOne(entry.getKey(), entry.getValue());
+					}
+				}
+			}
+
+			@Override
+			public void onFailure(final Throwable t) {
+				// e.g. JQL rejected because one of the keys does not exist
+				getAllOneByOne(batch);
+			}
+		});
+	}
+
+	private void getAllOneByOne(final Batch batch) {
+		for (Map.Entry<String, SettableFuture<Issue>> entry : batch.futures.entrySet()) {
+			getOneByOne(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private void getOneByOne(final String issueKey, final SettableFuture<Issue> future) {
+		try {
+			issueRestClient.getIssue(issueKey).then(new FutureCallback<Issue>() {
+				@Override
+				public void onSuccess(final Issue issue) {
+					future.set(issue);
+				}
+
+				@Override
+				public void onFailure(final Throwable t) {
+					future.setException(t);
+				}
+			});
+		} catch (RuntimeException e) {
+			future.setException(e);
+		}
+	}
+
+	private static class Batch {
+		private final LinkedHashMap<String, SettableFuture<Issue>> futures = new LinkedHashMap<String, SettableFuture<Issue>>();
+
+		private SettableFuture<Issue> add(final String issueKey) {
+			SettableFuture<Issue> future = futures.get(issueKey);
+			if (future == null) {
+				future = SettableFuture.create();
+				futures.put(issueKey, future);
+			}
+			return future;
+		}
+
+		private String toJql() {
+			final StringBuilder jql = new StringBuilder("key in (");
+			boolean first = true;
+			for (String issueKey : futures.keySet()) {
+				if (!first) {
+					jql.append(',');
+				}
+				first = false;
+				jql.append('"').append(issueKey.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+			}
+			return jql.append(')').toString();
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.IssueRestClient;
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder class for {@link BatchingIssueLoader}. By default batches of at most {@link #DEFAULT_MAX_BATCH_SIZE} keys
+ * are sent {@link #DEFAULT_MAX_DELAY_MILLIS} milliseconds after their first key was requested, or as soon as they
+ * are full. Windows are timed by a single daemon thread shared by all loaders unless a scheduler is given.
+ *
+ * @since v3.0
+ */
+public class BatchingIssueLoaderBuilder {
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+	public static final long DEFAULT_MAX_DELAY_MILLIS = 5;
+
+	private static final ScheduledExecutorService SHARED_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactoryBuilder().setNameFormat("jira-rest-client-batching-%d").setDaemon(true).build());
+
+	private final IssueRestClient issueRestClient;
+	private final SearchRestClient searchRestClient;
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+	private long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_DELAY_MILLIS);
+	private ScheduledExecutorService scheduler = SHARED_SCHEDULER;
+
+	public BatchingIssueLoaderBuilder(final IssueRestClient issueRestClient, final SearchRestClient searchRestClient) {
+		this.issueRestClient = issueRestClient;
+		this.searchRestClient = searchRestClient;
+	}
+
+	/**
+	 * @param maxBatchSize number of keys which makes a batch to be sent right away; JIRA may cap the number of
+	 *                     issues returned by a search, keys above the cap are retrieved one by one
+	 */
+	public BatchingIssueLoaderBuilder withMaxBatchSize(final int maxBatchSize) {
+		Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+		this.maxBatchSize = maxBatchSize;
+		return this;
+	}
+
+	/**
+	 * @param maxDelay how long the first key of a batch waits for other keys
+	 */
+	public BatchingIssueLoaderBuilder withMaxDelay(final long maxDelay, final TimeUnit timeUnit) {
+		Preconditions.checkArgument(maxDelay >= 0, "maxDelay cannot be negative");
+		this.maxDelayNanos = timeUnit.toNanos(maxDelay);
+		return this;
+	}
+
+	/**
+	 * @param scheduler times batch windows, it only starts the requests so a single thread is plenty
+	 */
+	public BatchingIssueLoaderBuilder withScheduler(final ScheduledExecutorService scheduler) {
+		this.scheduler = Preconditions.checkNotNull(scheduler);
+		return this;
+	}
+
+	public BatchingIssueLoader build() {
+		return new BatchingIssueLoader(issueRestClient, searchRestClient, maxBatchSize, maxDelayNanos, scheduler);
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.BulkCreateOptions;
+import com.atlassian.jira.rest.client.api.IssueRestClient;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationErrorResult;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationResult;
+import com.atlassian.jira.rest.client.api.domain.IndexedBulkOperationResult;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.SettableFuture;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Creates a collection of issues of any size with many bulk requests in flight at the same time. Positions of
+ * inputs in the original collection are tracked through chunking, splitting and retries, so that the merged result
+ * is indexed by them. Issues are sent again after a {@link RetryBackoff} delay. All state is guarded by this
+ * object's monitor.
+ *
+ * @since v3.0
+ */
+class BulkIssueCreator {
+
+	private static final int HTTP_BAD_REQUEST = 400;
+	private static final int HTTP_REQUEST_ENTITY_TOO_LARGE = 413;
+	private static final int HTTP_TOO_MANY_REQUESTS = 429;
+	private static final int HTTP_SERVER_ERROR = 500;
+
+	private final IssueRestClient issueRestClient;
+	private final List<IssueInput> inputs;
+	private final BulkCreateOptions options;
+	private final RetryBackoff backoff;
+	private final SettableFuture<IndexedBulkOperationResult<BasicIssue>> finished = SettableFuture.create();
+
+	private final SortedMap<Integer, BasicIssue> created = new TreeMap<Integer, BasicIssue>();
+	private final SortedMap<Integer, BulkOperationErrorResult> failed = new TreeMap<Integer, BulkOperationErrorResult>();
+	// split and retried chunks, sent before any new chunk
+	private final LinkedList<Chunk> resend = new LinkedList<Chunk>();
+	private int chunkSize;
+	private int nextPosition;
+	private int inFlight;
+	// chunks waiting for their retry delay to pass
+	private int waiting;
+	private boolean sending;
+
+	BulkIssueCreator(final IssueRestClient issueRestClient, final Collection<IssueInput> inputs,
+			final BulkCreateOptions options) {
+		this(issueRestClient, inputs, options, new RetryBackoff(options.retryDelayMillis));
+	}
+
+	BulkIssueCreator(final IssueRestClient issueRestClient, final Collection<IssueInput> inputs,
+			final BulkCreateOptions options, final RetryBackoff backoff) {
+		this.issueRestClient = issueRestClient;
+		this.inputs = ImmutableList.copyOf(inputs);
+		this.options = options;
+		this.backoff = backoff;
+		this.chunkSize = options.chunkSize;
+	}
+
+	Promise<IndexedBulkOperationResult<BasicIssue>> start() {
+		synchronized (this) {
+			sendMore();
+			finishIfDone();
+		}
+		return Promises.forListenableFuture(finished);
+	}
+
+	private void sendMore() {
+		if (sending) {
+			// called back synchronously from send(), the loop below picks up whatever has changed
+			return;
+		}
+		sending = true;
+		try {
+			while (inFlight < options.maxConcurrentChunks) {
+				final Chunk chunk = nextChunk();
+				if (chunk == null) {
+					return;
+				}
+				inFlight++;
+				send(chunk);
+			}
+		} finally {
+			sending = false;
+		}
+	}
+
+	@Nullable
+	private Chunk nextChunk() {
+		if (!resend.isEmpty()) {
+			return resend.removeFirst();
+		}
+		if (nextPosition >= inputs.size()) {
+			return null;
+		}
+		final int end = Math.min(nextPosition + chunkSize, inputs.size());
+		final List<Integer> positions = Lists.newArrayListWithCapacity(end - nextPosition);
+		for (int position = nextPosition; position < end; position++) {
+			positions.add(position);
+		}
+		nextPosition = end;
+		return new Chunk(positions, 0, false);
+	}
+
+	private void send(final Chunk chunk) {
+		final List<IssueInput> chunkInputs = Lists.newArrayListWithCapacity(chunk.positions.size());
+		for (Integer position : chunk.positions) {
+			chunkInputs.add(inputs.get(position));
+		}
+		final Promise<BulkOperationResult<BasicIssue>> promise;
+		try {
+			promise = issueRestClient.createIssues(chunkInputs);
+		} catch (RuntimeException e) {
+			chunkFailed(chunk, e);
+			return;
+		}
+		promise.then(new FutureCallback<BulkOperationResult<BasicIssue>>() {
+			@Override
+			public void onSuccess(final BulkOperationResult<BasicIssue> result) {
+				chunkCreated(chunk, result);
+			}
+
+			@Override
+			public void onFailure(final Throwable t) {
+				chunkFailed(chunk, t);
+			}
+		});
+	}
+
+	private synchronized void chunkCreated(final Chunk chunk, final BulkOperationResult<BasicIssue> result) {
+		inFlight--;
+		if (chunk.split) {
+			// JIRA accepted a chunk this large after rejecting a larger one
+			chunkSize = Math.min(chunkSize, chunk.positions.size());
+		}
+		final Map<Integer, BulkOperationErrorResult> errors = Maps.newHashMap();
+		for (BulkOperationErrorResult error : result.getErrors()) {
+			errors.put(error.getFailedElementNumber(), error);
+		}
+		// created issues are listed in the order of their inputs, skipping the failed ones
+		final Iterator<BasicIssue> issues = result.getIssues().iterator();
+		final List<Integer> retry = Lists.newArrayList();
+		for (int i = 0; i < chunk.positions.size(); i++) {
+			final Integer position = chunk.positions.get(i);
+			final BulkOperationErrorResult error = errors.get(i);
+			if (error == null && issues.hasNext()) {
+				created.put(position, issues.next());
+			} else if (error != null && isTemporary(error.getElementErrors().getStatus()) && chunk.attempt < options.maxRetries) {
+				retry.add(position);
+			} else {
+				final ErrorCollection elementErrors = error != null ? error.getElementErrors()
+						: new ErrorCollection("JIRA reported neither an issue nor an error for this input");
+				failed.put(position, new BulkOperationErrorResult(elementErrors, position));
+			}
+		}
+		if (!retry.isEmpty()) {
+			resendLater(new Chunk(retry, chunk.attempt + 1, false), null);
+		}
+		sendMore();
+		finishIfDone();
+	}
+
+	private synchronized void chunkFailed(final Chunk chunk, final Throwable t) {
+		inFlight--;
+		final Optional<Integer> status = t instanceof RestClientException ?
+				((RestClientException) t).getStatusCode() : Optional.<Integer>absent();
+		final Collection<ErrorCollection> errorCollections = t instanceof RestClientException ?
+				((RestClientException) t).getErrorCollections() : Collections.<ErrorCollection>emptyList();
+		final int size = chunk.positions.size();
+
+		if (status.isPresent() && status.get() == HTTP_BAD_REQUEST && errorCollections.size() == size) {
+			// JIRA rejects the whole request when every issue fails validation, with one error per issue
+			final Iterator<ErrorCollection> elementErrors = errorCollections.iterator();
+			for (Integer position : chunk.positions) {
+				failed.put(position, new BulkOperationErrorResult(elementErrors.next(), position));
+			}
+		} else if (size > 1 && status.isPresent()
+				&& (status.get() == HTTP_BAD_REQUEST || status.get() == HTTP_REQUEST_ENTITY_TOO_LARGE)) {
+			// most likely more issues than JIRA accepts in one request
+			final int half = size / 2;
+			resend.addFirst(new Chunk(chunk.positions.subList(half, size), chunk.attempt, true));
+			resend.addFirst(new Chunk(chunk.positions.subList(0, half), chunk.attempt, true));
+		} else if (maySendAgain(status) && chunk.attempt < options.maxRetries) {
+			resendLater(new Chunk(chunk.positions, chunk.attempt + 1, chunk.split), t);
+		} else {
+			final ErrorCollection errors = errorCollections.size() == 1 ? errorCollections.iterator().next()
+					: new ErrorCollection(status.orNull(), ImmutableList.of(String.valueOf(t.getMessage())),
+					Collections.<String, String>emptyMap());
+			for (Integer position : chunk.positions) {
+				failed.put(position, new BulkOperationErrorResult(errors, position));
+			}
+		}
+		sendMore();
+		finishIfDone();
+	}
+
+	private void resendLater(final Chunk chunk, @Nullable final Throwable failure) {
+		waiting++;
+		backoff.retryLater(new Runnable() {
+			@Override
+			public void run() {
+				synchronized (BulkIssueCreator.this) {
+					waiting--;
+					resend.add(chunk);
+					sendMore();
+					finishIfDone();
+				}
+			}
+		}, chunk.attempt - 1, failure);
+	}
+
+	private boolean maySendAgain(final Optional<Integer> status) {
+		if (status.isPresent() && status.get() == HTTP_TOO_MANY_REQUESTS) {
+			// throttled requests are rejected before any issue is created
+			return true;
+		}
+		// JIRA may have created issues of the chunk before the connection or the server failed
+		return options.retryUnconfirmedChunks && (!status.isPresent() || status.get() >= HTTP_SERVER_ERROR);
+	}
+
+	private static boolean isTemporary(@Nullable final Integer status) {
+		return status != null && (status >= HTTP_SERVER_ERROR || status == HTTP_TOO_MANY_REQUESTS);
+	}
+
+	private void finishIfDone() {
+		if (inFlight == 0 && waiting == 0 && resend.isEmpty() && nextPosition >= inputs.size()) {
+			finished.set(new IndexedBulkOperationResult<BasicIssue>(created, ImmutableList.copyOf(failed.values())));
+		}
+	}
+
+	private static class Chunk {
+		private final List<Integer> positions;
+		private final int attempt;
+		// created by splitting a chunk JIRA rejected
+		private final boolean split;
+
+		private Chunk(final List<Integer> positions, final int attempt, final boolean split) {
+			this.positions = positions;
+			this.attempt = attempt;
+			this.split = split;
+		}
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.MetadataRestClient;
+import com.atlassian.jira.rest.client.api.domain.Field;
+import com.atlassian.jira.rest.client.api.domain.IssueType;
+import com.atlassian.jira.rest.client.api.domain.IssuelinksType;
+import com.atlassian.jira.rest.client.api.domain.Priority;
+import com.atlassian.jira.rest.client.api.domain.Resolution;
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import com.atlassian.jira.rest.client.api.domain.Status;
+import com.atlassian.util.concurrent.Promise;
+import com.google.common.base.Objects;
+import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Opt-in {@link MetadataRestClient} decorator which caches results of the delegate. Every kind of resource has its
+ * own time to live, the total number of cached entries is bounded (least recently used ones are evicted first)
+ * and concurrent requests for a resource which is not cached yet share a single server call.
+ * Use {@link CachingMetadataRestClientBuilder} to create instances of this class.
+ *
+ * @since v3.0
+ */
+public class CachingMetadataRestClient implements MetadataRestClient {
+
+	/**
+	 * Kinds of metadata resources, each of them may have a different time to live.
+	 */
+	public enum Resource {
+		ISSUE_TYPE, ISSUE_TYPES, ISSUE_LINK_TYPES, STATUS, STATUSES, PRIORITY, PRIORITIES, RESOLUTION, RESOLUTIONS,
+		SERVER_INFO, FIELDS
+	}
+
+	private final MetadataRestClient delegate;
+	private final Map<Resource, Long> ttlNanos;
+	private final PromiseCache<CacheKey, Object> cache;
+
+	CachingMetadataRestClient(final MetadataRestClient delegate, final Map<Resource, Long> ttlNanos, final int maxEntries,
+			final Ticker ticker) {
+		this.delegate = delegate;
+		this.ttlNanos = ImmutableMap.copyOf(ttlNanos);
+		this.cache = new PromiseCache<CacheKey, Object>(maxEntries, ticker);
+	}
+
+	@Override
+	public Promise<IssueType> getIssueType(final URI uri) {
+		return cached(Resource.ISSUE_TYPE, uri, new Supplier<Promise<IssueType>>() {
+			@Override
+			public Promise<IssueType> get() {
+				return delegate.getIssueType(uri);
+			}
+		});
+	}
+
+	@Override
+	public Promise<Iterable<IssueType>> getIssueTypes() {
+		return cached(Resource.ISSUE_TYPES, null, new Supplier<Promise<Iterable<IssueType>>>() {
+			@Override
+			public Promise<Iterable<IssueType>> get() {
+				return delegate.getIssueTypes();
+			}
+		});
+	}
+
+	@Override
+	public Promise<Iterable<IssuelinksType>> getIssueLinkTypes() {
+		return cached(Resource.ISSUE_LINK_TYPES, null, new Supplier<Promise<Iterable<IssuelinksType>>>() {
+			@Override
+			public Promise<Iterable<IssuelinksType>> get() {
+				return delegate.getIssueLinkTypes();
+			}
+		});
+	}
+
+	@Override
+	public Promise<Status> getStatus(final URI uri) {
+		return cached(Resource.STATUS, uri, new Supplier<Promise<Status>>() {
+			@Override
+			public Promise<Status> get() {
+				return delegate.getStatus(uri);
+			}
+		});
+	}
+
+	@Override
+	public Promise<Iterable<Status>> getStatuses() {
+		return cached(Resource.STATUSES, null, new Supplier<Promise<Iterable<Status>>>() {
+			@Override
+			public Promise<Iterable<Status>> get() {
+				return delegate.getStatuses();
+			}
+		});
+	}
+
+	@Override
+	public Promise<Priority> getPriority(final URI uri) {
+		return cached(Resource.PRIORITY, uri, new Supplier<Promise<Priority>>() {
+			@Override
+			public Promise<Priority> get() {
+				return delegate.getPriority(uri);
+			}
+		});
+	}
+
+	@Override
+	public Promise<Iterable<Priority>> getPriorities() {
+		return cached(Resource.PRIORITIES, null, new Supplier<Promise<Iterable<Priority>>>() {
+			@Override
+			public Promise<Iterable<Priority>> get() {
+				return delegate.getPriorities();
+			}
+		});
+	}
+
+	@Override
+	public Promise<Resolution> getResolution(final URI uri) {
+		return cached(Resource.RESOLUTION, uri, new Supplier<Promise<Resolution>>() {
+			@Override
+			public Promise<Resolution> get() {
+				return delegate.getResolution(uri);
+			}
+		});
+	}
+
+	@Override
+	public Promise<Iterable<Resolution>> getResolutions() {
+		return cached(Resource.RESOLUTIONS, null, new Supplier<Promise<Iterable<Resolution>>>() {
+			@Override
+			public Promise<Iterable<Resolution>> get() {
+				return delegate.getResolutions();
+			}
+		});
+	}
+
+	@Override
+	public Promise<ServerInfo> getServerInfo() {
+		return cached(Resource.SERVER_INFO, null, new Supplier<Promise<ServerInfo>>() {
+			@Override
+			public Promise<ServerInfo> get() {
+				return delegate.getServerInfo();
+			}
+		});
+	}
+
+	@Override
+	public Promise<Iterable<Field>> getFields() {
+		return cached(Resource.FIELDS, null, new Supplier<Promise<Iterable<Field>>>() {
+			@Override
+			public Promise<Iterable<Field>> get() {
+				return delegate.getFields();
+			}
+		});
+	}
+
+	/**
+	 * Removes all cached entries of given kind of resource, so they are retrieved from the server next time.
+	 */
+	public void invalidate(final Resource resource) {
+		cache.invalidateMatching(new Predicate<CacheKey>() {
+			@Override
+			public boolean apply(final CacheKey key) {
+				return key.resource == resource;
+			}
+		});
+	}
+
+	/**
+	 * Removes cached entry of single resource identified by given URI, like an issue type or a status.
+	 */
+	public void invalidate(final Resource resource, final URI uri) {
+		cache.invalidate(new CacheKey(resource, uri));
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Promise<T> cached(final Resource resource, @Nullable final URI uri, final Supplier<Promise<T>> loader) {
+		final Long ttl = ttlNanos.get(resource);
+		if (ttl == null || ttl <= 0) {
+			return loader.get();
+		}
+		final Supplier<Promise<Object>> untypedLoader = (Supplier) loader;
+		return (Promise<T>) cache.get(new CacheKey(resource, uri), ttl, untypedLoader);
+	}
+
+	private static class CacheKey {
+		private final Resource resource;
+		@Nullable
+		private final URI uri;
+
+		private CacheKey(final Resource resource, @Nullable final URI uri) {
+			this.resource = resource;
+			this.uri = uri;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (obj instanceof CacheKey) {
+				final CacheKey that = (CacheKey) obj;
+				return resource == that.resource && Objects.equal(uri, that.uri);
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(resource, uri);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.MetadataRestClient;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.collect.Maps;
+
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder class for {@link CachingMetadataRestClient}. By default every resource is cached for an hour and at most
+ * {@link #DEFAULT_MAX_ENTRIES} entries are kept. Time to live of particular resources can be changed with
+ * {@link #withTtl(CachingMetadataRestClient.Resource, long, TimeUnit)}, zero disables caching of given resource.
+ *
+ * @since v3.0
+ */
+public class CachingMetadataRestClientBuilder {
+
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+	private static final long DEFAULT_TTL_NANOS = TimeUnit.HOURS.toNanos(1);
+
+	private final MetadataRestClient delegate;
+	private final EnumMap<CachingMetadataRestClient.Resource, Long> ttlNanos =
+			Maps.newEnumMap(CachingMetadataRestClient.Resource.class);
+	private int maxEntries = DEFAULT_MAX_ENTRIES;
+	private Ticker ticker = Ticker.systemTicker();
+
+	public CachingMetadataRestClientBuilder(final MetadataRestClient delegate) {
+		this.delegate = delegate;
+		withDefaultTtl(DEFAULT_TTL_NANOS, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Sets time to live of all resources, overriding previously set values.
+	 */
+	public CachingMetadataRestClientBuilder withDefaultTtl(final long ttl, final TimeUnit timeUnit) {
+		for (CachingMetadataRestClient.Resource resource : CachingMetadataRestClient.Resource.values()) {
+			withTtl(resource, ttl, timeUnit);
+		}
+		return this;
+	}
+
+	public CachingMetadataRestClientBuilder withTtl(final CachingMetadataRestClient.Resource resource, final long ttl,
+			final TimeUnit timeUnit) {
+		Preconditions.checkArgument(ttl >= 0, "ttl cannot be negative");
+		ttlNanos.put(resource, timeUnit.toNanos(ttl));
+		return this;
+	}
+
+	public CachingMetadataRestClientBuilder withMaxEntries(final int maxEntries) {
+		Preconditions.checkArgument(maxEntries > 0, "maxEntries must be positive");
+		this.maxEntries = maxEntries;
+		return this;
+	}
+
+	CachingMetadataRestClientBuilder withTicker(final Ticker ticker) {
+		this.ticker = ticker;
+		return this;
+	}
+
+	public CachingMetadataRestClient build() {
+		return new CachingMetadataRestClient(delegate, ttlNanos, maxEntries, ticker);
+	}
+}
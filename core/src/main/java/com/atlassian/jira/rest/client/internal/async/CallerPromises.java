@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Hands out results shared by many callers. Promises cancel the future they wrap, so a shared future must never be
+ * returned as is: one caller giving up, or a {@link Promise#flatMap} chain cancelling its input, would fail it for
+ * everybody else.
+ *
+ * @since v3.0
+ */
+final class CallerPromises {
+
+	private CallerPromises() {
+	}
+
+	/**
+	 * @return promise completed with the outcome of given shared future, whose cancellation affects this caller only
+	 */
+	static <T> Promise<T> forCaller(final ListenableFuture<T> shared) {
+		final SettableFuture<T> future = SettableFuture.create();
+		Futures.addCallback(shared, new FutureCallback<T>() {
+			@Override
+			public void onSuccess(final T result) {
+				future.set(result);
+			}
+
+			@Override
+			public void onFailure(final Throwable t) {
+				future.setException(t);
+			}
+		});
+		return Promises.forListenableFuture(future);
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of parsed GET responses together with their <code>ETag</code> and <code>Last-Modified</code> validators.
+ * Cached responses are never used without asking JIRA: requests carry <code>If-None-Match</code> and
+ * <code>If-Modified-Since</code> headers, and only a <code>304 Not Modified</code> answer returns the cached
+ * object, without transferring or parsing the body again. Responses without validators are not cached.
+ * <p>
+ * The cache is bounded by the total size of the cached response bodies, an estimate of the memory held by the
+ * parsed objects. When it is exceeded the least recently used entries are evicted; a response larger than the
+ * whole bound is not cached at all. May be shared by clients using the same credentials, see
+ * {@link AbstractAsynchronousRestClient#setConditionalGetCache(ConditionalGetCache)}.
+ *
+ * @since v3.0
+ */
+public class ConditionalGetCache {
+
+	public static final long DEFAULT_MAX_WEIGHT_BYTES = 16L * 1024 * 1024;
+	// weight of a response whose size is not known
+	static final long UNKNOWN_WEIGHT_BYTES = 8 * 1024;
+
+	private final long maxWeightBytes;
+	private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true);
+	private long weightBytes;
+
+	public ConditionalGetCache() {
+		this(DEFAULT_MAX_WEIGHT_BYTES);
+	}
+
+	/**
+	 * @param maxWeightBytes maximum total size of the cached response bodies
+	 */
+	public ConditionalGetCache(final long maxWeightBytes) {
+		Preconditions.checkArgument(maxWeightBytes > 0, "maxWeightBytes must be positive");
+		this.maxWeightBytes = maxWeightBytes;
+	}
+
+	@Nullable
+	synchronized Entry get(final Object key) {
+		return entries.get(key);
+	}
+
+	synchronized void put(final Object key, final Entry entry) {
+		if (entry.weightBytes > maxWeightBytes) {
+			remove(key);
+			return;
+		}
+		final Entry replaced = entries.put(key, entry);
+		if (replaced != null) {
+			weightBytes -= replaced.weightBytes;
+		}
+		weightBytes += entry.weightBytes;
+		// the entry just put is the most recently used one, and fits on its own
+		final Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+		while (weightBytes > maxWeightBytes) {
+			weightBytes -= leastRecentlyUsed.next().weightBytes;
+			leastRecentlyUsed.remove();
+		}
+	}
+
+	synchronized void remove(final Object key) {
+		final Entry removed = entries.remove(key);
+		if (removed != null) {
+			weightBytes -= removed.weightBytes;
+		}
+	}
+
+	/**
+	 * Forgets responses of URIs matching given pattern, e.g. when they are known to have changed.
+	 */
+	public synchronized void invalidateMatching(final Pattern uriPattern) {
+		final Iterator<Entry> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			final Entry entry = iterator.next();
+			if (uriPattern.matcher(entry.uri.toString()).matches()) {
+				weightBytes -= entry.weightBytes;
+				iterator.remove();
+			}
+		}
+	}
+
+	public synchronized void invalidateAll() {
+		entries.clear();
+		weightBytes = 0;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return total size of the cached response bodies
+	 */
+	public synchronized long weightBytes() {
+		return weightBytes;
+	}
+
+	static class Entry {
+		final URI uri;
+		@Nullable
+		final String etag;
+		@Nullable
+		final String lastModified;
+		final Object value;
+		final long weightBytes;
+
+		Entry(final URI uri, @Nullable final String etag, @Nullable final String lastModified, final Object value,
+				final long weightBytes) {
+			this.uri = uri;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.value = value;
+			this.weightBytes = weightBytes;
+		}
+	}
+}
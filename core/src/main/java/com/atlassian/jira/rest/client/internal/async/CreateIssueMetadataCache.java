@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.GetCreateIssueMetadataOptions;
+import com.atlassian.jira.rest.client.api.domain.CimProject;
+import com.atlassian.jira.rest.client.internal.json.CreateIssueMetadataJsonParser;
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.base.Function;
+import com.google.common.collect.Maps;
+import com.google.common.io.CharStreams;
+import com.google.common.io.Closeables;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.SettableFuture;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps results of {@link AsynchronousIssueRestClient#getCreateIssueMetadata(GetCreateIssueMetadataOptions)} in
+ * memory and in a directory, so that they are downloaded and parsed once rather than before every create, and
+ * survive restarts. A result older than the refresh interval is still returned while a fresh one is downloaded in
+ * the background. A failed refresh keeps the previous result.
+ * <p/>
+ * Create metadata depends on permissions of the user, so a directory must only be used for a single user of a
+ * single JIRA instance. {@link CreateIssueMetadataCacheBuilder} is used to create instances of this class.
+ *
+ * @since v3.0
+ */
+public class CreateIssueMetadataCache {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final AsynchronousIssueRestClient issueRestClient;
+	private final File directory;
+	private final long refreshIntervalMillis;
+	private final Executor executor;
+	private final CreateIssueMetadataJsonParser parser = new CreateIssueMetadataJsonParser();
+	private final ConcurrentMap<URI, Promise<Entry>> entries = Maps.newConcurrentMap();
+	private final Set<URI> refreshing = Collections.newSetFromMap(Maps.<URI, Boolean>newConcurrentMap());
+
+	CreateIssueMetadataCache(final AsynchronousIssueRestClient issueRestClient, final File directory,
+			final long refreshIntervalMillis, final Executor executor) {
+		this.issueRestClient = issueRestClient;
+		this.directory = directory;
+		this.refreshIntervalMillis = refreshIntervalMillis;
+		this.executor = executor;
+	}
+
+	/**
+	 * @return create metadata for given options, as {@link AsynchronousIssueRestClient#getCreateIssueMetadata}
+	 *         would return it at most refresh interval ago, give or take the duration of a refresh
+	 */
+	public Promise<Iterable<CimProject>> getCreateIssueMetadata(@Nullable final GetCreateIssueMetadataOptions options) {
+		final URI uri = issueRestClient.createIssueMetadataUri(options);
+		Promise<Entry> entry = entries.get(uri);
+		if (entry == null) {
+			final Promise<Entry> loading = load(uri);
+			entry = entries.putIfAbsent(uri, loading);
+			if (entry == null) {
+				entry = loading;
+				forgetOnFailure(uri, loading);
+			}
+		} else if (entry.isDone()) {
+			refreshIfStale(uri, entry);
+		}
+		return new DelegatingPromise<Iterable<CimProject>>(entry.map(new Function<Entry, Iterable<CimProject>>() {
+			@Override
+			public Iterable<CimProject> apply(final Entry input) {
+				return input.projects;
+			}
+		}));
+	}
+
+	/**
+	 * Forgets all results kept in memory and in the directory.
+	 */
+	public void invalidateAll() {
+		entries.clear();
+		final File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.getName().startsWith("createmeta-")) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	private void forgetOnFailure(final URI uri, final Promise<Entry> entry) {
+		entry.then(new FutureCallback<Entry>() {
+			@Override
+			public void onSuccess(final Entry result) {
+			}
+
+			@Override
+			public void onFailure(final Throwable t) {
+				entries.remove(uri, entry);
+			}
+		});
+	}
+
+	private void refreshIfStale(final URI uri, final Promise<Entry> entry) {
+		final Entry current;
+		try {
+			current = entry.claim();
+		} catch (RuntimeException e) {
+			return;
+		}
+		if (System.currentTimeMillis() - current.loadedAtMillis < refreshIntervalMillis || !refreshing.add(uri)) {
+			return;
+		}
+		download(uri).then(new FutureCallback<Entry>() {
+			@Override
+			public void onSuccess(final Entry result) {
+				entries.replace(uri, entry, Promises.promise(result));
+				refreshing.remove(uri);
+			}
+
+			@Override
+			public void onFailure(final Throwable t) {
+				refreshing.remove(uri);
+			}
+		});
+	}
+
+	/**
+	 * Reads the snapshot from the directory when there is one, otherwise downloads it.
+	 */
+	private Promise<Entry> load(final URI uri) {
+		final SettableFuture<Entry> loaded = SettableFuture.create();
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					final Entry stored = read(uri);
+					if (stored != null) {
+						loaded.set(stored);
+					} else {
+						download(uri).then(new FutureCallback<Entry>() {
+							@Override
+							public void onSuccess(final Entry result) {
+								loaded.set(result);
+							}
+
+							@Override
+							public void onFailure(final Throwable t) {
+								loaded.setException(t);
+							}
+						});
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			loaded.setException(e);
+		}
+		return Promises.forListenableFuture(loaded);
+	}
+
+	private Promise<Entry> download(final URI uri) {
+		return issueRestClient.getCreateIssueMetadataSnapshot(uri).map(new Function<Snapshot, Entry>() {
+			@Override
+			public Entry apply(final Snapshot snapshot) {
+				try {
+					executor.execute(new Runnable() {
+						@Override
+						public void run() {
+							write(uri, snapshot.json);
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					// not stored this time, it is downloaded again after a restart
+				}
+				return new Entry(snapshot.projects, System.currentTimeMillis());
+			}
+		});
+	}
+
+	@Nullable
+	private Entry read(final URI uri) {
+		final File file = fileFor(uri);
+		if (!file.isFile()) {
+			return null;
+		}
+		final long storedAtMillis = file.lastModified();
+		InputStreamReader reader = null;
+		try {
+			reader = new InputStreamReader(new GZIPInputStream(new FileInputStream(file)), UTF_8);
+			return new Entry(parser.parse(new JSONObject(CharStreams.toString(reader))), storedAtMillis);
+		} catch (IOException e) {
+			// unreadable snapshot, e.g. from an incompatible version; it is downloaded again
+			return null;
+		} catch (JSONException e) {
+			return null;
+		} finally {
+			Closeables.closeQuietly(reader);
+		}
+	}
+
+	/**
+	 * Writes to a temporary file first, so that a crash does not leave a truncated snapshot behind.
+	 */
+	private void write(final URI uri, final String json) {
+		final File file = fileFor(uri);
+		File temporary = null;
+		Writer writer = null;
+		try {
+			temporary = File.createTempFile(file.getName(), ".tmp", directory);
+			writer = new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(temporary)), UTF_8);
+			writer.write(json);
+			writer.close();
+			writer = null;
+			if (!temporary.renameTo(file)) {
+				file.delete();
+				temporary.renameTo(file);
+			}
+		} catch (IOException e) {
+			// the document stays cached in memory only
+		} finally {
+			Closeables.closeQuietly(writer);
+			if (temporary != null) {
+				temporary.delete();
+			}
+		}
+	}
+
+	private File fileFor(final URI uri) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-1").digest(uri.toString().getBytes(UTF_8));
+			final StringBuilder name = new StringBuilder("createmeta-");
+			for (byte b : digest) {
+				name.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			}
+			return new File(directory, name.append(".json.gz").toString());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Create metadata document as received from JIRA, together with the projects parsed from it.
+	 */
+	static class Snapshot {
+		final String json;
+		final Iterable<CimProject> projects;
+
+		Snapshot(final String json, final Iterable<CimProject> projects) {
+			this.json = json;
+			this.projects = projects;
+		}
+	}
+
+	private static class Entry {
+		private final Iterable<CimProject> projects;
+		private final long loadedAtMillis;
+
+		private Entry(final Iterable<CimProject> projects, final long loadedAtMillis) {
+			this.projects = projects;
+			this.loadedAtMillis = loadedAtMillis;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.File;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder class for {@link CreateIssueMetadataCache}. By default results are refreshed when they are older than
+ * {@link #DEFAULT_REFRESH_INTERVAL_MINUTES} minutes, and snapshots are read and written by a single daemon thread
+ * shared by all caches unless an executor is given.
+ *
+ * @since v3.0
+ */
+public class CreateIssueMetadataCacheBuilder {
+
+	public static final long DEFAULT_REFRESH_INTERVAL_MINUTES = 60;
+
+	private static final Executor SHARED_EXECUTOR = Executors.newSingleThreadExecutor(
+			new ThreadFactoryBuilder().setNameFormat("jira-rest-client-createmeta-%d").setDaemon(true).build());
+
+	private final AsynchronousIssueRestClient issueRestClient;
+	private final File directory;
+	private long refreshIntervalMillis = TimeUnit.MINUTES.toMillis(DEFAULT_REFRESH_INTERVAL_MINUTES);
+	private Executor executor = SHARED_EXECUTOR;
+
+	/**
+	 * @param directory where snapshots are kept, created when missing; only for a single user of a single JIRA
+	 */
+	public CreateIssueMetadataCacheBuilder(final AsynchronousIssueRestClient issueRestClient, final File directory) {
+		this.issueRestClient = Preconditions.checkNotNull(issueRestClient);
+		this.directory = Preconditions.checkNotNull(directory);
+	}
+
+	/**
+	 * @param refreshInterval age of a result at which it is refreshed in the background on next use
+	 */
+	public CreateIssueMetadataCacheBuilder withRefreshInterval(final long refreshInterval, final TimeUnit timeUnit) {
+		Preconditions.checkArgument(refreshInterval >= 0, "refreshInterval cannot be negative");
+		this.refreshIntervalMillis = timeUnit.toMillis(refreshInterval);
+		return this;
+	}
+
+	/**
+	 * @param executor reads, parses and writes snapshots
+	 */
+	public CreateIssueMetadataCacheBuilder withExecutor(final Executor executor) {
+		this.executor = Preconditions.checkNotNull(executor);
+		return this;
+	}
+
+	public CreateIssueMetadataCache build() {
+		Preconditions.checkArgument(directory.isDirectory() || directory.mkdirs(),
+				"Cannot create directory " + directory);
+		return new CreateIssueMetadataCache(issueRestClient, directory, refreshIntervalMillis, executor);
+	}
+}
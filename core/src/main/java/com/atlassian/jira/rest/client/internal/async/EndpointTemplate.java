@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+/**
+ * Turns URIs of REST calls into endpoint templates usable as metric tags, by replacing path segments which
+ * identify a particular entity with placeholders. Query strings are dropped.
+ *
+ * @since v3.0
+ */
+class EndpointTemplate {
+
+	static final String UNKNOWN = "unknown";
+
+	private static final Pattern ID = Pattern.compile("\\d+");
+	private static final Pattern ISSUE_KEY = Pattern.compile("[A-Z][A-Z0-9_]*-\\d+");
+
+	private EndpointTemplate() {
+	}
+
+	static String of(final URI uri) {
+		final String path = uri.getRawPath();
+		if (path == null || path.isEmpty()) {
+			return "/";
+		}
+		final StringBuilder sb = new StringBuilder(path.length());
+		// attachment content is served from /secure/attachment/{id}/{filename}
+		boolean attachmentFileName = false;
+		String previous = null;
+		int start = 0;
+		while (start < path.length()) {
+			int end = path.indexOf('/', start);
+			if (end < 0) {
+				end = path.length();
+			}
+			final String segment = path.substring(start, end);
+			if (attachmentFileName) {
+				sb.append("{filename}");
+				attachmentFileName = false;
+			} else if (ID.matcher(segment).matches()) {
+				sb.append("{id}");
+				attachmentFileName = endsWith(sb, "/secure/attachment/{id}");
+			} else if (ISSUE_KEY.matcher(segment).matches()) {
+				sb.append("{key}");
+			} else if ("project".equals(previous) && !segment.isEmpty()) {
+				// project keys, as in /project/TST/versions
+				sb.append("{key}");
+			} else {
+				sb.append(segment);
+			}
+			if (end < path.length()) {
+				sb.append('/');
+			}
+			previous = segment;
+			start = end + 1;
+		}
+		return sb.toString();
+	}
+
+	private static boolean endsWith(final StringBuilder sb, final String suffix) {
+		return sb.length() >= suffix.length() && sb.indexOf(suffix, sb.length() - suffix.length()) >= 0;
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.util.concurrent.Promise;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lazily started, shared promise. The first call to {@link #get()} starts {@link #load()}; later calls share its
+ * result without taking any lock or blocking. A failed or cancelled load is forgotten, so the next caller tries
+ * again, and {@link #invalidate()} forces a reload on the next call.
+ * <p>
+ * Every caller gets a promise of its own: cancelling it, e.g. by a {@link Promise#flatMap} chain, does not affect
+ * the shared load or other callers.
+ *
+ * @since v3.0
+ */
+abstract class LazyPromise<T> {
+
+	private final AtomicReference<SettableFuture<T>> current = new AtomicReference<SettableFuture<T>>();
+
+	protected abstract Promise<T> load();
+
+	/**
+	 * @return promise of the shared result, of this caller only
+	 */
+	Promise<T> get() {
+		while (true) {
+			final SettableFuture<T> existing = current.get();
+			if (existing != null) {
+				return CallerPromises.forCaller(existing);
+			}
+			final SettableFuture<T> future = SettableFuture.create();
+			if (current.compareAndSet(null, future)) {
+				start(future);
+				return CallerPromises.forCaller(future);
+			}
+		}
+	}
+
+	void invalidate() {
+		current.set(null);
+	}
+
+	private void start(final SettableFuture<T> future) {
+		future.addListener(new Runnable() {
+			@Override
+			public void run() {
+				if (future.isCancelled()) {
+					current.compareAndSet(future, null);
+				}
+			}
+		}, MoreExecutors.sameThreadExecutor());
+		try {
+			load().then(new FutureCallback<T>() {
+				@Override
+				public void onSuccess(final T result) {
+					future.set(result);
+				}
+
+				@Override
+				public void onFailure(final Throwable t) {
+					current.compareAndSet(future, null);
+					future.setException(t);
+				}
+			});
+		} catch (RuntimeException e) {
+			current.compareAndSet(future, null);
+			future.setException(e);
+		}
+	}
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.ParallelSearchOptions;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.SearchPageHandler;
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.SettableFuture;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Retrieves all pages of a JQL search with many requests in flight at the same time. The first page is requested
+ * alone, as it tells the total number of issues and the page size actually used by JIRA. All state is guarded
+ * by this object's monitor. Requests are sent and pages are passed to the {@link SearchPageHandler} without holding
+ * it; a single thread at a time drains the queue of pages ready for delivery, which serializes calls to the handler.
+ * Failed requests are sent again after a {@link RetryBackoff} delay; a page waiting for its retry stays in flight.
+ *
+ * @since v3.0
+ */
+class ParallelSearchFanOut {
+
+	private static final int HTTP_TOO_MANY_REQUESTS = 429;
+	private static final int HTTP_SERVER_ERROR = 500;
+
+	private final SearchRestClient searchRestClient;
+	@Nullable
+	private final String jql;
+	@Nullable
+	private final Set<String> fields;
+	private final ParallelSearchOptions options;
+	private final SearchPageHandler handler;
+	private final RetryBackoff backoff;
+	private final SettableFuture<Void> finished = SettableFuture.create();
+
+	// pages completed ahead of their turn in ordered mode, keyed by start index
+	private final SortedMap<Integer, PageOutcome> completedAhead = new TreeMap<Integer, PageOutcome>();
+	// pages whose turn has come, in the order of delivery
+	private final LinkedList<PageOutcome> readyToDeliver = new LinkedList<PageOutcome>();
+	private int total;
+	private int step;
+	private int nextStartAt;
+	private int nextToDeliver;
+	private int inFlight;
+	private boolean delivering;
+	private boolean aborted;
+
+	ParallelSearchFanOut(final SearchRestClient searchRestClient, @Nullable final String jql, @Nullable final Set<String> fields,
+			final ParallelSearchOptions options, final SearchPageHandler handler) {
+		this(searchRestClient, jql, fields, options, handler, new RetryBackoff(options.retryDelayMillis));
+	}
+
+	ParallelSearchFanOut(final SearchRestClient searchRestClient, @Nullable final String jql, @Nullable final Set<String> fields,
+			final ParallelSearchOptions options, final SearchPageHandler handler, final RetryBackoff backoff) {
+		this.searchRestClient = searchRestClient;
+		this.jql = jql;
+		this.fields = fields;
+		this.options = options;
+		this.handler = handler;
+		this.backoff = backoff;
+	}
+
+	Promise<Void> start() {
+		fetchFirstPage(0);
+		return Promises.forListenableFuture(finished);
+	}
+
+	private void fetchFirstPage(final int attempt) {
+		searchRestClient.searchJql(jql, options.pageSize, 0, fields).then(new FutureCallback<SearchResult>() {
+			@Override
+			public void onSuccess(final SearchResult page) {
+				firstPageRetrieved(page);
+			}
+
+			@Override
+			public void onFailure(final Throwable t) {
+				if (attempt < options.maxRetriesPerPage && isRetryable(t)) {
+					backoff.retryLater(new Runnable() {
+						@Override
+						public void run() {
+							fetchFirstPage(attempt + 1);
+						}
+					}, attempt, t);
+				} else {
+					finished.setException(t);
+				}
+			}
+		});
+	}
+
+	private void firstPageRetrieved(final SearchResult page) {
+		final List<Integer> toFetch;
+		synchronized (this) {
+			total = page.getTotal();
+			// JIRA may cap maxResults below the requested page size
+			step = page.getMaxResults() > 0 ? page.getMaxResults() : options.pageSize;
+			nextStartAt = page.getStartIndex() + step;
+			nextToDeliver = nextStartAt;
+			readyToDeliver.add(new PageOutcome(0, page, null));
+			toFetch = reservePages();
+		}
+		fetchPages(toFetch);
+		deliverReadyPages();
+	}
+
+	private void fetchPages(final List<Integer> startAts) {
+		for (Integer startAt : startAts) {
+			fetchPage(startAt, 0);
+		}
+	}
+
+	private void fetchPage(final int startAt, final int attempt) {
+		searchRestClient.searchJql(jql, step, startAt, fields).then(new FutureCallback<SearchResult>() {
+			@Override
+			public void onSuccess(final SearchResult page) {
+				pageCompleted(new PageOutcome(startAt, page, null));
+			}
+
+			@Override
+			public void onFailure(final Throwable t) {
+				if (attempt < options.maxRetriesPerPage && isRetryable(t) && !isAborted()) {
+					backoff.retryLater(new Runnable() {
+						@Override
+						public void run() {
+							if (isAborted()) {
+								pageCompleted(new PageOutcome(startAt, null, t));
+							} else {
+								fetchPage(startAt, attempt + 1);
+							}
+						}
+					}, attempt, t);
+				} else {
+					pageCompleted(new PageOutcome(startAt, null, t));
+				}
+			}
+		});
+	}
+
+	private synchronized boolean isAborted() {
+		return aborted;
+	}
+
+	private void pageCompleted(final PageOutcome outcome) {
+		synchronized (this) {
+			inFlight--;
+			if (aborted) {
+				// nothing more is delivered
+			} else if (options.ordered) {
+				completedAhead.put(outcome.startAt, outcome);
+				while (!completedAhead.isEmpty() && completedAhead.firstKey() == nextToDeliver) {
+					readyToDeliver.add(completedAhead.remove(nextToDeliver));
+					nextToDeliver += step;
+				}
+			} else {
+				readyToDeliver.add(outcome);
+			}
+		}
+		deliverReadyPages();
+	}
+
+	/**
+	 * Reserves start indexes of further pages, up to the concurrency limit. Pages waiting for delivery count
+	 * towards the limit, so that a slow handler also slows down retrieval.
+	 */
+	private List<Integer> reservePages() {
+		if (aborted) {
+			return Collections.emptyList();
+		}
+		final List<Integer> startAts = Lists.newArrayList();
+		while (nextStartAt < total
+				&& inFlight + completedAhead.size() + readyToDeliver.size() < options.maxConcurrentPages) {
+			inFlight++;
+			startAts.add(nextStartAt);
+			nextStartAt += step;
+		}
+		return startAts;
+	}
+
+	/**
+	 * Delivers pages until none is ready, unless another thread is already delivering; that thread then picks up
+	 * the pages queued by this one.
+	 */
+	private void deliverReadyPages() {
+		while (true) {
+			final PageOutcome outcome;
+			final List<Integer> toFetch;
+			synchronized (this) {
+				if (delivering || readyToDeliver.isEmpty()) {
+					toFetch = reservePages();
+					outcome = null;
+				} else {
+					delivering = true;
+					outcome = readyToDeliver.removeFirst();
+					toFetch = Collections.emptyList();
+				}
+			}
+			if (outcome == null) {
+				fetchPages(toFetch);
+				finishIfDone();
+				return;
+			}
+			final RuntimeException handlerFailure = deliver(outcome);
+			synchronized (this) {
+				delivering = false;
+				if (handlerFailure != null) {
+					aborted = true;
+					completedAhead.clear();
+					readyToDeliver.clear();
+				}
+			}
+			if (handlerFailure != null) {
+				finished.setException(handlerFailure);
+			}
+		}
+	}
+
+	@Nullable
+	private RuntimeException deliver(final PageOutcome outcome) {
+		try {
+			if (outcome.page != null) {
+				handler.handle(outcome.page);
+			} else {
+				handler.failed(outcome.startAt, outcome.failure);
+			}
+			return null;
+		} catch (RuntimeException e) {
+			return e;
+		}
+	}
+
+	private void finishIfDone() {
+		final boolean done;
+		synchronized (this) {
+			done = inFlight == 0 && !delivering && readyToDeliver.isEmpty()
+					&& (aborted || (nextStartAt >= total && completedAhead.isEmpty()));
+		}
+		if (done) {
+			finished.set(null);
+		}
+	}
+
+	/**
+	 * Requests which failed without a response, or which JIRA was temporarily unable to serve, may succeed if sent
+	 * again. Any other response, e.g. to an invalid query, would only be the same again.
+	 */
+	private static boolean isRetryable(final Throwable t) {
+		if (t instanceof RestClientException) {
+			final Optional<Integer> statusCode = ((RestClientException) t).getStatusCode();
+			return !statusCode.isPresent() || statusCode.get() >= HTTP_SERVER_ERROR
+					|| statusCode.get() == HTTP_TOO_MANY_REQUESTS;
+		}
+		return true;
+	}
+
+	private static class PageOutcome {
+		private final int startAt;
+		@Nullable
+		private final SearchResult page;
+		@Nullable
+		private final Throwable failure;
+
+		private PageOutcome(final int startAt, @Nullable final SearchResult page, @Nullable final Throwable failure) {
+			this.startAt = startAt;
+			this.page = page;
+			this.failure = failure;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates executors that parse response bodies away from the threads of the HTTP client, see
+ * {@link AsynchronousJiraRestClient#AsynchronousJiraRestClient(java.net.URI, DisposableHttpClient,
+ * com.atlassian.jira.rest.client.api.RestClientMetrics, java.util.concurrent.Executor)}.
+ *
+ * @since v3.0
+ */
+public class ParseExecutors {
+
+	private ParseExecutors() {
+	}
+
+	/**
+	 * Creates a fixed size pool of daemon threads with a bounded queue. When the queue is full the response is parsed
+	 * by the HTTP client thread which delivered it, so that thread stops taking further responses until parse work
+	 * drains, instead of the queue growing without limit.
+	 *
+	 * @param threads   number of parsing threads
+	 * @param maxQueued number of responses allowed to wait for a parsing thread
+	 * @return executor which the caller is responsible for shutting down
+	 */
+	public static ExecutorService bounded(final int threads, final int maxQueued) {
+		Preconditions.checkArgument(threads > 0, "threads must be positive");
+		Preconditions.checkArgument(maxQueued > 0, "maxQueued must be positive");
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(maxQueued),
+				new ThreadFactoryBuilder().setNameFormat("jira-rest-client-parser-%d").setDaemon(true).build(),
+				new ParseOnCallerThread());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Unlike {@link ThreadPoolExecutor.CallerRunsPolicy} it does not silently drop work once the executor is shut
+	 * down, which would leave the promise of the call pending forever.
+	 */
+	private static class ParseOnCallerThread implements RejectedExecutionHandler {
+		@Override
+		public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+			if (executor.isShutdown()) {
+				throw new RejectedExecutionException("Parse executor has been shut down");
+			}
+			task.run();
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.util.concurrent.Promise;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Iterates over all issues matching a JQL query, page by page. Once the first page tells the total number
+ * of matching issues, up to <code>pagesAhead</code> subsequent pages are requested in the background while
+ * the current one is consumed. At most <code>pagesAhead</code> pages plus the one being iterated are held
+ * in memory at a time.
+ *
+ * @since v3.0
+ */
+class PrefetchingIssueIterator extends AbstractIterator<Issue> {
+
+	private final SearchRestClient searchRestClient;
+	@Nullable
+	private final String jql;
+	private final int pageSize;
+	private final int pagesAhead;
+	@Nullable
+	private final Set<String> fields;
+
+	private final Queue<Promise<SearchResult>> pendingPages = new LinkedList<Promise<SearchResult>>();
+	private Iterator<Issue> currentPage = Iterators.emptyIterator();
+	private int total = -1;
+	private int step;
+	private int nextStartAt;
+
+	PrefetchingIssueIterator(final SearchRestClient searchRestClient, @Nullable final String jql, final int pageSize,
+			final int pagesAhead, @Nullable final Set<String> fields) {
+		Preconditions.checkArgument(pageSize > 0, "pageSize must be positive");
+		Preconditions.checkArgument(pagesAhead > 0, "pagesAhead must be positive");
+		this.searchRestClient = searchRestClient;
+		this.jql = jql;
+		this.pageSize = pageSize;
+		this.pagesAhead = pagesAhead;
+		this.fields = fields;
+	}
+
+	@Override
+	protected Issue computeNext() {
+		while (!currentPage.hasNext()) {
+			if (pendingPages.isEmpty()) {
+				if (total >= 0) {
+					return endOfData();
+				}
+				pendingPages.add(searchRestClient.searchJql(jql, pageSize, 0, fields));
+			}
+			final SearchResult page = pendingPages.remove().claim();
+			if (total < 0) {
+				total = page.getTotal();
+				// JIRA may cap maxResults below the requested page size
+				step = page.getMaxResults() > 0 ? page.getMaxResults() : pageSize;
+				nextStartAt = page.getStartIndex() + step;
+			}
+			currentPage = page.getIssues().iterator();
+			requestPagesAhead();
+		}
+		return currentPage.next();
+	}
+
+	private void requestPagesAhead() {
+		while (pendingPages.size() < pagesAhead && nextStartAt < total) {
+			pendingPages.add(searchRestClient.searchJql(jql, step, nextStartAt, fields));
+			nextStartAt += step;
+		}
+	}
+}
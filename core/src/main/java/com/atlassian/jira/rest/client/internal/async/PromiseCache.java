@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.util.concurrent.Promise;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded cache of promises with per-entry time to live. Concurrent misses for the same key share a single
+ * load (the first caller's loader is used, others get the same promise). Failed loads are never cached.
+ * When the cache is full the least recently used entry is evicted.
+ * <p>
+ * Every caller gets a promise of its own, completed with the shared result; cancelling it does not affect the load
+ * or other callers. Should the shared load be cancelled anyway, its entry is evicted like a failed one.
+ *
+ * @since v3.0
+ */
+class PromiseCache<K, V> {
+
+	private final Ticker ticker;
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	PromiseCache(final int maxEntries) {
+		this(maxEntries, Ticker.systemTicker());
+	}
+
+	PromiseCache(final int maxEntries, final Ticker ticker) {
+		Preconditions.checkArgument(maxEntries > 0, "maxEntries must be positive");
+		this.ticker = ticker;
+		this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * @param key      cache key
+	 * @param ttlNanos how long a loaded value stays valid, counted from the start of its load
+	 * @param loader   called (outside of any lock) when there is no valid entry for the key
+	 * @return promise of the cached or newly loaded value, of this caller only
+	 */
+	Promise<V> get(final K key, final long ttlNanos, final Supplier<Promise<V>> loader) {
+		final Entry<V> entry;
+		synchronized (this) {
+			final Entry<V> existing = entries.get(key);
+			final long now = ticker.read();
+			if (existing != null && now - existing.loadStarted < ttlNanos) {
+				return CallerPromises.forCaller(existing.future);
+			}
+			entry = new Entry<V>(now);
+			entries.put(key, entry);
+		}
+		entry.future.addListener(new Runnable() {
+			@Override
+			public void run() {
+				if (entry.future.isCancelled()) {
+					remove(key, entry);
+				}
+			}
+		}, MoreExecutors.sameThreadExecutor());
+		try {
+			loader.get().then(new FutureCallback<V>() {
+				@Override
+				public void onSuccess(final V result) {
+					entry.future.set(result);
+				}
+
+				@Override
+				public void onFailure(final Throwable t) {
+					remove(key, entry);
+					entry.future.setException(t);
+				}
+			});
+		} catch (RuntimeException e) {
+			remove(key, entry);
+			entry.future.setException(e);
+		}
+		return CallerPromises.forCaller(entry.future);
+	}
+
+	synchronized void invalidate(final K key) {
+		entries.remove(key);
+	}
+
+	synchronized void invalidateMatching(final Predicate<? super K> predicate) {
+		final Iterator<K> iterator = entries.keySet().iterator();
+		while (iterator.hasNext()) {
+			if (predicate.apply(iterator.next())) {
+				iterator.remove();
+			}
+		}
+	}
+
+	synchronized void invalidateAll() {
+		entries.clear();
+	}
+
+	synchronized int size() {
+		return entries.size();
+	}
+
+	private synchronized void remove(final K key, final Entry<V> entry) {
+		if (entries.get(key) == entry) {
+			entries.remove(key);
+		}
+	}
+
+	private static class Entry<V> {
+		private final long loadStarted;
+		private final SettableFuture<V> future = SettableFuture.create();
+
+		private Entry(final long loadStarted) {
+			this.loadStarted = loadStarted;
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.Response;
+import com.atlassian.jira.rest.client.api.RestCallMetrics;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
+import com.atlassian.util.concurrent.Promise;
+import com.google.common.util.concurrent.FutureCallback;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+
+/**
+ * Measures a single REST call and reports it to {@link RestClientMetrics} once the call completes. The timer is
+ * started when created, so it should be created right before the request is sent. Marks are set from whichever
+ * thread handles the response and read after the promise of the call completes.
+ *
+ * @since v3.0
+ */
+class RestCallTimer {
+
+	private final RestClientMetrics metrics;
+	@Nullable
+	private final URI uri;
+	private final String method;
+	private final long started = System.nanoTime();
+
+	private volatile long bytesSent = -1;
+	private volatile long bytesReceived = -1;
+	@Nullable
+	private volatile Integer statusCode;
+	private volatile boolean responded;
+	private volatile long responseReceived;
+	private volatile long handlingStarted;
+	private volatile boolean handled;
+	private volatile long handlingFinished;
+
+	RestCallTimer(final RestClientMetrics metrics, @Nullable final String method, @Nullable final URI uri) {
+		this.metrics = metrics;
+		this.method = method != null ? method : EndpointTemplate.UNKNOWN;
+		this.uri = uri;
+	}
+
+	void bytesSent(final long bytesSent) {
+		this.bytesSent = bytesSent;
+	}
+
+	void bytesReceived(final long bytesReceived) {
+		this.bytesReceived = bytesReceived;
+	}
+
+	boolean isBytesReceivedKnown() {
+		return bytesReceived >= 0;
+	}
+
+	/**
+	 * @return size of the response body, -1 when not known
+	 */
+	long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	/**
+	 * Marks arrival of the response. Unless {@link #handlingStarted()} is called later, handling is assumed to start
+	 * right away on the same thread.
+	 */
+	void responseReceived(final Response response) {
+		final long now = System.nanoTime();
+		responseReceived = now;
+		handlingStarted = now;
+		responded = true;
+		statusCode = response.getStatusCode();
+		final String contentLength = response.getHeader("Content-Length");
+		if (contentLength != null) {
+			try {
+				bytesReceived = Long.parseLong(contentLength.trim());
+			} catch (NumberFormatException e) {
+				// unknown then
+			}
+		}
+	}
+
+	/**
+	 * Marks the moment a parse executor picked up the response, the time since its arrival is the queue wait.
+	 */
+	void handlingStarted() {
+		handlingStarted = System.nanoTime();
+	}
+
+	void handlingFinished() {
+		handlingFinished = System.nanoTime();
+		handled = true;
+	}
+
+	<T> void reportWhenDone(final Promise<T> promise) {
+		if (metrics == RestClientMetrics.NONE) {
+			return;
+		}
+		promise.then(new FutureCallback<T>() {
+			@Override
+			public void onSuccess(final T result) {
+				report(null);
+			}
+
+			@Override
+			public void onFailure(final Throwable t) {
+				report(t);
+			}
+		});
+	}
+
+	private void report(@Nullable final Throwable failure) {
+		final long finished = System.nanoTime();
+		final long networkNanos;
+		final long queueWaitNanos;
+		final long parseNanos;
+		if (!responded) {
+			// no response at all, e.g. the connection failed
+			networkNanos = finished - started;
+			queueWaitNanos = 0;
+			parseNanos = 0;
+		} else {
+			networkNanos = responseReceived - started;
+			queueWaitNanos = handlingStarted - responseReceived;
+			parseNanos = (handled ? handlingFinished : finished) - handlingStarted;
+		}
+		final String endpoint = uri != null ? EndpointTemplate.of(uri) : EndpointTemplate.UNKNOWN;
+		metrics.callCompleted(new RestCallMetrics(endpoint, method, statusCode, bytesSent, bytesReceived,
+				queueWaitNanos, networkNanos, parseNanos, failure));
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import javax.annotation.Nullable;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends failed requests again after a delay: the one JIRA asked for with a <code>Retry-After</code> header, otherwise
+ * an exponential backoff with jitter, so that a throttled or overloaded server is given time to recover and clients
+ * which failed together do not come back together. Delays are timed by a single daemon thread shared by all clients,
+ * which only starts the requests.
+ *
+ * @since v3.0
+ */
+class RetryBackoff {
+
+	static final long MAX_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private static final ScheduledExecutorService SHARED_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactoryBuilder().setNameFormat("jira-rest-client-retry-%d").setDaemon(true).build());
+
+	private final long baseDelayMillis;
+	private final Random random = new Random();
+
+	/**
+	 * @param baseDelayMillis delay before the first retry, doubled for every next one up to {@link #MAX_DELAY_MILLIS}
+	 */
+	RetryBackoff(final long baseDelayMillis) {
+		this.baseDelayMillis = baseDelayMillis;
+	}
+
+	/**
+	 * @param retry   sends the request again
+	 * @param attempt number of the attempt which failed, starting from 0
+	 * @param failure why it failed, if known
+	 */
+	void retryLater(final Runnable retry, final int attempt, @Nullable final Throwable failure) {
+		schedule(retry, delayMillis(attempt, failure));
+	}
+
+	long delayMillis(final int attempt, @Nullable final Throwable failure) {
+		if (failure instanceof RestClientException) {
+			final Optional<Long> retryAfter = ((RestClientException) failure).getRetryAfterMillis();
+			if (retryAfter.isPresent()) {
+				return retryAfter.get();
+			}
+		}
+		final long ceiling = Math.min(MAX_DELAY_MILLIS, baseDelayMillis << Math.min(attempt, 20));
+		// at least half of the backoff, the rest is random
+		return ceiling / 2 + (long) (random.nextDouble() * (ceiling - ceiling / 2));
+	}
+
+	void schedule(final Runnable retry, final long delayMillis) {
+		if (delayMillis <= 0) {
+			retry.run();
+			return;
+		}
+		try {
+			SHARED_SCHEDULER.schedule(retry, delayMillis, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			retry.run();
+		}
+	}
+
+	/**
+	 * @param value value of a <code>Retry-After</code> header: a number of seconds or an HTTP date
+	 * @return delay in milliseconds, or <code>null</code> when there is no valid value
+	 */
+	@Nullable
+	static Long parseRetryAfter(@Nullable final String value, final long nowMillis) {
+		if (value == null) {
+			return null;
+		}
+		final String trimmed = value.trim();
+		try {
+			return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(trimmed)));
+		} catch (NumberFormatException e) {
+			// an HTTP date then
+		}
+		try {
+			return Math.max(0, AttachmentDownloader.httpDateFormat().parse(trimmed).getTime() - nowMillis);
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.MetadataRestClient;
+import com.atlassian.jira.rest.client.api.domain.ServerInfo;
+import com.atlassian.util.concurrent.Promise;
+
+/**
+ * Lazily retrieves {@link ServerInfo} once and shares it with all sub-clients that build version dependent
+ * requests. No thread ever blocks waiting for the server info; callers compose on the returned promise instead,
+ * which is their own, so a cancelled chain does not break the others.
+ *
+ * @since v3.0
+ */
+class ServerInfoProvider extends LazyPromise<ServerInfo> {
+
+	private final MetadataRestClient metadataRestClient;
+
+	ServerInfoProvider(final MetadataRestClient metadataRestClient) {
+		this.metadataRestClient = metadataRestClient;
+	}
+
+	@Override
+	protected Promise<ServerInfo> load() {
+		return metadataRestClient.getServerInfo();
+	}
+}
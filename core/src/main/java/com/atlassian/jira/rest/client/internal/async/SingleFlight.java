@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shares a call between concurrent callers with the same key: the first caller starts it, callers arriving while it
+ * is in flight join it. Nothing is retained once the call completes, so the next caller starts a new one. Unlike
+ * {@link PromiseCache} it is not a cache, just coalescing of identical work.
+ * <p>
+ * Every caller gets a promise of its own, completed with the result of the shared call. Cancelling it only makes
+ * that caller leave: the shared call carries on for the others, and once all callers have left it is forgotten,
+ * so that the next caller starts a new one.
+ *
+ * @since v3.0
+ */
+class SingleFlight<K> {
+
+	private final ConcurrentMap<K, Flight<?>> inFlight = Maps.newConcurrentMap();
+
+	/**
+	 * @param key  identifies the call; callers must use the same result type for equal keys
+	 * @param call started (outside of any lock) when no call with the key is in flight
+	 * @return promise of the result of the call in flight, of this caller only
+	 */
+	@SuppressWarnings("unchecked")
+	<T> Promise<T> join(final K key, final Supplier<Promise<T>> call) {
+		while (true) {
+			final Flight<T> existing = (Flight<T>) inFlight.get(key);
+			if (existing != null) {
+				final Promise<T> joined = existing.join();
+				if (joined != null) {
+					return joined;
+				}
+				// completed or left by all its callers, about to be removed
+				inFlight.remove(key, existing);
+				continue;
+			}
+			final Flight<T> flight = new Flight<T>(key);
+			final Promise<T> promise = flight.join();
+			if (inFlight.putIfAbsent(key, flight) != null) {
+				continue;
+			}
+			try {
+				call.get().then(new FutureCallback<T>() {
+					@Override
+					public void onSuccess(final T result) {
+						// removed first, so that callers arriving after completion start a new call
+						inFlight.remove(key, flight);
+						flight.complete(result, null);
+					}
+
+					@Override
+					public void onFailure(final Throwable t) {
+						inFlight.remove(key, flight);
+						flight.complete(null, t);
+					}
+				});
+			} catch (RuntimeException e) {
+				inFlight.remove(key, flight);
+				flight.complete(null, e);
+			}
+			return promise;
+		}
+	}
+
+	int size() {
+		return inFlight.size();
+	}
+
+	/**
+	 * A call in flight and the futures of the callers which joined it. Guarded by its own monitor.
+	 */
+	private class Flight<T> {
+		private final K key;
+		private final List<SettableFuture<T>> callers = Lists.newLinkedList();
+		// completed, or left by all callers - nobody can join any more
+		private boolean closed;
+
+		private Flight(final K key) {
+			this.key = key;
+		}
+
+		@Nullable
+		synchronized Promise<T> join() {
+			if (closed) {
+				return null;
+			}
+			final SettableFuture<T> future = SettableFuture.create();
+			callers.add(future);
+			future.addListener(new Runnable() {
+				@Override
+				public void run() {
+					if (future.isCancelled()) {
+						leave(future);
+					}
+				}
+			}, MoreExecutors.sameThreadExecutor());
+			return Promises.forListenableFuture(future);
+		}
+
+		private void leave(final SettableFuture<T> future) {
+			synchronized (this) {
+				callers.remove(future);
+				if (closed || !callers.isEmpty()) {
+					return;
+				}
+				closed = true;
+			}
+			// the call itself is left to complete, nobody waits for its result any more
+			inFlight.remove(key, this);
+		}
+
+		void complete(@Nullable final T result, @Nullable final Throwable failure) {
+			final List<SettableFuture<T>> waiting;
+			synchronized (this) {
+				closed = true;
+				waiting = ImmutableList.copyOf(callers);
+				callers.clear();
+			}
+			for (SettableFuture<T> future : waiting) {
+				if (failure == null) {
+					future.set(result);
+				} else {
+					future.setException(failure);
+				}
+			}
+		}
+	}
+}
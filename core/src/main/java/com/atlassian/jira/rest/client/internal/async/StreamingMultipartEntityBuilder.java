@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.EntityBuilder;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.UploadProgressListener;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import com.google.common.io.InputSupplier;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Builds a <code>multipart/form-data</code> entity whose parts are read from their sources only while the request
+ * body is being sent. Unlike {@link com.atlassian.httpclient.apache.httpcomponents.MultiPartEntityBuilder}, which
+ * writes the whole entity to a byte array first, memory use does not depend on the size of the parts.
+ *
+ * @since v3.0
+ */
+class StreamingMultipartEntityBuilder implements EntityBuilder {
+
+	private static final String CRLF = "\r\n";
+	private static final String TWO_DASHES = "--";
+	private static final char[] BOUNDARY_CHARS = "-_1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+	private final Charset charset;
+	private final String boundary;
+	@Nullable
+	private final UploadProgressListener progressListener;
+	private final List<Part> parts = Lists.newArrayList();
+
+	StreamingMultipartEntityBuilder(final Charset charset, @Nullable final UploadProgressListener progressListener) {
+		this.charset = charset;
+		this.boundary = generateBoundary();
+		this.progressListener = progressListener;
+	}
+
+	StreamingMultipartEntityBuilder addPart(final String name, final File file) {
+		parts.add(new Part(name, file.getName(), file.length(), Files.newInputStreamSupplier(file)));
+		return this;
+	}
+
+	StreamingMultipartEntityBuilder addPart(final String name, final String filename, final FileChannel channel) {
+		final long length;
+		try {
+			length = channel.size() - channel.position();
+		} catch (IOException e) {
+			throw new RestClientException(e);
+		}
+		parts.add(new Part(name, filename, length, new InputSupplier<InputStream>() {
+			@Override
+			public InputStream getInput() {
+				// the channel belongs to the caller, so it must stay open after the upload
+				return new FilterInputStream(Channels.newInputStream(channel)) {
+					@Override
+					public void close() {
+					}
+				};
+			}
+		}));
+		return this;
+	}
+
+	StreamingMultipartEntityBuilder addPart(final String name, final String filename, final InputStream inputStream) {
+		parts.add(new Part(name, filename, -1, new InputSupplier<InputStream>() {
+			@Override
+			public InputStream getInput() {
+				return inputStream;
+			}
+		}));
+		return this;
+	}
+
+	@Override
+	public Entity build() {
+		final List<InputSupplier<? extends InputStream>> suppliers = Lists.newArrayListWithCapacity(parts.size() * 3 + 1);
+		for (final Part part : parts) {
+			suppliers.add(ByteStreams.newInputStreamSupplier(partHeader(part)));
+			suppliers.add(part.content);
+			suppliers.add(ByteStreams.newInputStreamSupplier(CRLF.getBytes(charset)));
+		}
+		suppliers.add(ByteStreams.newInputStreamSupplier(trailer()));
+		final long totalBytes = getContentLength();
+
+		final InputStream body;
+		try {
+			body = ByteStreams.join(suppliers).getInput();
+		} catch (IOException e) {
+			throw new RestClientException(e);
+		}
+		final InputStream entityStream = progressListener != null
+				? new ProgressInputStream(body, progressListener, totalBytes) : body;
+		// no Content-Length: entity headers become request headers, and the transport refuses to send a request
+		// which already has one; it frames the body itself
+		final Map<String, String> entityHeaders = ImmutableMap.of("Content-Type", "multipart/form-data; boundary=" + boundary);
+		return new Entity() {
+			@Override
+			public Map<String, String> getHeaders() {
+				return entityHeaders;
+			}
+
+			@Override
+			public InputStream getInputStream() {
+				return entityStream;
+			}
+		};
+	}
+
+	/**
+	 * @return size of the body built by {@link #build()}, or -1 when a part of unknown length was added
+	 */
+	long getContentLength() {
+		long totalBytes = 0;
+		for (final Part part : parts) {
+			if (part.length < 0) {
+				return -1;
+			}
+			totalBytes += partHeader(part).length + part.length + CRLF.getBytes(charset).length;
+		}
+		return totalBytes + trailer().length;
+	}
+
+	private byte[] trailer() {
+		return (TWO_DASHES + boundary + TWO_DASHES + CRLF).getBytes(charset);
+	}
+
+	private byte[] partHeader(final Part part) {
+		return (TWO_DASHES + boundary + CRLF
+				+ "Content-Disposition: form-data; name=\"" + part.name + "\"; filename=\"" + part.filename + "\"" + CRLF
+				+ "Content-Type: application/octet-stream" + CRLF
+				+ CRLF).getBytes(charset);
+	}
+
+	private static String generateBoundary() {
+		final Random random = new Random();
+		final StringBuilder buffer = new StringBuilder();
+		final int count = random.nextInt(11) + 30;
+		for (int i = 0; i < count; i++) {
+			buffer.append(BOUNDARY_CHARS[random.nextInt(BOUNDARY_CHARS.length)]);
+		}
+		return buffer.toString();
+	}
+
+	private static class Part {
+		private final String name;
+		private final String filename;
+		private final long length;
+		private final InputSupplier<? extends InputStream> content;
+
+		private Part(final String name, final String filename, final long length,
+				final InputSupplier<? extends InputStream> content) {
+			this.name = name;
+			this.filename = filename;
+			this.length = length;
+			this.content = content;
+		}
+	}
+
+	private static class ProgressInputStream extends FilterInputStream {
+		private final UploadProgressListener listener;
+		private final long totalBytes;
+		private long bytesSent;
+
+		private ProgressInputStream(final InputStream in, final UploadProgressListener listener, final long totalBytes) {
+			super(in);
+			this.listener = listener;
+			this.totalBytes = totalBytes;
+		}
+
+		@Override
+		public int read() throws IOException {
+			final int result = super.read();
+			if (result >= 0) {
+				bytesSent++;
+				listener.progress(bytesSent, totalBytes);
+			}
+			return result;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			final int count = super.read(b, off, len);
+			if (count > 0) {
+				bytesSent += count;
+				listener.progress(bytesSent, totalBytes);
+			}
+			return count;
+		}
+
+		@Override
+		public long skip(final long n) throws IOException {
+			final long skipped = super.skip(n);
+			if (skipped > 0) {
+				bytesSent += skipped;
+				listener.progress(bytesSent, totalBytes);
+			}
+			return skipped;
+		}
+	}
+}
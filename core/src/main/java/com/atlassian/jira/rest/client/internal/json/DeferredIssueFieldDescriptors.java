@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.atlassian.jira.rest.client.api.domain.IssueFieldDescriptor;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Descriptor table for issues parsed before the <code>names</code> and <code>schema</code> sections of a response,
+ * which JIRA writes after the issues. It hands out one placeholder per field, shared by all issues of the response,
+ * and {@link #resolve(IssueFieldDescriptors)} gives the placeholders their names and types once the sections are
+ * read, so that issues need not be built again. Not thread safe, meant to be used while parsing a single response.
+ *
+ * @since v3.0
+ */
+class DeferredIssueFieldDescriptors extends IssueFieldDescriptors {
+
+	private final Map<String, DeferredDescriptor> descriptors = Maps.newHashMap();
+
+	DeferredIssueFieldDescriptors() {
+		super(ImmutableMap.<String, IssueFieldDescriptor>of());
+	}
+
+	@Override
+	public IssueFieldDescriptor get(final String id) {
+		DeferredDescriptor descriptor = descriptors.get(id);
+		if (descriptor == null) {
+			descriptor = new DeferredDescriptor(id);
+			descriptors.put(id, descriptor);
+		}
+		return descriptor;
+	}
+
+	@Override
+	public int size() {
+		return descriptors.size();
+	}
+
+	void resolve(final IssueFieldDescriptors resolved) {
+		for (DeferredDescriptor descriptor : descriptors.values()) {
+			descriptor.resolved = resolved.get(descriptor.getId());
+		}
+	}
+
+	private static class DeferredDescriptor extends IssueFieldDescriptor {
+		// set before the parsed issues are handed out, which publishes it along with them
+		@Nullable
+		private IssueFieldDescriptor resolved;
+
+		private DeferredDescriptor(final String id) {
+			super(id, null, null);
+		}
+
+		@Nullable
+		@Override
+		public String getName() {
+			return resolved != null ? resolved.getName() : null;
+		}
+
+		@Nullable
+		@Override
+		public String getType() {
+			return resolved != null ? resolved.getType() : null;
+		}
+	}
+}
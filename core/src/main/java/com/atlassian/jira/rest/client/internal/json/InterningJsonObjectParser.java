@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.google.common.base.Function;
+import com.google.common.base.Objects;
+import com.google.common.collect.Interner;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import javax.annotation.Nullable;
+
+/**
+ * Replaces entities built by the delegate parser with equal instances met before, so that entities repeated across
+ * a response (projects, statuses, users...) are held in memory only once.
+ * <p>
+ * For entities whose {@code equals()} ignores some fields, give a function returning the values of those fields:
+ * an instance met before is handed back only when they are equal too, so it never differs from what the delegate
+ * parsed.
+ *
+ * @since v3.0
+ */
+class InterningJsonObjectParser<T> implements JsonObjectParser<T> {
+
+	private final JsonObjectParser<T> delegate;
+	private final Interner<Object> interner;
+	@Nullable
+	private final Function<? super T, ?> fieldsIgnoredByEquals;
+
+	InterningJsonObjectParser(final JsonObjectParser<T> delegate, final Interner<Object> interner,
+			@Nullable final Function<? super T, ?> fieldsIgnoredByEquals) {
+		this.delegate = delegate;
+		this.interner = interner;
+		this.fieldsIgnoredByEquals = fieldsIgnoredByEquals;
+	}
+
+	static <T> JsonObjectParser<T> interning(final JsonObjectParser<T> delegate, final Interner<Object> interner) {
+		return new InterningJsonObjectParser<T>(delegate, interner, null);
+	}
+
+	static <T> JsonObjectParser<T> interning(final JsonObjectParser<T> delegate, final Interner<Object> interner,
+			final Function<? super T, ?> fieldsIgnoredByEquals) {
+		return new InterningJsonObjectParser<T>(delegate, interner, fieldsIgnoredByEquals);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T parse(final JSONObject json) throws JSONException {
+		final T entity = delegate.parse(json);
+		if (entity == null) {
+			return null;
+		}
+		final Object interned = interner.intern(entity);
+		// equals() of some entities accepts subclasses, which must not be handed out in place of each other
+		if (interned.getClass() != entity.getClass()) {
+			return entity;
+		}
+		if (fieldsIgnoredByEquals != null
+				&& !Objects.equal(fieldsIgnoredByEquals.apply((T) interned), fieldsIgnoredByEquals.apply(entity))) {
+			return entity;
+		}
+		return (T) interned;
+	}
+}
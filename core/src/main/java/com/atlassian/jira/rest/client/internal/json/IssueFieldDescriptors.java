@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.atlassian.jira.rest.client.api.domain.IssueFieldDescriptor;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Immutable table of {@link IssueFieldDescriptor}s built from <code>names</code> and <code>schema</code> sections
+ * of a response. It is meant to be built once per response and shared by all issues parsed from it.
+ *
+ * @since v3.0
+ */
+public class IssueFieldDescriptors {
+
+	public static final IssueFieldDescriptors EMPTY = new IssueFieldDescriptors(ImmutableMap.<String, IssueFieldDescriptor>of());
+
+	private static final String TYPE_ATTR = "type";
+
+	private final ImmutableMap<String, IssueFieldDescriptor> descriptors;
+
+	IssueFieldDescriptors(final ImmutableMap<String, IssueFieldDescriptor> descriptors) {
+		this.descriptors = descriptors;
+	}
+
+	public static IssueFieldDescriptors create(@Nullable final JSONObject names, @Nullable final JSONObject schema)
+			throws JSONException {
+		if (names == null && schema == null) {
+			return EMPTY;
+		}
+		final Set<String> ids = Sets.newLinkedHashSet();
+		addKeys(ids, names);
+		addKeys(ids, schema);
+
+		final ImmutableMap.Builder<String, IssueFieldDescriptor> builder = ImmutableMap.builder();
+		for (final String id : ids) {
+			final String name = names != null ? JsonParseUtil.getOptionalString(names, id) : null;
+			final JSONObject fieldSchema = schema != null ? schema.optJSONObject(id) : null;
+			final String type = fieldSchema != null ? fieldSchema.getString(TYPE_ATTR) : null;
+			builder.put(id, new IssueFieldDescriptor(id, name, type));
+		}
+		return new IssueFieldDescriptors(builder.build());
+	}
+
+	private static void addKeys(final Set<String> ids, @Nullable final JSONObject json) {
+		if (json != null) {
+			final Iterator<String> iterator = JsonParseUtil.getStringKeys(json);
+			while (iterator.hasNext()) {
+				ids.add(iterator.next());
+			}
+		}
+	}
+
+	/**
+	 * @param id field id
+	 * @return shared descriptor of given field, or a new descriptor carrying just the id when the field is not
+	 *         described by this table
+	 */
+	public IssueFieldDescriptor get(final String id) {
+		final IssueFieldDescriptor descriptor = descriptors.get(id);
+		return descriptor != null ? descriptor : new IssueFieldDescriptor(id, null, null);
+	}
+
+	public int size() {
+		return descriptors.size();
+	}
+}
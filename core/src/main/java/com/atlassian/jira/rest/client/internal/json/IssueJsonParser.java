@@ -38,8 +38,9 @@ import com.atlassian.jira.rest.client.api.domain.TimeTracking;
 import com.atlassian.jira.rest.client.api.domain.User;
 import com.atlassian.jira.rest.client.api.domain.Version;
 import com.atlassian.jira.rest.client.api.domain.Worklog;
+import com.google.common.base.Function;
 import com.google.common.base.Splitter;
-import com.google.common.collect.Maps;
+import com.google.common.collect.Interner;
 import com.google.common.collect.Sets;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
@@ -50,11 +51,10 @@ import javax.annotation.Nullable;
 import javax.ws.rs.core.UriBuilder;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Set;
 
 import static com.atlassian.jira.rest.client.api.domain.IssueFieldId.AFFECTS_VERSIONS_FIELD;
@@ -82,7 +82,6 @@ import static com.atlassian.jira.rest.client.api.domain.IssueFieldId.VOTES_FIELD
 import static com.atlassian.jira.rest.client.api.domain.IssueFieldId.WATCHER_FIELD;
 import static com.atlassian.jira.rest.client.api.domain.IssueFieldId.WORKLOGS_FIELD;
 import static com.atlassian.jira.rest.client.api.domain.IssueFieldId.WORKLOG_FIELD;
-import static com.atlassian.jira.rest.client.internal.json.JsonParseUtil.getStringKeys;
 import static com.atlassian.jira.rest.client.internal.json.JsonParseUtil.parseOptionalJsonObject;
 
 public class IssueJsonParser implements JsonObjectParser<Issue> {
@@ -95,17 +94,17 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
 	private final BasicIssueJsonParser basicIssueJsonParser = new BasicIssueJsonParser();
 	private final IssueLinkJsonParserV5 issueLinkJsonParserV5 = new IssueLinkJsonParserV5();
 	private final BasicVotesJsonParser votesJsonParser = new BasicVotesJsonParser();
-	private final StatusJsonParser statusJsonParser = new StatusJsonParser();
+	private final JsonObjectParser<Status> statusJsonParser;
 	private final JsonObjectParser<BasicWatchers> watchersJsonParser = WatchersJsonParserBuilder.createBasicWatchersParser();
-	private final VersionJsonParser versionJsonParser = new VersionJsonParser();
-	private final BasicComponentJsonParser basicComponentJsonParser = new BasicComponentJsonParser();
+	private final JsonObjectParser<Version> versionJsonParser;
+	private final JsonObjectParser<BasicComponent> basicComponentJsonParser;
 	private final AttachmentJsonParser attachmentJsonParser = new AttachmentJsonParser();
 	private final CommentJsonParser commentJsonParser = new CommentJsonParser();
-	private final IssueTypeJsonParser issueTypeJsonParser = new IssueTypeJsonParser();
-	private final BasicProjectJsonParser projectJsonParser = new BasicProjectJsonParser();
-	private final BasicPriorityJsonParser priorityJsonParser = new BasicPriorityJsonParser();
-	private final ResolutionJsonParser resolutionJsonParser = new ResolutionJsonParser();
-	private final UserJsonParser userJsonParser = new UserJsonParser();
+	private final JsonObjectParser<IssueType> issueTypeJsonParser;
+	private final JsonObjectParser<BasicProject> projectJsonParser;
+	private final JsonObjectParser<BasicPriority> priorityJsonParser;
+	private final JsonObjectParser<Resolution> resolutionJsonParser;
+	private final JsonObjectParser<User> userJsonParser;
 	private final SubtaskJsonParser subtaskJsonParser = new SubtaskJsonParser();
 	private final ChangelogJsonParser changelogJsonParser = new ChangelogJsonParser();
 	private final OperationsJsonParser operationsJsonParser = new OperationsJsonParser();
@@ -114,17 +113,93 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
 	private static final String FIELDS = "fields";
 	private static final String VALUE_ATTR = "value";
 
-	private final JSONObject providedNames;
-	private final JSONObject providedSchema;
+	// fields ignored by equals() of priorities and users, which must match as well for an instance to be shared
+	private static final Function<BasicPriority, Object> PRIORITY_ID = new Function<BasicPriority, Object>() {
+		@Override
+		public Object apply(final BasicPriority priority) {
+			return priority.getId();
+		}
+	};
+
+	private static final Function<User, Object> USER_GROUPS_AND_TIMEZONE = new Function<User, Object>() {
+		@Override
+		public Object apply(final User user) {
+			return Arrays.asList(user.getGroups(), user.getTimezone());
+		}
+	};
+
+	@Nullable
+	private final IssueFieldDescriptors providedFieldDescriptors;
+	private final boolean projection;
 
 	public IssueJsonParser() {
-		providedNames = null;
-		providedSchema = null;
+		this(null, false);
 	}
 
+	/**
+	 * @throws IllegalArgumentException when given schema does not describe the type of some field
+	 */
 	public IssueJsonParser(final JSONObject providedNames, final JSONObject providedSchema) {
-		this.providedNames = providedNames;
-		this.providedSchema = providedSchema;
+		this(createDescriptors(providedNames, providedSchema));
+	}
+
+	/**
+	 * @param providedFieldDescriptors descriptors of fields shared by all issues parsed with this parser, used instead
+	 *                                 of <code>names</code> and <code>schema</code> sections of every single issue
+	 */
+	public IssueJsonParser(final IssueFieldDescriptors providedFieldDescriptors) {
+		this(providedFieldDescriptors, false);
+	}
+
+	/**
+	 * @param providedFieldDescriptors descriptors of fields shared by all issues parsed with this parser, or
+	 *                                 <code>null</code> to use <code>names</code> and <code>schema</code> sections
+	 *                                 of every single issue
+	 * @param projection               when <code>true</code> issues are expected to carry only some of their fields
+	 *                                 (as requested with the <code>fields</code> parameter), so fields otherwise
+	 *                                 required by {@link Issue} are parsed as <code>null</code> when absent
+	 * @since v3.0
+	 */
+	public IssueJsonParser(@Nullable final IssueFieldDescriptors providedFieldDescriptors, final boolean projection) {
+		this(providedFieldDescriptors, projection, null);
+	}
+
+	/**
+	 * @param providedFieldDescriptors see {@link #IssueJsonParser(IssueFieldDescriptors, boolean)}
+	 * @param projection               see {@link #IssueJsonParser(IssueFieldDescriptors, boolean)}
+	 * @param interner                 when given, projects, issue types, statuses, resolutions, versions,
+	 *                                 components, priorities and users of parsed issues are canonicalized with it,
+	 *                                 so equal entities are shared instead of being held once per issue
+	 * @since v3.0
+	 */
+	public IssueJsonParser(@Nullable final IssueFieldDescriptors providedFieldDescriptors, final boolean projection,
+			@Nullable final Interner<Object> interner) {
+		this.providedFieldDescriptors = providedFieldDescriptors;
+		this.projection = projection;
+		this.statusJsonParser = canonicalizing(new StatusJsonParser(), interner);
+		this.versionJsonParser = canonicalizing(new VersionJsonParser(), interner);
+		this.basicComponentJsonParser = canonicalizing(new BasicComponentJsonParser(), interner);
+		this.issueTypeJsonParser = canonicalizing(new IssueTypeJsonParser(), interner);
+		this.projectJsonParser = canonicalizing(new BasicProjectJsonParser(), interner);
+		this.resolutionJsonParser = canonicalizing(new ResolutionJsonParser(), interner);
+		this.priorityJsonParser = interner != null
+				? InterningJsonObjectParser.interning(new BasicPriorityJsonParser(), interner, PRIORITY_ID)
+				: new BasicPriorityJsonParser();
+		this.userJsonParser = interner != null
+				? InterningJsonObjectParser.interning(new UserJsonParser(), interner, USER_GROUPS_AND_TIMEZONE)
+				: new UserJsonParser();
+	}
+
+	private static IssueFieldDescriptors createDescriptors(final JSONObject names, final JSONObject schema) {
+		try {
+			return IssueFieldDescriptors.create(names, schema);
+		} catch (JSONException e) {
+			throw new IllegalArgumentException("Invalid schema section: " + e.getMessage(), e);
+		}
+	}
+
+	private static <T> JsonObjectParser<T> canonicalizing(final JsonObjectParser<T> parser, @Nullable final Interner<Object> interner) {
+		return interner != null ? InterningJsonObjectParser.interning(parser, interner) : parser;
 	}
 
 	static Iterable<String> parseExpandos(final JSONObject json) throws JSONException {
@@ -209,47 +284,178 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
 
 	@Override
 	public Issue parse(final JSONObject issueJson) throws JSONException {
+		prepareProjection(issueJson);
 		final BasicIssue basicIssue = basicIssueJsonParser.parse(issueJson);
-		final Iterable<String> expandos = parseExpandos(issueJson);
-		final JSONObject jsonFields = issueJson.getJSONObject(FIELDS);
-		final JSONObject commentsJson = jsonFields.optJSONObject(COMMENT_FIELD.id);
-		final Collection<Comment> comments = (commentsJson == null) ? Collections.<Comment>emptyList()
-				: parseArray(commentsJson, new JsonWeakParserForJsonObject<Comment>(commentJsonParser), "comments");
+		final URI selfUri = basicIssue.getSelf();
+		return new Issue(parseSummary(issueJson), selfUri, basicIssue.getKey(), basicIssue.getId(), parseProject(issueJson),
+				parseIssueType(issueJson), parseStatus(issueJson), parseDescription(issueJson), parsePriority(issueJson),
+				parseResolution(issueJson), parseAttachments(issueJson), parseReporter(issueJson), parseAssignee(issueJson),
+				parseCreationDate(issueJson), parseUpdateDate(issueJson), parseDueDate(issueJson),
+				parseAffectedVersions(issueJson), parseFixVersions(issueJson), parseComponents(issueJson),
+				parseTimeTracking(issueJson), parseFields(issueJson), parseComments(issueJson),
+				parseTransitionsUri(issueJson, selfUri), parseIssueLinks(issueJson), parseVotes(issueJson),
+				parseWorklogs(issueJson, selfUri), parseWatchers(issueJson), parseExpandos(issueJson),
+				parseSubtasks(issueJson), parseChangelog(issueJson), parseOperations(issueJson), parseLabels(issueJson));
+	}
+
+	/**
+	 * Parses only the identity of given issue (self, key and id). Every other section is parsed from given JSON
+	 * on its first access and then remembered, which is much cheaper when callers read just a few attributes.
+	 * Problems with sections found on access are reported as {@link com.atlassian.jira.rest.client.api.RestClientException}.
+	 *
+	 * @param issueJson JSON of the issue, must not be modified afterwards
+	 * @return issue with lazily parsed sections
+	 * @since v3.0
+	 */
+	public Issue parseLazily(final JSONObject issueJson) throws JSONException {
+		prepareProjection(issueJson);
+		return new LazyIssue(this, issueJson, basicIssueJsonParser.parse(issueJson));
+	}
+
+	/**
+	 * @return view of this parser which builds issues with {@link #parseLazily(JSONObject)}
+	 * @since v3.0
+	 */
+	public JsonObjectParser<Issue> lazily() {
+		return new JsonObjectParser<Issue>() {
+			@Override
+			public Issue parse(final JSONObject json) throws JSONException {
+				return parseLazily(json);
+			}
+		};
+	}
+
+	/**
+	 * JIRA leaves out the whole <code>fields</code> object when none of the requested fields is available.
+	 */
+	private void prepareProjection(final JSONObject issueJson) throws JSONException {
+		if (projection && !issueJson.has(FIELDS)) {
+			issueJson.put(FIELDS, new JSONObject());
+		}
+	}
 
-		final String summary = getFieldStringValue(issueJson, SUMMARY_FIELD.id);
-		final String description = getOptionalFieldStringUnisex(issueJson, DESCRIPTION_FIELD.id);
+	/**
+	 * @return <code>true</code> when in projection mode and given field was not retrieved
+	 */
+	private boolean isNotProjected(final JSONObject issueJson, final String fieldId) throws JSONException {
+		return projection && !issueJson.getJSONObject(FIELDS).has(fieldId);
+	}
+
+	String parseSummary(final JSONObject issueJson) throws JSONException {
+		if (isNotProjected(issueJson, SUMMARY_FIELD.id)) {
+			return null;
+		}
+		return getFieldStringValue(issueJson, SUMMARY_FIELD.id);
+	}
+
+	@Nullable
+	String parseDescription(final JSONObject issueJson) throws JSONException {
+		return getOptionalFieldStringUnisex(issueJson, DESCRIPTION_FIELD.id);
+	}
 
-		final Collection<Attachment> attachments = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Attachment>(attachmentJsonParser), FIELDS, ATTACHMENT_FIELD.id);
-		final Collection<IssueField> fields = parseFields(issueJson);
+	BasicProject parseProject(final JSONObject issueJson) throws JSONException {
+		if (isNotProjected(issueJson, PROJECT_FIELD.id)) {
+			return null;
+		}
+		return projectJsonParser.parse(getFieldUnisex(issueJson, PROJECT_FIELD.id));
+	}
 
-		final IssueType issueType = issueTypeJsonParser.parse(getFieldUnisex(issueJson, ISSUE_TYPE_FIELD.id));
-		final DateTime creationDate = JsonParseUtil.parseDateTime(getFieldStringUnisex(issueJson, CREATED_FIELD.id));
-		final DateTime updateDate = JsonParseUtil.parseDateTime(getFieldStringUnisex(issueJson, UPDATED_FIELD.id));
+	IssueType parseIssueType(final JSONObject issueJson) throws JSONException {
+		if (isNotProjected(issueJson, ISSUE_TYPE_FIELD.id)) {
+			return null;
+		}
+		return issueTypeJsonParser.parse(getFieldUnisex(issueJson, ISSUE_TYPE_FIELD.id));
+	}
+
+	Status parseStatus(final JSONObject issueJson) throws JSONException {
+		if (isNotProjected(issueJson, STATUS_FIELD.id)) {
+			return null;
+		}
+		return statusJsonParser.parse(getFieldUnisex(issueJson, STATUS_FIELD.id));
+	}
+
+	@Nullable
+	BasicPriority parsePriority(final JSONObject issueJson) throws JSONException {
+		return getOptionalNestedField(issueJson, PRIORITY_FIELD.id, priorityJsonParser);
+	}
+
+	@Nullable
+	Resolution parseResolution(final JSONObject issueJson) throws JSONException {
+		return getOptionalNestedField(issueJson, RESOLUTION_FIELD.id, resolutionJsonParser);
+	}
+
+	@Nullable
+	User parseAssignee(final JSONObject issueJson) throws JSONException {
+		return getOptionalNestedField(issueJson, ASSIGNEE_FIELD.id, userJsonParser);
+	}
 
+	@Nullable
+	User parseReporter(final JSONObject issueJson) throws JSONException {
+		return getOptionalNestedField(issueJson, REPORTER_FIELD.id, userJsonParser);
+	}
+
+	DateTime parseCreationDate(final JSONObject issueJson) throws JSONException {
+		if (isNotProjected(issueJson, CREATED_FIELD.id)) {
+			return null;
+		}
+		return JsonParseUtil.parseDateTime(getFieldStringUnisex(issueJson, CREATED_FIELD.id));
+	}
+
+	DateTime parseUpdateDate(final JSONObject issueJson) throws JSONException {
+		if (isNotProjected(issueJson, UPDATED_FIELD.id)) {
+			return null;
+		}
+		return JsonParseUtil.parseDateTime(getFieldStringUnisex(issueJson, UPDATED_FIELD.id));
+	}
+
+	@Nullable
+	DateTime parseDueDate(final JSONObject issueJson) throws JSONException {
 		final String dueDateString = getOptionalFieldStringUnisex(issueJson, DUE_DATE_FIELD.id);
-		final DateTime dueDate = dueDateString == null ? null : JsonParseUtil.parseDateTimeOrDate(dueDateString);
+		return dueDateString == null ? null : JsonParseUtil.parseDateTimeOrDate(dueDateString);
+	}
 
-		final BasicPriority priority = getOptionalNestedField(issueJson, PRIORITY_FIELD.id, priorityJsonParser);
-		final Resolution resolution = getOptionalNestedField(issueJson, RESOLUTION_FIELD.id, resolutionJsonParser);
-		final User assignee = getOptionalNestedField(issueJson, ASSIGNEE_FIELD.id, userJsonParser);
-		final User reporter = getOptionalNestedField(issueJson, REPORTER_FIELD.id, userJsonParser);
+	Collection<Comment> parseComments(final JSONObject issueJson) throws JSONException {
+		final JSONObject commentsJson = issueJson.getJSONObject(FIELDS).optJSONObject(COMMENT_FIELD.id);
+		return (commentsJson == null) ? Collections.<Comment>emptyList()
+				: parseArray(commentsJson, new JsonWeakParserForJsonObject<Comment>(commentJsonParser), "comments");
+	}
 
-		final BasicProject project = projectJsonParser.parse(getFieldUnisex(issueJson, PROJECT_FIELD.id));
-		final Collection<IssueLink> issueLinks;
-		issueLinks = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<IssueLink>(issueLinkJsonParserV5), FIELDS, LINKS_FIELD.id);
+	@Nullable
+	Collection<Attachment> parseAttachments(final JSONObject issueJson) throws JSONException {
+		return parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Attachment>(attachmentJsonParser), FIELDS, ATTACHMENT_FIELD.id);
+	}
 
-		Collection<Subtask> subtasks = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Subtask>(subtaskJsonParser), FIELDS, SUBTASKS_FIELD.id);
+	@Nullable
+	Collection<IssueLink> parseIssueLinks(final JSONObject issueJson) throws JSONException {
+		return parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<IssueLink>(issueLinkJsonParserV5), FIELDS, LINKS_FIELD.id);
+	}
 
-		final BasicVotes votes = getOptionalNestedField(issueJson, VOTES_FIELD.id, votesJsonParser);
-		final Status status = statusJsonParser.parse(getFieldUnisex(issueJson, STATUS_FIELD.id));
+	@Nullable
+	Collection<Subtask> parseSubtasks(final JSONObject issueJson) throws JSONException {
+		return parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Subtask>(subtaskJsonParser), FIELDS, SUBTASKS_FIELD.id);
+	}
 
-		final Collection<Version> fixVersions = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Version>(versionJsonParser), FIELDS, FIX_VERSIONS_FIELD.id);
-		final Collection<Version> affectedVersions = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Version>(versionJsonParser), FIELDS, AFFECTS_VERSIONS_FIELD.id);
-		final Collection<BasicComponent> components = parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<BasicComponent>(basicComponentJsonParser), FIELDS, COMPONENTS_FIELD.id);
+	@Nullable
+	BasicVotes parseVotes(final JSONObject issueJson) throws JSONException {
+		return getOptionalNestedField(issueJson, VOTES_FIELD.id, votesJsonParser);
+	}
 
-		final Collection<Worklog> worklogs;
-		final URI selfUri = basicIssue.getSelf();
+	@Nullable
+	Collection<Version> parseFixVersions(final JSONObject issueJson) throws JSONException {
+		return parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Version>(versionJsonParser), FIELDS, FIX_VERSIONS_FIELD.id);
+	}
 
+	@Nullable
+	Collection<Version> parseAffectedVersions(final JSONObject issueJson) throws JSONException {
+		return parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<Version>(versionJsonParser), FIELDS, AFFECTS_VERSIONS_FIELD.id);
+	}
+
+	@Nullable
+	Collection<BasicComponent> parseComponents(final JSONObject issueJson) throws JSONException {
+		return parseOptionalArray(issueJson, new JsonWeakParserForJsonObject<BasicComponent>(basicComponentJsonParser), FIELDS, COMPONENTS_FIELD.id);
+	}
+
+	URI parseTransitionsUri(final JSONObject issueJson, final URI selfUri) throws JSONException {
 		final String transitionsUriString;
 		if (issueJson.has(IssueFieldId.TRANSITIONS_FIELD.id)) {
 			Object transitionsObj = issueJson.get(IssueFieldId.TRANSITIONS_FIELD.id);
@@ -257,32 +463,42 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
 		} else {
 			transitionsUriString = getOptionalFieldStringUnisex(issueJson, IssueFieldId.TRANSITIONS_FIELD.id);
 		}
-		final URI transitionsUri = parseTransisionsUri(transitionsUriString, selfUri);
+		return parseTransisionsUri(transitionsUriString, selfUri);
+	}
 
+	Collection<Worklog> parseWorklogs(final JSONObject issueJson, final URI selfUri) throws JSONException {
 		if (JsonParseUtil.getNestedOptionalObject(issueJson, FIELDS, WORKLOG_FIELD.id) != null) {
-			worklogs = parseOptionalArray(issueJson,
+			return parseOptionalArray(issueJson,
 					new JsonWeakParserForJsonObject<Worklog>(new WorklogJsonParserV5(selfUri)),
 					FIELDS, WORKLOG_FIELD.id, WORKLOGS_FIELD.id);
 		} else {
-			worklogs = Collections.emptyList();
+			return Collections.emptyList();
 		}
+	}
 
+	@Nullable
+	BasicWatchers parseWatchers(final JSONObject issueJson) throws JSONException {
+		return getOptionalNestedField(issueJson, WATCHER_FIELD.id, watchersJsonParser);
+	}
 
-		final BasicWatchers watchers = getOptionalNestedField(issueJson, WATCHER_FIELD.id, watchersJsonParser);
-		final TimeTracking timeTracking = getOptionalNestedField(issueJson, TIMETRACKING_FIELD.id, new TimeTrackingJsonParserV5());
+	@Nullable
+	TimeTracking parseTimeTracking(final JSONObject issueJson) throws JSONException {
+		return getOptionalNestedField(issueJson, TIMETRACKING_FIELD.id, new TimeTrackingJsonParserV5());
+	}
 
-		final Set<String> labels = Sets
-				.newHashSet(parseOptionalArrayNotNullable(issueJson, jsonWeakParserForString, FIELDS, LABELS_FIELD.id));
+	Set<String> parseLabels(final JSONObject issueJson) throws JSONException {
+		return Sets.newHashSet(parseOptionalArrayNotNullable(issueJson, jsonWeakParserForString, FIELDS, LABELS_FIELD.id));
+	}
 
-		final Collection<ChangelogGroup> changelog = parseOptionalArray(
+	@Nullable
+	Collection<ChangelogGroup> parseChangelog(final JSONObject issueJson) throws JSONException {
+		return parseOptionalArray(
 				issueJson, new JsonWeakParserForJsonObject<ChangelogGroup>(changelogJsonParser), "changelog", "histories");
-		final Operations operations = parseOptionalJsonObject(issueJson, "operations", operationsJsonParser);
+	}
 
-		return new Issue(summary, selfUri, basicIssue.getKey(), basicIssue.getId(), project, issueType, status,
-				description, priority, resolution, attachments, reporter, assignee, creationDate, updateDate,
-				dueDate, affectedVersions, fixVersions, components, timeTracking, fields, comments,
-				transitionsUri, issueLinks,
-				votes, worklogs, watchers, expandos, subtasks, changelog, operations, labels);
+	@Nullable
+	Operations parseOperations(final JSONObject issueJson) throws JSONException {
+		return parseOptionalJsonObject(issueJson, "operations", operationsJsonParser);
 	}
 
 	private URI parseTransisionsUri(final String transitionsUriString, final URI selfUri) {
@@ -302,11 +518,9 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
 		return null;
 	}
 
-	private Collection<IssueField> parseFields(final JSONObject issueJson) throws JSONException {
-		final JSONObject names = (providedNames != null) ? providedNames : issueJson.optJSONObject(NAMES_SECTION);
-		final Map<String, String> namesMap = parseNames(names);
-		final JSONObject schema = (providedSchema != null) ? providedSchema : issueJson.optJSONObject(SCHEMA_SECTION);
-		final Map<String, String> typesMap = parseSchema(schema);
+	Collection<IssueField> parseFields(final JSONObject issueJson) throws JSONException {
+		final IssueFieldDescriptors descriptors = (providedFieldDescriptors != null) ? providedFieldDescriptors
+				: IssueFieldDescriptors.create(issueJson.optJSONObject(NAMES_SECTION), issueJson.optJSONObject(SCHEMA_SECTION));
 
 		final JSONObject json = issueJson.getJSONObject(FIELDS);
 		final ArrayList<IssueField> res = new ArrayList<IssueField>(json.length());
@@ -322,7 +536,7 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
 				// we should use fieldParser here (some new version as the old one probably won't work)
 				// enable IssueJsonParserTest#testParseIssueWithUserPickerCustomFieldFilledOut after fixing this
 				final Object value = json.opt(key);
-				res.add(new IssueField(key, namesMap.get(key), typesMap.get("key"), value != JSONObject.NULL ? value : null));
+				res.add(new IssueField(descriptors.get(key), value != JSONObject.NULL ? value : null));
 			} catch (final Exception e) {
 				throw new JSONException("Error while parsing [" + key + "] field: " + e.getMessage()) {
 					@Override
@@ -335,26 +549,4 @@ public class IssueJsonParser implements JsonObjectParser<Issue> {
 		return res;
 	}
 
-	private Map<String, String> parseSchema(final JSONObject json) throws JSONException {
-		final HashMap<String, String> res = Maps.newHashMap();
-		final Iterator<String> it = JsonParseUtil.getStringKeys(json);
-		while (it.hasNext()) {
-			final String fieldId = it.next();
-			JSONObject fieldDefinition = json.getJSONObject(fieldId);
-			res.put(fieldId, fieldDefinition.getString("type"));
-
-		}
-		return res;
-	}
-
-	private Map<String, String> parseNames(final JSONObject json) throws JSONException {
-		final HashMap<String, String> res = Maps.newHashMap();
-		final Iterator<String> iterator = getStringKeys(json);
-		while (iterator.hasNext()) {
-			final String key = iterator.next();
-			res.put(key, json.getString(key));
-		}
-		return res;
-	}
-
-}
\ No newline at end of file
+}
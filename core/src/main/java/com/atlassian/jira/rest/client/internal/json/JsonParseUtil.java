@@ -26,6 +26,7 @@ import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 import org.joda.time.DateTime;
+import org.joda.time.chrono.ISOChronology;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.ISODateTimeFormat;
@@ -42,6 +43,8 @@ public class JsonParseUtil {
 	public static final String JIRA_DATE_TIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
 	public static final DateTimeFormatter JIRA_DATE_TIME_FORMATTER = DateTimeFormat.forPattern(JIRA_DATE_TIME_PATTERN);
 	public static final DateTimeFormatter JIRA_DATE_FORMATTER = ISODateTimeFormat.date();
+	private static final int DATE_LENGTH = "yyyy-MM-dd".length();
+	private static final int DATE_TIME_LENGTH = "yyyy-MM-ddTHH:mm:ss.SSS+hhmm".length();
 	public static final String SELF_ATTR = "self";
 
 	public static <T> Collection<T> parseJsonArray(final JSONArray jsonArray, final JsonObjectParser<T> jsonParser)
@@ -211,38 +214,102 @@ public class JsonParseUtil {
 
 	public static DateTime parseDateTime(final String str) {
 		try {
-			return JIRA_DATE_TIME_FORMATTER.parseDateTime(str);
+			final DateTime dateTime = parseFixedLayoutDateTime(str);
+			return dateTime != null ? dateTime : JIRA_DATE_TIME_FORMATTER.parseDateTime(str);
 		} catch (Exception e) {
 			throw new RestClientException(e);
 		}
 	}
 
 	/**
-	 * Tries to parse date and time and return that. If fails then tries to parse date only.
+	 * Parses date and time, or date only when given string has no time part.
 	 *
 	 * @param str String contains either date and time or date only
 	 * @return date and time or date only
 	 */
 	public static DateTime parseDateTimeOrDate(final String str) {
-		try {
-			return JIRA_DATE_TIME_FORMATTER.parseDateTime(str);
-		} catch (Exception ignored) {
-			try {
-				return JIRA_DATE_FORMATTER.parseDateTime(str);
-			} catch (Exception e) {
-				throw new RestClientException(e);
-			}
-		}
+		return str.indexOf('T') >= 0 ? parseDateTime(str) : parseDate(str);
 	}
 
 	public static DateTime parseDate(final String str) {
 		try {
-			return JIRA_DATE_FORMATTER.parseDateTime(str);
+			final DateTime date = parseFixedLayoutDate(str);
+			return date != null ? date : JIRA_DATE_FORMATTER.parseDateTime(str);
 		} catch (Exception e) {
 			throw new RestClientException(e);
 		}
 	}
 
+	/**
+	 * Fast path for the exact layout of {@link #JIRA_DATE_TIME_PATTERN} which JIRA always uses, e.g.
+	 * <code>2010-08-15T16:35:00.000+0200</code>. Gives the same result as {@link #JIRA_DATE_TIME_FORMATTER}.
+	 *
+	 * @return parsed date and time, or <code>null</code> when given string does not have the exact layout
+	 */
+	@Nullable
+	private static DateTime parseFixedLayoutDateTime(final String str) {
+		if (str.length() != DATE_TIME_LENGTH || !hasDateSeparators(str) || str.charAt(10) != 'T'
+				|| str.charAt(13) != ':' || str.charAt(16) != ':' || str.charAt(19) != '.') {
+			return null;
+		}
+		final char sign = str.charAt(23);
+		final int offsetHours = parseDigits(str, 24, 2);
+		final int offsetMinutes = parseDigits(str, 26, 2);
+		final int year = parseDigits(str, 0, 4);
+		final int month = parseDigits(str, 5, 2);
+		final int day = parseDigits(str, 8, 2);
+		final int hour = parseDigits(str, 11, 2);
+		final int minute = parseDigits(str, 14, 2);
+		final int second = parseDigits(str, 17, 2);
+		final int millis = parseDigits(str, 20, 3);
+		if ((sign != '+' && sign != '-') || (offsetHours | offsetMinutes | year | month | day | hour | minute | second | millis) < 0) {
+			return null;
+		}
+		final long offsetMillis = (offsetHours * 60L + offsetMinutes) * 60000L;
+		final long localMillis = ISOChronology.getInstanceUTC().getDateTimeMillis(year, month, day, hour, minute, second, millis);
+		return new DateTime(sign == '+' ? localMillis - offsetMillis : localMillis + offsetMillis);
+	}
+
+	/**
+	 * Fast path for <code>yyyy-MM-dd</code> dates. Gives the same result as {@link #JIRA_DATE_FORMATTER}.
+	 *
+	 * @return start of given day in default time zone, or <code>null</code> when given string does not have
+	 *         the exact layout
+	 */
+	@Nullable
+	private static DateTime parseFixedLayoutDate(final String str) {
+		if (str.length() != DATE_LENGTH || !hasDateSeparators(str)) {
+			return null;
+		}
+		final int year = parseDigits(str, 0, 4);
+		final int month = parseDigits(str, 5, 2);
+		final int day = parseDigits(str, 8, 2);
+		if ((year | month | day) < 0) {
+			return null;
+		}
+		return new DateTime(year, month, day, 0, 0, 0, 0);
+	}
+
+	private static boolean hasDateSeparators(final String str) {
+		return str.charAt(4) == '-' && str.charAt(7) == '-';
+	}
+
+	/**
+	 * @return value of <code>count</code> decimal digits starting at <code>start</code>, or -1 when any of them
+	 *         is not a digit
+	 */
+	private static int parseDigits(final String str, final int start, final int count) {
+		int value = 0;
+		for (int i = start; i < start + count; i++) {
+			final char c = str.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
 	public static String formatDate(final DateTime dateTime) {
 		return JIRA_DATE_FORMATTER.print(dateTime);
 	}
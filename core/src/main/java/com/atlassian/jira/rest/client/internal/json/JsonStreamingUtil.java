@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Helpers for pull-parsing JSON documents with Jackson streaming API. Subtrees which still have to be handled
+ * by {@link JsonObjectParser}s are materialized as jettison objects, using the same value types
+ * (Integer, Long, Double, String, Boolean, {@link JSONObject#NULL}) as jettison's own tokenizer.
+ *
+ * @since v3.0
+ */
+public class JsonStreamingUtil {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	public static org.codehaus.jackson.JsonParser createParser(final InputStream inputStream) throws IOException {
+		return JSON_FACTORY.createJsonParser(inputStream);
+	}
+
+	public static void expectToken(final org.codehaus.jackson.JsonParser jp, final JsonToken expected)
+			throws JSONException {
+		final JsonToken current = jp.getCurrentToken();
+		if (current != expected) {
+			throw new JSONException("Expected " + expected + " but found " + current + " at " + jp.getCurrentLocation());
+		}
+	}
+
+	public static int readInt(final org.codehaus.jackson.JsonParser jp, final String attributeName)
+			throws JSONException, IOException {
+		if (jp.getCurrentToken() != JsonToken.VALUE_NUMBER_INT) {
+			throw new JSONException("JSONObject[\"" + attributeName + "\"] is not a number.");
+		}
+		return jp.getIntValue();
+	}
+
+	/**
+	 * Reads value starting at the current token. After this method returns the parser points at the last token
+	 * of the value (the closing token in case of objects and arrays).
+	 */
+	public static Object readValue(final org.codehaus.jackson.JsonParser jp) throws JSONException, IOException {
+		final JsonToken token = jp.getCurrentToken();
+		if (token == null) {
+			throw new JSONException("Unexpected end of JSON input");
+		}
+		switch (token) {
+			case START_OBJECT:
+				return readObject(jp);
+			case START_ARRAY:
+				return readArray(jp);
+			case VALUE_STRING:
+				return jp.getText();
+			case VALUE_NUMBER_INT:
+				switch (jp.getNumberType()) {
+					case INT:
+						return jp.getIntValue();
+					case LONG:
+						return jp.getLongValue();
+					default:
+						return jp.getDoubleValue();
+				}
+			case VALUE_NUMBER_FLOAT:
+				return jp.getDoubleValue();
+			case VALUE_TRUE:
+				return Boolean.TRUE;
+			case VALUE_FALSE:
+				return Boolean.FALSE;
+			case VALUE_NULL:
+				return JSONObject.NULL;
+			default:
+				throw new JSONException("Unexpected token " + token + " at " + jp.getCurrentLocation());
+		}
+	}
+
+	public static JSONObject readObject(final org.codehaus.jackson.JsonParser jp) throws JSONException, IOException {
+		expectToken(jp, JsonToken.START_OBJECT);
+		final JSONObject res = new JSONObject();
+		while (jp.nextToken() == JsonToken.FIELD_NAME) {
+			final String name = jp.getCurrentName();
+			jp.nextToken();
+			res.put(name, readValue(jp));
+		}
+		expectToken(jp, JsonToken.END_OBJECT);
+		return res;
+	}
+
+	public static JSONArray readArray(final org.codehaus.jackson.JsonParser jp) throws JSONException, IOException {
+		expectToken(jp, JsonToken.START_ARRAY);
+		final JSONArray res = new JSONArray();
+		while (jp.nextToken() != JsonToken.END_ARRAY) {
+			res.put(readValue(jp));
+		}
+		return res;
+	}
+}
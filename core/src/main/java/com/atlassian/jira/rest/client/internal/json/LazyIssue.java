@@ -0,0 +1,430 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.Attachment;
+import com.atlassian.jira.rest.client.api.domain.BasicComponent;
+import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.BasicPriority;
+import com.atlassian.jira.rest.client.api.domain.BasicProject;
+import com.atlassian.jira.rest.client.api.domain.BasicVotes;
+import com.atlassian.jira.rest.client.api.domain.BasicWatchers;
+import com.atlassian.jira.rest.client.api.domain.ChangelogGroup;
+import com.atlassian.jira.rest.client.api.domain.Comment;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.IssueField;
+import com.atlassian.jira.rest.client.api.domain.IssueLink;
+import com.atlassian.jira.rest.client.api.domain.IssueType;
+import com.atlassian.jira.rest.client.api.domain.Operations;
+import com.atlassian.jira.rest.client.api.domain.Resolution;
+import com.atlassian.jira.rest.client.api.domain.Status;
+import com.atlassian.jira.rest.client.api.domain.Subtask;
+import com.atlassian.jira.rest.client.api.domain.TimeTracking;
+import com.atlassian.jira.rest.client.api.domain.User;
+import com.atlassian.jira.rest.client.api.domain.Version;
+import com.atlassian.jira.rest.client.api.domain.Worklog;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.joda.time.DateTime;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link Issue} which keeps JSON of the issue and parses each of its sections on first access, see
+ * {@link IssueJsonParser#parseLazily(JSONObject)}. Parsed sections are published with compare-and-set, so concurrent
+ * readers always get the same instance even if a section happens to be parsed by more than one of them.
+ *
+ * @since v3.0
+ */
+class LazyIssue extends Issue {
+
+	private static final int SECTION_COUNT = Section.values().length;
+	// stands for parsed sections whose value is null, as null in the array means "not parsed yet"
+	private static final Object NULL_VALUE = new Object();
+
+	private final IssueJsonParser parser;
+	private final JSONObject issueJson;
+	private final AtomicReferenceArray<Object> sections = new AtomicReferenceArray<Object>(SECTION_COUNT);
+
+	LazyIssue(final IssueJsonParser parser, final JSONObject issueJson, final BasicIssue basicIssue) {
+		super(null, basicIssue.getSelf(), basicIssue.getKey(), basicIssue.getId(), null, null, null, null, null, null,
+				null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+				null, null, null, null, null);
+		this.parser = parser;
+		this.issueJson = issueJson;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T get(final Section section) {
+		final int index = section.ordinal();
+		Object value = sections.get(index);
+		if (value == null) {
+			final Object parsed;
+			try {
+				parsed = section.parse(parser, issueJson, getSelf());
+			} catch (JSONException e) {
+				throw new RestClientException(e);
+			}
+			sections.compareAndSet(index, null, parsed != null ? parsed : NULL_VALUE);
+			value = sections.get(index);
+		}
+		return value != NULL_VALUE ? (T) value : null;
+	}
+
+	@Override
+	public String getSummary() {
+		return this.<String>get(Section.SUMMARY);
+	}
+
+	@Nullable
+	@Override
+	public String getDescription() {
+		return this.<String>get(Section.DESCRIPTION);
+	}
+
+	@Override
+	public BasicProject getProject() {
+		return this.<BasicProject>get(Section.PROJECT);
+	}
+
+	@Override
+	public IssueType getIssueType() {
+		return this.<IssueType>get(Section.ISSUE_TYPE);
+	}
+
+	@Override
+	public Status getStatus() {
+		return this.<Status>get(Section.STATUS);
+	}
+
+	@Nullable
+	@Override
+	public BasicPriority getPriority() {
+		return this.<BasicPriority>get(Section.PRIORITY);
+	}
+
+	@Nullable
+	@Override
+	public Resolution getResolution() {
+		return this.<Resolution>get(Section.RESOLUTION);
+	}
+
+	@Nullable
+	@Override
+	public User getAssignee() {
+		return this.<User>get(Section.ASSIGNEE);
+	}
+
+	@Nullable
+	@Override
+	public User getReporter() {
+		return this.<User>get(Section.REPORTER);
+	}
+
+	@Override
+	public DateTime getCreationDate() {
+		return this.<DateTime>get(Section.CREATION_DATE);
+	}
+
+	@Override
+	public DateTime getUpdateDate() {
+		return this.<DateTime>get(Section.UPDATE_DATE);
+	}
+
+	@Override
+	public DateTime getDueDate() {
+		return this.<DateTime>get(Section.DUE_DATE);
+	}
+
+	@Override
+	public Iterable<IssueField> getFields() {
+		return this.<Iterable<IssueField>>get(Section.FIELDS);
+	}
+
+	@Override
+	public Iterable<Comment> getComments() {
+		return this.<Iterable<Comment>>get(Section.COMMENTS);
+	}
+
+	@Override
+	public Iterable<Attachment> getAttachments() {
+		return this.<Iterable<Attachment>>get(Section.ATTACHMENTS);
+	}
+
+	@Override
+	public Iterable<Worklog> getWorklogs() {
+		return this.<Iterable<Worklog>>get(Section.WORKLOGS);
+	}
+
+	@Nullable
+	@Override
+	public Iterable<IssueLink> getIssueLinks() {
+		return this.<Iterable<IssueLink>>get(Section.ISSUE_LINKS);
+	}
+
+	@Nullable
+	@Override
+	public Iterable<Subtask> getSubtasks() {
+		return this.<Iterable<Subtask>>get(Section.SUBTASKS);
+	}
+
+	@Nullable
+	@Override
+	public Iterable<Version> getFixVersions() {
+		return this.<Iterable<Version>>get(Section.FIX_VERSIONS);
+	}
+
+	@Nullable
+	@Override
+	public Iterable<Version> getAffectedVersions() {
+		return this.<Iterable<Version>>get(Section.AFFECTED_VERSIONS);
+	}
+
+	@Override
+	public Iterable<BasicComponent> getComponents() {
+		return this.<Iterable<BasicComponent>>get(Section.COMPONENTS);
+	}
+
+	@Nullable
+	@Override
+	public URI getTransitionsUri() {
+		return this.<URI>get(Section.TRANSITIONS_URI);
+	}
+
+	@Nullable
+	@Override
+	public BasicVotes getVotes() {
+		return this.<BasicVotes>get(Section.VOTES);
+	}
+
+	@Nullable
+	@Override
+	public BasicWatchers getWatchers() {
+		return this.<BasicWatchers>get(Section.WATCHERS);
+	}
+
+	@Nullable
+	@Override
+	public TimeTracking getTimeTracking() {
+		return this.<TimeTracking>get(Section.TIME_TRACKING);
+	}
+
+	@Override
+	public Set<String> getLabels() {
+		return this.<Set<String>>get(Section.LABELS);
+	}
+
+	@Nullable
+	@Override
+	public Iterable<ChangelogGroup> getChangelog() {
+		return this.<Iterable<ChangelogGroup>>get(Section.CHANGELOG);
+	}
+
+	@Nullable
+	@Override
+	public Operations getOperations() {
+		return this.<Operations>get(Section.OPERATIONS);
+	}
+
+	@Override
+	public Iterable<String> getExpandos() {
+		return this.<Iterable<String>>get(Section.EXPANDOS);
+	}
+
+	private enum Section {
+		SUMMARY {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseSummary(json);
+			}
+		},
+		DESCRIPTION {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseDescription(json);
+			}
+		},
+		PROJECT {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseProject(json);
+			}
+		},
+		ISSUE_TYPE {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseIssueType(json);
+			}
+		},
+		STATUS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseStatus(json);
+			}
+		},
+		PRIORITY {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parsePriority(json);
+			}
+		},
+		RESOLUTION {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseResolution(json);
+			}
+		},
+		ASSIGNEE {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseAssignee(json);
+			}
+		},
+		REPORTER {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseReporter(json);
+			}
+		},
+		CREATION_DATE {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseCreationDate(json);
+			}
+		},
+		UPDATE_DATE {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseUpdateDate(json);
+			}
+		},
+		DUE_DATE {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseDueDate(json);
+			}
+		},
+		FIELDS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseFields(json);
+			}
+		},
+		COMMENTS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseComments(json);
+			}
+		},
+		ATTACHMENTS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseAttachments(json);
+			}
+		},
+		WORKLOGS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseWorklogs(json, self);
+			}
+		},
+		ISSUE_LINKS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseIssueLinks(json);
+			}
+		},
+		SUBTASKS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseSubtasks(json);
+			}
+		},
+		FIX_VERSIONS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseFixVersions(json);
+			}
+		},
+		AFFECTED_VERSIONS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseAffectedVersions(json);
+			}
+		},
+		COMPONENTS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseComponents(json);
+			}
+		},
+		TRANSITIONS_URI {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseTransitionsUri(json, self);
+			}
+		},
+		VOTES {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseVotes(json);
+			}
+		},
+		WATCHERS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseWatchers(json);
+			}
+		},
+		TIME_TRACKING {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseTimeTracking(json);
+			}
+		},
+		LABELS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseLabels(json);
+			}
+		},
+		CHANGELOG {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseChangelog(json);
+			}
+		},
+		OPERATIONS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return parser.parseOperations(json);
+			}
+		},
+		EXPANDOS {
+			@Override
+			Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException {
+				return IssueJsonParser.parseExpandos(json);
+			}
+		};
+
+		abstract Object parse(IssueJsonParser parser, JSONObject json, URI self) throws JSONException;
+	}
+}
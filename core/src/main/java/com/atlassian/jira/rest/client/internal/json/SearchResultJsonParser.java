@@ -18,29 +18,208 @@ package com.atlassian.jira.rest.client.internal.json;
 
 import com.atlassian.jira.rest.client.api.domain.Issue;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.codehaus.jackson.JsonToken;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
-public class SearchResultJsonParser implements JsonObjectParser<SearchResult> {
+/**
+ * Parses search results. When used as a {@link StreamingJsonParser} issues are built one by one straight from
+ * the response stream, so only a single issue subtree is held in memory at a time.
+ * <p/>
+ * When built with <code>lazyIssues</code> set, issues are created with {@link IssueJsonParser#parseLazily(JSONObject)}
+ * and keep their JSON until all their sections are accessed.
+ * <p/>
+ * Projects, issue types, statuses, users and other entities repeated across the issues of a response are parsed
+ * into shared instances. By default equal entities are shared within a single response only; an interner passed to
+ * {@link #SearchResultJsonParser(boolean, boolean, Interner)} extends that to all responses parsed with it.
+ */
+public class SearchResultJsonParser implements JsonObjectParser<SearchResult>, StreamingJsonParser<SearchResult> {
+
+	private static final String START_AT_ATTR = "startAt";
+	private static final String MAX_RESULTS_ATTR = "maxResults";
+	private static final String TOTAL_ATTR = "total";
+	private static final String ISSUES_ATTR = "issues";
+
+	private final boolean lazyIssues;
+	private final boolean projection;
+	@Nullable
+	private final Interner<Object> sharedInterner;
+
+	public SearchResultJsonParser() {
+		this(false);
+	}
+
+	/**
+	 * @param lazyIssues whether sections of returned issues are parsed on first access instead of up front
+	 * @since v3.0
+	 */
+	public SearchResultJsonParser(final boolean lazyIssues) {
+		this(lazyIssues, false);
+	}
+
+	/**
+	 * @param lazyIssues whether sections of returned issues are parsed on first access instead of up front
+	 * @param projection whether the search was narrowed to some fields, see
+	 *                   {@link IssueJsonParser#IssueJsonParser(IssueFieldDescriptors, boolean)}
+	 * @since v3.0
+	 */
+	public SearchResultJsonParser(final boolean lazyIssues, final boolean projection) {
+		this(lazyIssues, projection, null);
+	}
+
+	/**
+	 * @param lazyIssues     whether sections of returned issues are parsed on first access instead of up front
+	 * @param projection     whether the search was narrowed to some fields
+	 * @param sharedInterner interner used to share equal entities across all parsed responses, e.g.
+	 *                       {@link Interners#newWeakInterner()}; when <code>null</code> a new one is used for each response
+	 * @since v3.0
+	 */
+	public SearchResultJsonParser(final boolean lazyIssues, final boolean projection,
+			@Nullable final Interner<Object> sharedInterner) {
+		this.lazyIssues = lazyIssues;
+		this.projection = projection;
+		this.sharedInterner = sharedInterner;
+	}
+
+	private Interner<Object> responseInterner() {
+		return sharedInterner != null ? sharedInterner : Interners.newStrongInterner();
+	}
 
 	@Override
 	public SearchResult parse(JSONObject json) throws JSONException {
-		final int startAt = json.getInt("startAt");
-		final int maxResults = json.getInt("maxResults");
-		final int total = json.getInt("total");
-		final JSONArray issuesJsonArray = json.getJSONArray("issues");
+		final int startAt = json.getInt(START_AT_ATTR);
+		final int maxResults = json.getInt(MAX_RESULTS_ATTR);
+		final int total = json.getInt(TOTAL_ATTR);
+		final JSONArray issuesJsonArray = json.getJSONArray(ISSUES_ATTR);
 
 		final Iterable<Issue> issues;
 		if (issuesJsonArray.length() > 0) {
-			final IssueJsonParser issueParser = new IssueJsonParser(json.getJSONObject("names"), json.getJSONObject("schema"));
-			final GenericJsonArrayParser<Issue> issuesParser = GenericJsonArrayParser.create(issueParser);
+			// names and schema are shared by all issues of the page, so their descriptors are built only once
+			final IssueFieldDescriptors fieldDescriptors = IssueFieldDescriptors.create(
+					json.getJSONObject(IssueJsonParser.NAMES_SECTION), json.getJSONObject(IssueJsonParser.SCHEMA_SECTION));
+			final IssueJsonParser issueParser = new IssueJsonParser(fieldDescriptors, projection, responseInterner());
+			final GenericJsonArrayParser<Issue> issuesParser = GenericJsonArrayParser.create(
+					lazyIssues ? issueParser.lazily() : issueParser);
 			issues = issuesParser.parse(issuesJsonArray);
 		} else {
 			issues = Collections.emptyList();
 		}
 		return new SearchResult(startAt, maxResults, total, issues);
 	}
+
+	@Override
+	public SearchResult parse(InputStream inputStream) throws JSONException, IOException {
+		final org.codehaus.jackson.JsonParser jp = JsonStreamingUtil.createParser(inputStream);
+		try {
+			jp.nextToken();
+			JsonStreamingUtil.expectToken(jp, JsonToken.START_OBJECT);
+
+			Integer startAt = null;
+			Integer maxResults = null;
+			Integer total = null;
+			JSONObject names = null;
+			JSONObject schema = null;
+			List<JSONObject> unresolvedIssues = null;
+			List<Issue> issues = null;
+			boolean issuesParsedWithoutNames = false;
+			DeferredIssueFieldDescriptors deferredDescriptors = null;
+			final Interner<Object> interner = responseInterner();
+
+			while (jp.nextToken() == JsonToken.FIELD_NAME) {
+				final String attributeName = jp.getCurrentName();
+				jp.nextToken();
+				if (START_AT_ATTR.equals(attributeName)) {
+					startAt = JsonStreamingUtil.readInt(jp, attributeName);
+				} else if (MAX_RESULTS_ATTR.equals(attributeName)) {
+					maxResults = JsonStreamingUtil.readInt(jp, attributeName);
+				} else if (TOTAL_ATTR.equals(attributeName)) {
+					total = JsonStreamingUtil.readInt(jp, attributeName);
+				} else if (IssueJsonParser.NAMES_SECTION.equals(attributeName)) {
+					names = JsonStreamingUtil.readObject(jp);
+				} else if (IssueJsonParser.SCHEMA_SECTION.equals(attributeName)) {
+					schema = JsonStreamingUtil.readObject(jp);
+				} else if (ISSUES_ATTR.equals(attributeName)) {
+					// JIRA serializes names and schema after the issues, so usually we have to resolve them later
+					issuesParsedWithoutNames = names == null || schema == null;
+					if (lazyIssues && issuesParsedWithoutNames) {
+						// lazy issues are cheap to create, so they are created once descriptors are known
+						unresolvedIssues = readIssues(jp);
+						issues = Collections.emptyList();
+					} else {
+						final IssueFieldDescriptors descriptors;
+						if (issuesParsedWithoutNames) {
+							// fields get placeholders, which take names and types at the end
+							deferredDescriptors = new DeferredIssueFieldDescriptors();
+							descriptors = deferredDescriptors;
+						} else {
+							descriptors = IssueFieldDescriptors.create(names, schema);
+						}
+						final IssueJsonParser issueParser = new IssueJsonParser(descriptors, projection, interner);
+						issues = parseIssues(jp, lazyIssues ? issueParser.lazily() : issueParser);
+					}
+				} else {
+					jp.skipChildren();
+				}
+			}
+			JsonStreamingUtil.expectToken(jp, JsonToken.END_OBJECT);
+
+			if (startAt == null || maxResults == null || total == null || issues == null) {
+				throw new JSONException("Search result is missing one of required attributes: "
+						+ START_AT_ATTR + ", " + MAX_RESULTS_ATTR + ", " + TOTAL_ATTR + ", " + ISSUES_ATTR);
+			}
+			if (issues.isEmpty() && (unresolvedIssues == null || unresolvedIssues.isEmpty())) {
+				return new SearchResult(startAt, maxResults, total, Collections.<Issue>emptyList());
+			}
+			if (issuesParsedWithoutNames) {
+				if (names == null || schema == null) {
+					throw new JSONException("Search result is missing names or schema section");
+				}
+				final IssueFieldDescriptors descriptors = IssueFieldDescriptors.create(names, schema);
+				if (unresolvedIssues != null) {
+					final IssueJsonParser issueParser = new IssueJsonParser(descriptors, projection, interner);
+					issues = new ArrayList<Issue>(unresolvedIssues.size());
+					for (final JSONObject issueJson : unresolvedIssues) {
+						issues.add(issueParser.parseLazily(issueJson));
+					}
+				} else {
+					deferredDescriptors.resolve(descriptors);
+				}
+			}
+			return new SearchResult(startAt, maxResults, total, issues);
+		} finally {
+			jp.close();
+		}
+	}
+
+	private List<Issue> parseIssues(final org.codehaus.jackson.JsonParser jp, final JsonObjectParser<Issue> issueParser)
+			throws JSONException, IOException {
+		JsonStreamingUtil.expectToken(jp, JsonToken.START_ARRAY);
+		final List<Issue> issues = new ArrayList<Issue>();
+		while (jp.nextToken() == JsonToken.START_OBJECT) {
+			// the subtree of a single issue becomes garbage as soon as the issue is built
+			issues.add(issueParser.parse(JsonStreamingUtil.readObject(jp)));
+		}
+		JsonStreamingUtil.expectToken(jp, JsonToken.END_ARRAY);
+		return issues;
+	}
+
+	private List<JSONObject> readIssues(final org.codehaus.jackson.JsonParser jp) throws JSONException, IOException {
+		JsonStreamingUtil.expectToken(jp, JsonToken.START_ARRAY);
+		final List<JSONObject> issues = new ArrayList<JSONObject>();
+		while (jp.nextToken() == JsonToken.START_OBJECT) {
+			issues.add(JsonStreamingUtil.readObject(jp));
+		}
+		JsonStreamingUtil.expectToken(jp, JsonToken.END_ARRAY);
+		return issues;
+	}
 }
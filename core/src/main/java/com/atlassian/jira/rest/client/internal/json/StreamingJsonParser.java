@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json;
+
+import org.codehaus.jettison.json.JSONException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Parser which is able to build its result directly from the response body stream, without materializing
+ * the whole body as a String and JSON tree first. Parsers implementing this interface are still expected
+ * to implement {@link JsonObjectParser} or {@link JsonArrayParser}, which remain the fallback contract.
+ *
+ * @since v3.0
+ */
+public interface StreamingJsonParser<T> {
+	T parse(InputStream inputStream) throws JSONException, IOException;
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.api;
+
+import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RestPromisesTest {
+
+	@Test
+	public void testAllOfKeepsOrderOfPromises() throws Exception {
+		final SettableFuture<String> first = SettableFuture.create();
+		final SettableFuture<String> second = SettableFuture.create();
+		final Promise<List<String>> all = RestPromises.allOf(ImmutableList.of(
+				Promises.forListenableFuture(first), Promises.forListenableFuture(second)));
+
+		second.set("b");
+		assertFalse(all.isDone());
+		first.set("a");
+		assertEquals(ImmutableList.of("a", "b"), all.get());
+	}
+
+	@Test
+	public void testAllOfFailsWithFirstFailure() throws Exception {
+		final SettableFuture<String> pending = SettableFuture.create();
+		final SettableFuture<String> failed = SettableFuture.create();
+		final IllegalStateException failure = new IllegalStateException();
+		failed.setException(failure);
+		final Promise<List<String>> all = RestPromises.allOf(ImmutableList.of(
+				Promises.forListenableFuture(pending), Promises.forListenableFuture(failed)));
+		try {
+			all.get();
+			fail("ExecutionException expected");
+		} catch (ExecutionException e) {
+			assertSame(failure, e.getCause());
+		}
+	}
+
+	@Test
+	public void testCombine() {
+		final Promise<String> combined = RestPromises.combine(Promises.promise("TST"), Promises.promise(12),
+				new RestPromises.Combiner<String, Integer, String>() {
+					@Override
+					public String combine(final String projectKey, final Integer number) {
+						return projectKey + "-" + number;
+					}
+				});
+		assertEquals("TST-12", combined.claim());
+	}
+
+	@Test
+	public void testMapRunsOnGivenExecutor() {
+		final CountingExecutor executor = new CountingExecutor();
+		final Promise<Integer> length = RestPromises.map(Promises.promise("abc"), new Function<String, Integer>() {
+			@Override
+			public Integer apply(final String input) {
+				return input.length();
+			}
+		}, executor);
+		assertEquals(Integer.valueOf(3), length.claim());
+		assertEquals(1, executor.executed.get());
+	}
+
+	@Test
+	public void testOnDeliversThroughGivenExecutor() {
+		final CountingExecutor executor = new CountingExecutor();
+		final SettableFuture<String> future = SettableFuture.create();
+		final Promise<String> delivered = RestPromises.on(Promises.forListenableFuture(future), executor);
+		assertEquals(0, executor.executed.get());
+		future.set("done");
+		assertEquals("done", delivered.claim());
+		assertEquals(1, executor.executed.get());
+	}
+
+	@Test
+	public void testClaimTimesOutAndCancelsCall() {
+		final SettableFuture<String> future = SettableFuture.create();
+		try {
+			RestPromises.claim(Promises.forListenableFuture(future), 10, TimeUnit.MILLISECONDS);
+			fail("RestClientException expected");
+		} catch (RestClientException e) {
+			assertTrue(e.getCause() instanceof TimeoutException);
+		}
+		assertTrue(future.isCancelled());
+	}
+
+	@Test
+	public void testClaimKeepsStatusCodeOfFailedCall() {
+		final SettableFuture<String> future = SettableFuture.create();
+		future.setException(new RestClientException(Collections.<ErrorCollection>emptyList(), 404));
+		try {
+			RestPromises.claim(Promises.forListenableFuture(future), 1, TimeUnit.SECONDS);
+			fail("RestClientException expected");
+		} catch (RestClientException e) {
+			assertEquals(Optional.of(404), e.getStatusCode());
+		}
+	}
+
+	private static class CountingExecutor implements Executor {
+		private final AtomicInteger executed = new AtomicInteger();
+
+		@Override
+		public void execute(final Runnable command) {
+			executed.incrementAndGet();
+			command.run();
+		}
+	}
+}
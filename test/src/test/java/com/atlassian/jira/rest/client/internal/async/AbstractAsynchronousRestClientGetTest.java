@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
+import com.atlassian.util.concurrent.Promise;
+import com.google.common.collect.Maps;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of GET requests made by {@link AbstractAsynchronousRestClient} against a local server.
+ */
+public class AbstractAsynchronousRestClientGetTest {
+
+	private static final String ETAG = "\"1\"";
+	private static final String LAST_MODIFIED = "Thu, 01 Jan 2015 10:00:00 GMT";
+
+	private final CountDownLatch released = new CountDownLatch(1);
+	// validators sent by the server, which answers Not Modified to requests matching them
+	@Nullable
+	private volatile String etag;
+	@Nullable
+	private volatile String lastModified;
+	private final AtomicInteger parses = new AtomicInteger();
+	private final JsonObjectParser<Named> parser = new JsonObjectParser<Named>() {
+		@Override
+		public Named parse(final JSONObject json) throws JSONException {
+			parses.incrementAndGet();
+			return new Named(json.getString("name"));
+		}
+	};
+	private LocalHttpServer server;
+	private DisposableHttpClient httpClient;
+	private TestRestClient restClient;
+	private URI uri;
+
+	@Before
+	public void setUp() throws IOException {
+		server = LocalHttpServer.start(new HttpHandler() {
+			@Override
+			public void handle(final HttpExchange exchange) throws IOException {
+				try {
+					// held until the test has made all its calls
+					released.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				final Map<String, String> headers = Maps.newHashMap();
+				if (etag != null) {
+					headers.put("ETag", etag);
+				}
+				if (lastModified != null) {
+					headers.put("Last-Modified", lastModified);
+				}
+				final Headers request = exchange.getRequestHeaders();
+				if ((etag != null && etag.equals(request.getFirst("If-None-Match")))
+						|| (etag == null && lastModified != null && lastModified.equals(request.getFirst("If-Modified-Since")))) {
+					LocalHttpServer.respond(exchange, 304, headers, new byte[0]);
+					return;
+				}
+				headers.put("Content-Type", "application/json");
+				LocalHttpServer.respond(exchange, 200, headers, "{\"name\":\"TST\"}".getBytes("UTF-8"));
+			}
+		});
+		uri = URI.create(server.getBaseUri() + "/rest/api/latest/project/TST");
+		httpClient = new AsynchronousHttpClientFactory().createClient(server.getBaseUri(), new AnonymousAuthenticationHandler());
+		restClient = new TestRestClient(httpClient);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		released.countDown();
+		httpClient.destroy();
+		server.close();
+	}
+
+	@Test
+	public void testConcurrentGetsShareOneRequestWhenCoalescing() {
+		restClient.setCoalesceConcurrentGets(true);
+		final Promise<Named> first = restClient.get(uri);
+		final Promise<Named> second = restClient.get(uri);
+		released.countDown();
+
+		assertSame(first.claim(), second.claim());
+		assertEquals(1, server.getRequests().size());
+		assertEquals(1, parses.get());
+
+		// nothing is retained once the request has completed
+		assertEquals("TST", restClient.get(uri).claim().name);
+		assertEquals(2, server.getRequests().size());
+	}
+
+	@Test
+	public void testCancelledGetDoesNotCancelCoalescedOnes() {
+		restClient.setCoalesceConcurrentGets(true);
+		final Promise<Named> cancelled = restClient.get(uri);
+		final Promise<Named> first = restClient.get(uri);
+		final Promise<Named> second = restClient.get(uri);
+		assertTrue(cancelled.cancel(true));
+		released.countDown();
+
+		assertEquals("TST", first.claim().name);
+		assertSame(first.claim(), second.claim());
+		assertTrue(cancelled.isCancelled());
+		assertEquals(1, server.getRequests().size());
+	}
+
+	@Test
+	public void testGetsAreNotSharedByDefault() {
+		final Promise<Named> first = restClient.get(uri);
+		final Promise<Named> second = restClient.get(uri);
+		released.countDown();
+
+		assertEquals("TST", first.claim().name);
+		assertEquals("TST", second.claim().name);
+		assertEquals(2, server.getRequests().size());
+		assertEquals(2, parses.get());
+	}
+
+	@Test
+	public void testNotModifiedResponseReturnsCachedValue() {
+		final ConditionalGetCache cache = new ConditionalGetCache();
+		restClient.setConditionalGetCache(cache);
+		etag = ETAG;
+		lastModified = LAST_MODIFIED;
+		released.countDown();
+
+		final Named first = restClient.getConditionally(uri).claim();
+		assertEquals(1, cache.size());
+		final Named second = restClient.getConditionally(uri).claim();
+
+		assertSame(first, second);
+		assertEquals(1, parses.get());
+		final List<LocalHttpServer.RecordedRequest> requests = server.getRequests();
+		assertEquals(2, requests.size());
+		assertNull(requests.get(0).headers.getFirst("If-None-Match"));
+		assertNull(requests.get(0).headers.getFirst("If-Modified-Since"));
+		assertEquals(ETAG, requests.get(1).headers.getFirst("If-None-Match"));
+		assertEquals(LAST_MODIFIED, requests.get(1).headers.getFirst("If-Modified-Since"));
+	}
+
+	@Test
+	public void testChangedResponseReplacesCachedValue() {
+		final ConditionalGetCache cache = new ConditionalGetCache();
+		restClient.setConditionalGetCache(cache);
+		lastModified = LAST_MODIFIED;
+		released.countDown();
+
+		final Named first = restClient.getConditionally(uri).claim();
+		lastModified = "Fri, 02 Jan 2015 10:00:00 GMT";
+		final Named second = restClient.getConditionally(uri).claim();
+		final Named third = restClient.getConditionally(uri).claim();
+
+		assertNotSame(first, second);
+		assertSame(second, third);
+		assertEquals(2, parses.get());
+		assertEquals("Fri, 02 Jan 2015 10:00:00 GMT", server.getRequests().get(2).headers.getFirst("If-Modified-Since"));
+	}
+
+	@Test
+	public void testResponseWithoutValidatorsDropsCachedValue() {
+		final ConditionalGetCache cache = new ConditionalGetCache();
+		restClient.setConditionalGetCache(cache);
+		etag = ETAG;
+		released.countDown();
+
+		restClient.getConditionally(uri).claim();
+		assertEquals(1, cache.size());
+		etag = null;
+		restClient.getConditionally(uri).claim();
+		assertEquals(0, cache.size());
+		restClient.getConditionally(uri).claim();
+
+		assertEquals(3, parses.get());
+		final List<LocalHttpServer.RecordedRequest> requests = server.getRequests();
+		assertEquals(ETAG, requests.get(1).headers.getFirst("If-None-Match"));
+		assertNull(requests.get(2).headers.getFirst("If-None-Match"));
+	}
+
+	@Test
+	public void testOnlyConditionalGetsUseCache() {
+		final ConditionalGetCache cache = new ConditionalGetCache();
+		restClient.setConditionalGetCache(cache);
+		etag = ETAG;
+		released.countDown();
+
+		restClient.get(uri).claim();
+		assertEquals(0, cache.size());
+		restClient.getConditionally(uri).claim();
+		restClient.get(uri).claim();
+
+		final List<LocalHttpServer.RecordedRequest> requests = server.getRequests();
+		assertEquals(1, cache.size());
+		assertEquals("{\"name\":\"TST\"}".length(), cache.weightBytes());
+		assertNull(requests.get(1).headers.getFirst("If-None-Match"));
+		assertNull(requests.get(2).headers.getFirst("If-None-Match"));
+		assertEquals(3, parses.get());
+	}
+
+	private static class Named {
+		private final String name;
+
+		private Named(final String name) {
+			this.name = name;
+		}
+	}
+
+	private class TestRestClient extends AbstractAsynchronousRestClient {
+		private TestRestClient(final HttpClient client) {
+			super(client);
+		}
+
+		Promise<Named> get(final URI uri) {
+			return getAndParse(uri, parser);
+		}
+
+		Promise<Named> getConditionally(final URI uri) {
+			return getAndParseConditionally(uri, parser);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.domain.Session;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import com.atlassian.util.concurrent.Promise;
+import com.google.common.collect.ImmutableMap;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AsynchronousSessionRestClientTest {
+
+	private static final String SESSION = "{\"self\":\"http://localhost/rest/api/latest/user?username=admin\","
+			+ "\"name\":\"admin\",\"loginInfo\":{\"loginCount\":5}}";
+
+	private final CountDownLatch released = new CountDownLatch(1);
+	private LocalHttpServer server;
+	private DisposableHttpClient httpClient;
+	private AsynchronousSessionRestClient sessionRestClient;
+
+	@Before
+	public void setUp() throws IOException {
+		server = LocalHttpServer.start(new HttpHandler() {
+			@Override
+			public void handle(final HttpExchange exchange) throws IOException {
+				try {
+					released.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				LocalHttpServer.respond(exchange, 200, ImmutableMap.of("Content-Type", "application/json"),
+						SESSION.getBytes("UTF-8"));
+			}
+		});
+		httpClient = new AsynchronousHttpClientFactory().createClient(server.getBaseUri(), new AnonymousAuthenticationHandler());
+		sessionRestClient = new AsynchronousSessionRestClient(server.getBaseUri(), httpClient);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		released.countDown();
+		httpClient.destroy();
+		server.close();
+	}
+
+	@Test
+	public void testCancelledCallerDoesNotAffectCachedSession() {
+		final Promise<Session> cancelled = sessionRestClient.getCachedCurrentSession();
+		final Promise<Session> other = sessionRestClient.getCachedCurrentSession();
+		cancelled.cancel(true);
+		released.countDown();
+
+		assertTrue(cancelled.isCancelled());
+		assertEquals("admin", other.claim().getUsername());
+		assertEquals("admin", sessionRestClient.getCachedCurrentSession().claim().getUsername());
+		assertEquals(1, server.getRequests().size());
+	}
+}
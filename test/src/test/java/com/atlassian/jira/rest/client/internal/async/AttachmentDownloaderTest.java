@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.DownloadAttachmentOptions;
+import com.atlassian.jira.rest.client.api.DownloadAttachmentOptionsBuilder;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import com.atlassian.util.concurrent.Promise;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class AttachmentDownloaderTest {
+
+	private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+	private static final String ETAG = "\"v2\"";
+	private static final String LAST_MODIFIED = "Thu, 01 Jan 2015 10:00:00 GMT";
+	private static final long LAST_MODIFIED_MILLIS = 1420106400000L;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private final byte[] content = new byte[100];
+	private final CountDownLatch slowReleased = new CountDownLatch(1);
+	private LocalHttpServer server;
+	private DisposableHttpClient httpClient;
+	private AttachmentDownloader downloader;
+	private URI attachmentUri;
+
+	@Before
+	public void setUp() throws IOException {
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+		server = LocalHttpServer.start(new RangeHandler());
+		attachmentUri = URI.create(server.getBaseUri() + "/secure/attachment/10000/data.bin");
+		httpClient = new AsynchronousHttpClientFactory().createClient(server.getBaseUri(), new AnonymousAuthenticationHandler());
+		downloader = new AttachmentDownloader(httpClient, 2, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		slowReleased.countDown();
+		httpClient.destroy();
+		server.close();
+	}
+
+	@Test
+	public void testChunksAreRequestedWithIfRange() throws IOException {
+		final File target = folder.newFile("data.bin");
+		downloader.download(attachmentUri, target, options()).claim();
+
+		assertArrayEquals(content, Files.toByteArray(target));
+		assertEquals(LAST_MODIFIED_MILLIS, target.lastModified());
+		final List<LocalHttpServer.RecordedRequest> requests = server.getRequests();
+		assertEquals(4, requests.size());
+		assertEquals("bytes=0-29", requests.get(0).headers.getFirst("Range"));
+		assertNull(requests.get(0).headers.getFirst("If-Range"));
+		assertEquals("bytes=30-59", requests.get(1).headers.getFirst("Range"));
+		assertEquals(ETAG, requests.get(1).headers.getFirst("If-Range"));
+	}
+
+	@Test
+	public void testResumeContinuesFileOfSameVersion() throws IOException {
+		final File target = folder.newFile("data.bin");
+		Files.write(Arrays.copyOf(content, 40), target);
+		target.setLastModified(LAST_MODIFIED_MILLIS);
+		downloader.download(attachmentUri, target, options()).claim();
+
+		assertArrayEquals(content, Files.toByteArray(target));
+		final LocalHttpServer.RecordedRequest first = server.getRequests().get(0);
+		assertEquals("bytes=40-69", first.headers.getFirst("Range"));
+		assertEquals(LAST_MODIFIED, first.headers.getFirst("If-Range"));
+		assertEquals(2, server.getRequests().size());
+	}
+
+	@Test
+	public void testResumeStartsOverWhenFileHoldsOtherVersion() throws IOException {
+		final File target = folder.newFile("data.bin");
+		final byte[] older = new byte[40];
+		Arrays.fill(older, (byte) -1);
+		Files.write(older, target);
+		target.setLastModified(LAST_MODIFIED_MILLIS - 3600 * 1000);
+		downloader.download(attachmentUri, target, options()).claim();
+
+		assertArrayEquals(content, Files.toByteArray(target));
+		// the server answered the conditional range with the whole attachment
+		assertEquals(1, server.getRequests().size());
+	}
+
+	@Test
+	public void testRaisingLimitStartsWaitingDownloads() throws IOException {
+		downloader.setMaxConcurrentDownloads(1);
+		final Promise<File> slow = downloader.download(URI.create(server.getBaseUri() + "/secure/attachment/10001/slow.bin"),
+				folder.newFile("slow.bin"), options());
+		final Promise<File> waiting = downloader.download(attachmentUri, folder.newFile("waiting.bin"), options());
+		assertFalse(waiting.isDone());
+
+		downloader.setMaxConcurrentDownloads(2);
+		assertArrayEquals(content, Files.toByteArray(waiting.claim()));
+		assertFalse(slow.isDone());
+		slowReleased.countDown();
+		assertArrayEquals(content, Files.toByteArray(slow.claim()));
+	}
+
+	private static DownloadAttachmentOptions options() {
+		return new DownloadAttachmentOptionsBuilder().withChunkSize(30).withExpectedSize(100L).build();
+	}
+
+	/**
+	 * Serves the content like a web server honouring <code>Range</code> and <code>If-Range</code>.
+	 */
+	private class RangeHandler implements HttpHandler {
+		@Override
+		public void handle(final HttpExchange exchange) throws IOException {
+			if (exchange.getRequestURI().getPath().endsWith("slow.bin")) {
+				try {
+					slowReleased.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			final ImmutableMap<String, String> validators = ImmutableMap.of("ETag", ETAG, "Last-Modified", LAST_MODIFIED);
+			final String range = exchange.getRequestHeaders().getFirst("Range");
+			final String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+			final Matcher matcher = range != null ? RANGE.matcher(range) : null;
+			if (matcher == null || !matcher.matches() || (ifRange != null && !ifRange.equals(ETAG) && !ifRange.equals(LAST_MODIFIED))) {
+				LocalHttpServer.respond(exchange, 200, validators, content);
+				return;
+			}
+			final int start = Integer.parseInt(matcher.group(1));
+			if (start >= content.length) {
+				LocalHttpServer.respond(exchange, 416, ImmutableMap.of("Content-Range", "bytes */" + content.length), new byte[0]);
+				return;
+			}
+			final int end = Math.min(Integer.parseInt(matcher.group(2)), content.length - 1);
+			LocalHttpServer.respond(exchange, 206, ImmutableMap.<String, String>builder().putAll(validators)
+					.put("Content-Range", "bytes " + start + "-" + end + "/" + content.length).build(),
+					Arrays.copyOfRange(content, start, end + 1));
+		}
+	}
+}
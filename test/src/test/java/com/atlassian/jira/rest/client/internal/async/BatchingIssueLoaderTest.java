@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
+import com.atlassian.jira.rest.client.internal.json.IssueJsonParser;
+import com.atlassian.jira.rest.client.internal.json.ResourceUtil;
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.SettableFuture;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class BatchingIssueLoaderTest {
+
+	private static final URI BASE_URI = URI.create("http://localhost/rest/api/latest");
+
+	private final FakeSearchRestClient searchRestClient = new FakeSearchRestClient();
+	private final FakeIssueRestClient issueRestClient = new FakeIssueRestClient();
+
+	@Test
+	public void testFullBatchIsRetrievedWithSingleSearch() {
+		final BatchingIssueLoader loader = new BatchingIssueLoaderBuilder(issueRestClient, searchRestClient)
+				.withMaxBatchSize(3).withMaxDelay(1, TimeUnit.HOURS).build();
+
+		final Promise<Issue> first = loader.getIssue("TST-1");
+		final Promise<Issue> second = loader.getIssue("TST-2");
+		final Promise<Issue> again = loader.getIssue("TST-1");
+		final Promise<Issue> third = loader.getIssue("TST-3");
+
+		assertEquals("TST-1", first.claim().getKey());
+		assertEquals("TST-2", second.claim().getKey());
+		assertEquals("TST-3", third.claim().getKey());
+		assertSame(first.claim(), again.claim());
+		assertEquals(Collections.singletonList("key in (\"TST-1\",\"TST-2\",\"TST-3\")"), searchRestClient.queries);
+		assertEquals(0, issueRestClient.requests.size());
+	}
+
+	@Test
+	public void testBatchIsSentWhenWindowCloses() {
+		final BatchingIssueLoader loader = new BatchingIssueLoaderBuilder(issueRestClient, searchRestClient)
+				.withMaxDelay(10, TimeUnit.MILLISECONDS).build();
+
+		final Promise<Issue> first = loader.getIssue("TST-1");
+		final Promise<Issue> second = loader.getIssue("TST-2");
+
+		assertEquals("TST-1", first.claim().getKey());
+		assertEquals("TST-2", second.claim().getKey());
+		assertEquals(1, searchRestClient.queries.size());
+	}
+
+	@Test
+	public void testMissingKeysAreRetrievedOneByOne() {
+		searchRestClient.hidden.add("TST-2");
+		issueRestClient.missing.add("TST-2");
+		final BatchingIssueLoader loader = new BatchingIssueLoaderBuilder(issueRestClient, searchRestClient)
+				.withMaxBatchSize(2).build();
+
+		final Promise<Issue> first = loader.getIssue("TST-1");
+		final Promise<Issue> second = loader.getIssue("TST-2");
+
+		assertEquals("TST-1", first.claim().getKey());
+		try {
+			second.claim();
+			fail("RestClientException expected");
+		} catch (RestClientException e) {
+			assertEquals(404, (int) e.getStatusCode().get());
+		}
+		assertEquals(Collections.singletonList("TST-2"), issueRestClient.requests);
+	}
+
+	@Test
+	public void testFailedSearchFallsBackToSingleRequests() {
+		searchRestClient.failing = true;
+		final BatchingIssueLoader loader = new BatchingIssueLoaderBuilder(issueRestClient, searchRestClient)
+				.withMaxBatchSize(2).build();
+
+		final Promise<Issue> first = loader.getIssue("TST-1");
+		final Promise<Issue> second = loader.getIssue("TST-2");
+
+		assertEquals("TST-1", first.claim().getKey());
+		assertEquals("TST-2", second.claim().getKey());
+		assertEquals(Lists.newArrayList("TST-1", "TST-2"), issueRestClient.requests);
+	}
+
+	private static Issue issue(final String key) {
+		try {
+			final JSONObject json = ResourceUtil.getJsonObjectFromResource("/json/issue/valid-all-expanded.json");
+			json.put("key", key);
+			return new IssueJsonParser().parse(json);
+		} catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static <T> Promise<T> rejected(final Throwable t) {
+		final SettableFuture<T> future = SettableFuture.create();
+		future.setException(t);
+		return Promises.forListenableFuture(future);
+	}
+
+	private static class FakeSearchRestClient extends AsynchronousSearchRestClient {
+		private static final Pattern KEY = Pattern.compile("\"([^\"]+)\"");
+
+		private final List<String> queries = Collections.synchronizedList(Lists.<String>newArrayList());
+		private final Set<String> hidden = Sets.newHashSet();
+		private volatile boolean failing;
+
+		private FakeSearchRestClient() {
+			super(BASE_URI, null);
+		}
+
+		@Override
+		public Promise<SearchResult> searchJql(@Nullable final String jql, @Nullable final Integer maxResults,
+				@Nullable final Integer startAt, @Nullable final Set<String> fields) {
+			queries.add(jql);
+			if (failing) {
+				return rejected(new RestClientException(Collections.<ErrorCollection>emptyList(), 400));
+			}
+			final List<Issue> issues = Lists.newArrayList();
+			final Matcher matcher = KEY.matcher(jql);
+			while (matcher.find()) {
+				if (!hidden.contains(matcher.group(1))) {
+					issues.add(issue(matcher.group(1)));
+				}
+			}
+			return Promises.promise(new SearchResult(0, maxResults, issues.size(), issues));
+		}
+	}
+
+	private static class FakeIssueRestClient extends AsynchronousIssueRestClient {
+		private final List<String> requests = Collections.synchronizedList(Lists.<String>newArrayList());
+		private final Set<String> missing = Sets.newHashSet();
+
+		private FakeIssueRestClient() {
+			super(BASE_URI, null, null, (ServerInfoProvider) null, RestClientMetrics.NONE, null);
+		}
+
+		@Override
+		public Promise<Issue> getIssue(final String issueKey) {
+			requests.add(issueKey);
+			if (missing.contains(issueKey)) {
+				return rejected(new RestClientException(Collections.<ErrorCollection>emptyList(), 404));
+			}
+			return Promises.promise(issue(issueKey));
+		}
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.BulkCreateOptions;
+import com.atlassian.jira.rest.client.api.BulkCreateOptionsBuilder;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
+import com.atlassian.jira.rest.client.api.domain.BasicIssue;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationErrorResult;
+import com.atlassian.jira.rest.client.api.domain.BulkOperationResult;
+import com.atlassian.jira.rest.client.api.domain.IndexedBulkOperationResult;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInputBuilder;
+import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkIssueCreatorTest {
+
+	private static final BulkCreateOptions OPTIONS = new BulkCreateOptionsBuilder().withChunkSize(8).build();
+
+	@Test
+	public void testResultIsIndexedByPositionOfInput() {
+		final FakeIssueRestClient client = new FakeIssueRestClient(100);
+		final IndexedBulkOperationResult<BasicIssue> result = createIssues(client, 20, OPTIONS);
+
+		assertEquals(20, result.getIssuesByPosition().size());
+		assertEquals("TST-7", result.getIssuesByPosition().get(7).getKey());
+		assertTrue(Iterables.isEmpty(result.getErrors()));
+		assertEquals(ImmutableList.of(8, 8, 4), client.requestSizes);
+	}
+
+	@Test
+	public void testChunkRejectedAsTooLargeIsSplitAndLaterChunksShrink() {
+		final FakeIssueRestClient client = new FakeIssueRestClient(4);
+		final IndexedBulkOperationResult<BasicIssue> result = createIssues(client, 20, OPTIONS);
+
+		assertEquals(20, result.getIssuesByPosition().size());
+		assertEquals("TST-19", result.getIssuesByPosition().get(19).getKey());
+		// 8 rejected, its halves accepted, then chunks of 4 only
+		assertEquals(ImmutableList.of(8, 4, 4, 4, 4, 4), client.requestSizes);
+	}
+
+	@Test
+	public void testOnlyTemporaryElementFailuresAreSentAgain() {
+		final FakeIssueRestClient client = new FakeIssueRestClient(100);
+		client.invalid.add(3);
+		client.failingOnce.add(5);
+		final IndexedBulkOperationResult<BasicIssue> result = createIssues(client, 8, OPTIONS);
+
+		assertEquals(7, result.getIssuesByPosition().size());
+		assertEquals("TST-5", result.getIssuesByPosition().get(5).getKey());
+		final BulkOperationErrorResult error = Iterables.getOnlyElement(result.getErrors());
+		assertEquals(Integer.valueOf(3), error.getFailedElementNumber());
+		assertEquals(Integer.valueOf(400), error.getElementErrors().getStatus());
+		assertEquals(ImmutableList.of(8, 1), client.requestSizes);
+	}
+
+	@Test
+	public void testThrottledChunkIsRetriedUntilRetriesRunOut() {
+		final FakeIssueRestClient client = new FakeIssueRestClient(100);
+		client.failure = new RestClientException(Collections.<ErrorCollection>emptyList(), 429);
+		final IndexedBulkOperationResult<BasicIssue> result = createIssues(client, 2,
+				new BulkCreateOptionsBuilder().withMaxRetries(2).build());
+
+		assertTrue(result.getIssuesByPosition().isEmpty());
+		assertEquals(2, Iterables.size(result.getErrors()));
+		assertEquals(Integer.valueOf(429), Iterables.get(result.getErrors(), 1).getElementErrors().getStatus());
+		assertEquals(ImmutableList.of(2, 2, 2), client.requestSizes);
+	}
+
+	@Test
+	public void testChunkWhichMayHaveBeenProcessedIsNotSentAgainByDefault() {
+		final FakeIssueRestClient client = new FakeIssueRestClient(100);
+		client.failure = new RestClientException(Collections.<ErrorCollection>emptyList(), 503);
+		IndexedBulkOperationResult<BasicIssue> result = createIssues(client, 2, OPTIONS);
+
+		assertEquals(2, Iterables.size(result.getErrors()));
+		assertEquals(Integer.valueOf(503), Iterables.get(result.getErrors(), 0).getElementErrors().getStatus());
+		assertEquals(ImmutableList.of(2), client.requestSizes);
+
+		client.requestSizes.clear();
+		client.failure = new RestClientException(new IOException("Connection reset"));
+		result = createIssues(client, 2, OPTIONS);
+
+		assertEquals(2, Iterables.size(result.getErrors()));
+		assertEquals(ImmutableList.of(2), client.requestSizes);
+	}
+
+	@Test
+	public void testChunkWhichMayHaveBeenProcessedIsRetriedWhenAllowed() {
+		final FakeIssueRestClient client = new FakeIssueRestClient(100);
+		client.failure = new RestClientException(Collections.<ErrorCollection>emptyList(), 503);
+		final IndexedBulkOperationResult<BasicIssue> result = createIssues(client, 2,
+				new BulkCreateOptionsBuilder().withMaxRetries(2).withRetryUnconfirmedChunks(true).build());
+
+		assertTrue(result.getIssuesByPosition().isEmpty());
+		assertEquals(Integer.valueOf(503), Iterables.get(result.getErrors(), 1).getElementErrors().getStatus());
+		assertEquals(ImmutableList.of(2, 2, 2), client.requestSizes);
+	}
+
+	@Test
+	public void testRetriesBackOffAndHonourRetryAfter() {
+		final FakeIssueRestClient client = new FakeIssueRestClient(100);
+		client.failure = new RestClientException(Collections.<ErrorCollection>emptyList(), null, 429, 5000L);
+		final InlineRetryBackoff backoff = new InlineRetryBackoff(100);
+		createIssues(client, 2, new BulkCreateOptionsBuilder().withMaxRetries(2).build(), backoff);
+		assertEquals(ImmutableList.of(5000L, 5000L), backoff.delays);
+
+		backoff.delays.clear();
+		client.failure = null;
+		client.failingOnce.add(1);
+		createIssues(client, 2, OPTIONS, backoff);
+		assertEquals(1, backoff.delays.size());
+		assertTrue(backoff.delays.get(0) >= 50 && backoff.delays.get(0) <= 100);
+	}
+
+	@Test
+	public void testCreationWaitsForScheduledRetries() {
+		final FakeIssueRestClient client = new FakeIssueRestClient(100);
+		client.failingOnce.add(1);
+		final List<Runnable> scheduled = Lists.newArrayList();
+		final RetryBackoff heldBackoff = new RetryBackoff(100) {
+			@Override
+			void schedule(final Runnable retry, final long delayMillis) {
+				scheduled.add(retry);
+			}
+		};
+		final Promise<IndexedBulkOperationResult<BasicIssue>> promise =
+				new BulkIssueCreator(client, inputs(2), OPTIONS, heldBackoff).start();
+		assertFalse(promise.isDone());
+
+		scheduled.get(0).run();
+		assertTrue(promise.isDone());
+		assertEquals(2, promise.claim().getIssuesByPosition().size());
+		assertEquals(ImmutableList.of(2, 1), client.requestSizes);
+	}
+
+	private static IndexedBulkOperationResult<BasicIssue> createIssues(final FakeIssueRestClient client, final int count,
+			final BulkCreateOptions options) {
+		return createIssues(client, count, options, new InlineRetryBackoff(options.retryDelayMillis));
+	}
+
+	private static IndexedBulkOperationResult<BasicIssue> createIssues(final FakeIssueRestClient client, final int count,
+			final BulkCreateOptions options, final RetryBackoff backoff) {
+		return new BulkIssueCreator(client, inputs(count), options, backoff).start().claim();
+	}
+
+	private static List<IssueInput> inputs(final int count) {
+		final List<IssueInput> inputs = Lists.newArrayList();
+		for (int i = 0; i < count; i++) {
+			inputs.add(new IssueInputBuilder("TST", 1L, String.valueOf(i)).build());
+		}
+		return inputs;
+	}
+
+	/**
+	 * Completes every bulk request immediately, like JIRA would: issues with the summary being their number.
+	 */
+	private static class FakeIssueRestClient extends AsynchronousIssueRestClient {
+		private final int maxIssuesPerRequest;
+		private final Set<Integer> invalid = Sets.newHashSet();
+		private final Set<Integer> failingOnce = Sets.newHashSet();
+		// when set, every bulk request fails with it
+		private RestClientException failure;
+		private final List<Integer> requestSizes = Lists.newArrayList();
+
+		private FakeIssueRestClient(final int maxIssuesPerRequest) {
+			super(URI.create("http://localhost/rest/api/latest"), null, null, (ServerInfoProvider) null,
+					RestClientMetrics.NONE, null);
+			this.maxIssuesPerRequest = maxIssuesPerRequest;
+		}
+
+		@Override
+		public Promise<BulkOperationResult<BasicIssue>> createIssues(final Collection<IssueInput> issues) {
+			requestSizes.add(issues.size());
+			if (failure != null) {
+				return rejected(failure);
+			}
+			if (issues.size() > maxIssuesPerRequest) {
+				return rejected(new RestClientException(ImmutableList.of(
+						new ErrorCollection("Too many issues in one request")), 400));
+			}
+			final List<BasicIssue> created = Lists.newArrayList();
+			final List<BulkOperationErrorResult> errors = Lists.newArrayList();
+			int element = 0;
+			for (IssueInput issue : issues) {
+				final int number = Integer.parseInt((String) issue.getField("summary").getValue());
+				if (invalid.contains(number)) {
+					errors.add(new BulkOperationErrorResult(new ErrorCollection(400, ImmutableList.<String>of(),
+							ImmutableMap.of("summary", "invalid")), element));
+				} else if (failingOnce.remove(number)) {
+					errors.add(new BulkOperationErrorResult(new ErrorCollection(500, ImmutableList.of("try again"),
+							ImmutableMap.<String, String>of()), element));
+				} else {
+					created.add(new BasicIssue(URI.create("http://localhost/rest/api/latest/issue/" + number),
+							"TST-" + number, (long) number));
+				}
+				element++;
+			}
+			return Promises.<BulkOperationResult<BasicIssue>>promise(new BulkOperationResult<BasicIssue>(created, errors));
+		}
+
+		private static <T> Promise<T> rejected(final Throwable t) {
+			final SettableFuture<T> future = SettableFuture.create();
+			future.setException(t);
+			return Promises.forListenableFuture(future);
+		}
+	}
+}
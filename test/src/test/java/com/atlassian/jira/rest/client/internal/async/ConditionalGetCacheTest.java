@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ConditionalGetCacheTest {
+
+	@Test
+	public void testLeastRecentlyUsedEntriesAreEvictedByWeight() {
+		final ConditionalGetCache cache = new ConditionalGetCache(100);
+		cache.put("a", entry("project/A", 40));
+		cache.put("b", entry("project/B", 40));
+		assertNotNull(cache.get("a"));
+		cache.put("c", entry("project/C", 40));
+
+		assertEquals(2, cache.size());
+		assertEquals(80, cache.weightBytes());
+		assertNotNull(cache.get("a"));
+		assertNull(cache.get("b"));
+		assertNotNull(cache.get("c"));
+
+		cache.put("d", entry("project/D", 90));
+		assertEquals(1, cache.size());
+		assertEquals(90, cache.weightBytes());
+	}
+
+	@Test
+	public void testReplacedEntryWeightIsReleased() {
+		final ConditionalGetCache cache = new ConditionalGetCache(100);
+		cache.put("a", entry("project/A", 60));
+		cache.put("a", entry("project/A", 30));
+
+		assertEquals(30, cache.weightBytes());
+	}
+
+	@Test
+	public void testEntryHeavierThanCacheIsNotKept() {
+		final ConditionalGetCache cache = new ConditionalGetCache(100);
+		cache.put("a", entry("project/A", 40));
+		cache.put("a", entry("project/A", 101));
+		cache.put("b", entry("project/B", 40));
+
+		assertNull(cache.get("a"));
+		assertNotNull(cache.get("b"));
+		assertEquals(40, cache.weightBytes());
+	}
+
+	@Test
+	public void testInvalidateMatching() {
+		final ConditionalGetCache cache = new ConditionalGetCache();
+		cache.put("project", entry("project/TST", 10));
+		cache.put("issue", entry("issue/TST-1", 20));
+		cache.invalidateMatching(Pattern.compile(".*/issue/.*"));
+
+		assertNotNull(cache.get("project"));
+		assertNull(cache.get("issue"));
+		assertEquals(10, cache.weightBytes());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMaxWeightMustBePositive() {
+		new ConditionalGetCache(0);
+	}
+
+	private static ConditionalGetCache.Entry entry(final String path, final long weightBytes) {
+		return new ConditionalGetCache.Entry(URI.create("http://localhost/rest/api/latest/" + path), "\"1\"", null, path,
+				weightBytes);
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.GetCreateIssueMetadataOptionsBuilder;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.RestClientMetrics;
+import com.atlassian.jira.rest.client.api.domain.CimProject;
+import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
+import com.atlassian.jira.rest.client.internal.json.CreateIssueMetadataJsonParser;
+import com.atlassian.jira.rest.client.internal.json.ResourceUtil;
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class CreateIssueMetadataCacheTest {
+
+	private static final URI BASE_URI = URI.create("http://localhost/rest/api/latest");
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private final FakeIssueRestClient issueRestClient = new FakeIssueRestClient();
+
+	@Test
+	public void testResultIsDownloadedOnce() {
+		final CreateIssueMetadataCache cache = cacheBuilder().build();
+
+		final Iterable<CimProject> first = cache.getCreateIssueMetadata(null).claim();
+		final Iterable<CimProject> second = cache.getCreateIssueMetadata(null).claim();
+
+		assertSame(first, second);
+		assertEquals(1, issueRestClient.downloads.get());
+		assertEquals(1, folder.getRoot().listFiles().length);
+	}
+
+	@Test
+	public void testSnapshotIsReadAfterRestart() {
+		final Iterable<CimProject> downloaded = cacheBuilder().build().getCreateIssueMetadata(null).claim();
+		final Iterable<CimProject> restored = cacheBuilder().build().getCreateIssueMetadata(null).claim();
+
+		assertEquals(1, issueRestClient.downloads.get());
+		assertEquals(Iterables.size(downloaded), Iterables.size(restored));
+		assertEquals(Iterables.get(downloaded, 0).getKey(), Iterables.get(restored, 0).getKey());
+	}
+
+	@Test
+	public void testOptionsAreCachedSeparately() {
+		final CreateIssueMetadataCache cache = cacheBuilder().build();
+
+		cache.getCreateIssueMetadata(null).claim();
+		cache.getCreateIssueMetadata(new GetCreateIssueMetadataOptionsBuilder().withProjectKeys("TST").build()).claim();
+
+		assertEquals(2, issueRestClient.downloads.get());
+		assertEquals(2, folder.getRoot().listFiles().length);
+	}
+
+	@Test
+	public void testStaleResultIsReturnedWhileRefreshing() {
+		final CreateIssueMetadataCache cache = cacheBuilder().withRefreshInterval(0, TimeUnit.MILLISECONDS).build();
+		final Iterable<CimProject> first = cache.getCreateIssueMetadata(null).claim();
+
+		final SettableFuture<CreateIssueMetadataCache.Snapshot> refresh = SettableFuture.create();
+		issueRestClient.next = Promises.forListenableFuture(refresh);
+		assertSame(first, cache.getCreateIssueMetadata(null).claim());
+		assertSame(first, cache.getCreateIssueMetadata(null).claim());
+		assertEquals(2, issueRestClient.downloads.get());
+
+		refresh.set(snapshot());
+		final Iterable<CimProject> refreshed = cache.getCreateIssueMetadata(null).claim();
+		assertEquals(Iterables.size(first), Iterables.size(refreshed));
+		assertNotSame(first, refreshed);
+	}
+
+	@Test
+	public void testFailedDownloadIsRetried() {
+		final CreateIssueMetadataCache cache = cacheBuilder().build();
+		issueRestClient.next = rejected(new RestClientException(Collections.<ErrorCollection>emptyList(), 503));
+		try {
+			cache.getCreateIssueMetadata(null).claim();
+			fail("RestClientException expected");
+		} catch (RestClientException e) {
+			// expected
+		}
+
+		cache.getCreateIssueMetadata(null).claim();
+		assertEquals(2, issueRestClient.downloads.get());
+	}
+
+	private CreateIssueMetadataCacheBuilder cacheBuilder() {
+		return new CreateIssueMetadataCacheBuilder(issueRestClient, folder.getRoot())
+				.withExecutor(MoreExecutors.sameThreadExecutor());
+	}
+
+	private static <T> Promise<T> rejected(final Throwable t) {
+		final SettableFuture<T> future = SettableFuture.create();
+		future.setException(t);
+		return Promises.forListenableFuture(future);
+	}
+
+	private static CreateIssueMetadataCache.Snapshot snapshot() {
+		final String json = ResourceUtil.getStringFromResource("/json/createmeta/valid.json");
+		try {
+			return new CreateIssueMetadataCache.Snapshot(json, new CreateIssueMetadataJsonParser().parse(new JSONObject(json)));
+		} catch (JSONException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static class FakeIssueRestClient extends AsynchronousIssueRestClient {
+		private final AtomicInteger downloads = new AtomicInteger();
+		private volatile Promise<CreateIssueMetadataCache.Snapshot> next;
+
+		private FakeIssueRestClient() {
+			super(BASE_URI, null, null, (ServerInfoProvider) null, RestClientMetrics.NONE, null);
+		}
+
+		@Override
+		Promise<CreateIssueMetadataCache.Snapshot> getCreateIssueMetadataSnapshot(final URI uri) {
+			downloads.incrementAndGet();
+			final Promise<CreateIssueMetadataCache.Snapshot> result = next;
+			next = null;
+			return result != null ? result : Promises.promise(snapshot());
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.junit.Assert.assertEquals;
+
+public class EndpointTemplateTest {
+
+	@Test
+	public void testIssueKeysAndIdsAreReplaced() {
+		assertEquals("/jira/rest/api/latest/issue/{key}/transitions",
+				EndpointTemplate.of(URI.create("http://localhost/jira/rest/api/latest/issue/TST-12/transitions?expand=x")));
+		assertEquals("/rest/api/latest/issue/{id}",
+				EndpointTemplate.of(URI.create("http://localhost/rest/api/latest/issue/10012")));
+		assertEquals("/rest/api/latest/project/{key}/role/{id}",
+				EndpointTemplate.of(URI.create("http://localhost/rest/api/latest/project/TST/role/10000")));
+	}
+
+	@Test
+	public void testProjectKeysAreReplaced() {
+		assertEquals("/rest/api/latest/project/{key}",
+				EndpointTemplate.of(URI.create("http://localhost/rest/api/latest/project/TST")));
+		assertEquals("/rest/api/latest/project/{key}/versions",
+				EndpointTemplate.of(URI.create("http://localhost/rest/api/latest/project/ANOTHER/versions")));
+		assertEquals("/rest/api/latest/project/{id}",
+				EndpointTemplate.of(URI.create("http://localhost/rest/api/latest/project/10000")));
+		assertEquals("/rest/api/latest/project",
+				EndpointTemplate.of(URI.create("http://localhost/rest/api/latest/project")));
+	}
+
+	@Test
+	public void testAttachmentFileNameIsReplaced() {
+		assertEquals("/jira/secure/attachment/{id}/{filename}",
+				EndpointTemplate.of(URI.create("http://localhost/jira/secure/attachment/10040/report%20Q1.pdf")));
+	}
+
+	@Test
+	public void testEmptyPath() {
+		assertEquals("/", EndpointTemplate.of(URI.create("http://localhost")));
+		assertEquals("/rest/api/latest/search", EndpointTemplate.of(URI.create("http://localhost/rest/api/latest/search")));
+	}
+}
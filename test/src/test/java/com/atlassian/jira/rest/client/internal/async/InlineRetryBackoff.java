@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * Runs retries at once, recording the delays they would have waited for.
+ */
+class InlineRetryBackoff extends RetryBackoff {
+
+	final List<Long> delays = Lists.newArrayList();
+
+	InlineRetryBackoff(final long baseDelayMillis) {
+		super(baseDelayMillis);
+	}
+
+	@Override
+	void schedule(final Runnable retry, final long delayMillis) {
+		delays.add(delayMillis);
+		retry.run();
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LazyPromiseTest {
+
+	private final CountingLazyPromise lazyPromise = new CountingLazyPromise();
+
+	@Test
+	public void testLoadIsStartedLazilyAndShared() throws Exception {
+		assertEquals(0, lazyPromise.loads);
+		final Promise<String> first = lazyPromise.get();
+		final Promise<String> second = lazyPromise.get();
+
+		assertEquals(1, lazyPromise.loads);
+		lazyPromise.pending.set("value");
+		assertEquals("value", first.get());
+		assertEquals("value", second.get());
+		assertEquals("value", lazyPromise.get().get());
+		assertEquals(1, lazyPromise.loads);
+	}
+
+	@Test
+	public void testFailedLoadIsRetried() {
+		lazyPromise.get();
+		lazyPromise.pending.setException(new RuntimeException("boom"));
+
+		lazyPromise.get();
+		assertEquals(2, lazyPromise.loads);
+	}
+
+	@Test
+	public void testInvalidateForcesReload() {
+		lazyPromise.get();
+		lazyPromise.pending.set("value");
+		lazyPromise.invalidate();
+
+		lazyPromise.get();
+		assertEquals(2, lazyPromise.loads);
+	}
+
+	@Test
+	public void testCancelledCallerDoesNotAffectOthers() throws Exception {
+		final Promise<String> cancelled = lazyPromise.get();
+		final Promise<String> other = lazyPromise.get();
+		cancelled.cancel(true);
+		lazyPromise.pending.set("value");
+
+		assertTrue(cancelled.isCancelled());
+		assertEquals("value", other.get());
+		assertEquals("value", lazyPromise.get().get());
+		assertEquals(1, lazyPromise.loads);
+	}
+
+	@Test
+	public void testCancelledLoadIsForgotten() {
+		lazyPromise.get();
+		lazyPromise.pending.cancel(true);
+
+		lazyPromise.get();
+		assertEquals(2, lazyPromise.loads);
+	}
+
+	private static class CountingLazyPromise extends LazyPromise<String> {
+		private int loads;
+		private SettableFuture<String> pending;
+
+		@Override
+		protected Promise<String> load() {
+			loads++;
+			pending = SettableFuture.create();
+			return Promises.forListenableFuture(pending);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP server on a free local port for tests which need the real HTTP client, answering every request with given
+ * handler and recording the requests it received.
+ */
+class LocalHttpServer implements Closeable {
+
+	private final HttpServer server;
+	// handlers of some tests block, which must not hold up other requests
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final List<RecordedRequest> requests = Lists.newArrayList();
+
+	private LocalHttpServer(final HttpHandler handler) throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(executor);
+		server.createContext("/", new HttpHandler() {
+			@Override
+			public void handle(final HttpExchange exchange) throws IOException {
+				final Headers headers = new Headers();
+				headers.putAll(exchange.getRequestHeaders());
+				synchronized (requests) {
+					requests.add(new RecordedRequest(exchange.getRequestURI(), headers));
+				}
+				try {
+					handler.handle(exchange);
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+	}
+
+	static LocalHttpServer start(final HttpHandler handler) throws IOException {
+		final LocalHttpServer localHttpServer = new LocalHttpServer(handler);
+		localHttpServer.server.start();
+		return localHttpServer;
+	}
+
+	URI getBaseUri() {
+		return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+	}
+
+	List<RecordedRequest> getRequests() {
+		synchronized (requests) {
+			return ImmutableList.copyOf(requests);
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Sends a response which the caching layer of the HTTP client does not keep, so every request reaches the server.
+	 */
+	static void respond(final HttpExchange exchange, final int status, final Map<String, String> headers,
+			final byte[] body) throws IOException {
+		for (Map.Entry<String, String> header : headers.entrySet()) {
+			exchange.getResponseHeaders().set(header.getKey(), header.getValue());
+		}
+		exchange.getResponseHeaders().set("Cache-Control", "no-store");
+		exchange.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+		final OutputStream out = exchange.getResponseBody();
+		out.write(body);
+		out.close();
+	}
+
+	static class RecordedRequest {
+		final URI uri;
+		final Headers headers;
+
+		private RecordedRequest(final URI uri, final Headers headers) {
+			this.uri = uri;
+			this.headers = headers;
+		}
+	}
+}
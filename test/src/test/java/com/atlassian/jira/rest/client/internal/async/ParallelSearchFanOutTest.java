@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.ParallelSearchOptions;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.SearchPageHandler;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelSearchFanOutTest {
+
+	private final FakeSearchRestClient client = new FakeSearchRestClient(10, 50);
+	private final RecordingHandler handler = new RecordingHandler();
+	private final InlineRetryBackoff backoff = new InlineRetryBackoff(100);
+
+	@Test
+	public void testPagesAreDeliveredInOrder() throws Exception {
+		final Promise<Void> finished = start(new ParallelSearchOptions(10, 3, true, 0));
+		client.complete(0);
+		assertEquals(ImmutableList.of(10, 20, 30), client.pending());
+
+		client.complete(20);
+		client.complete(10);
+		assertEquals(ImmutableList.of(0, 10, 20), handler.delivered);
+		client.complete(40);
+		client.complete(30);
+
+		assertEquals(ImmutableList.of(0, 10, 20, 30, 40), handler.delivered);
+		assertTrue(finished.isDone());
+		finished.get();
+	}
+
+	@Test
+	public void testUnorderedPagesAreDeliveredAsTheyComplete() {
+		final Promise<Void> finished = start(new ParallelSearchOptions(10, 4, false, 0));
+		client.complete(0);
+		client.complete(30);
+		client.complete(10);
+		client.complete(40);
+		client.complete(20);
+
+		assertEquals(ImmutableList.of(0, 30, 10, 40, 20), handler.delivered);
+		assertTrue(finished.isDone());
+	}
+
+	@Test
+	public void testPagesCompletedAheadCountTowardsConcurrencyLimit() {
+		start(new ParallelSearchOptions(10, 2, true, 0));
+		client.complete(0);
+		assertEquals(ImmutableList.of(10, 20), client.pending());
+
+		// held back until page 10 is delivered, so no further request is sent
+		client.complete(20);
+		assertEquals(ImmutableList.of(10), client.pending());
+		assertEquals(3, client.requests.size());
+
+		client.complete(10);
+		assertEquals(ImmutableList.of(30, 40), client.pending());
+		assertTrue(client.maxPending <= 2);
+	}
+
+	@Test
+	public void testHandlerFailureAbortsSearch() throws Exception {
+		handler.failAt = 10;
+		final Promise<Void> finished = start(new ParallelSearchOptions(10, 4, true, 0));
+		client.complete(0);
+		client.complete(10);
+		try {
+			finished.get();
+			fail("ExecutionException expected");
+		} catch (ExecutionException e) {
+			assertSame(handler.failure, e.getCause());
+		}
+		client.complete(20);
+		client.complete(30);
+		assertEquals(ImmutableList.of(0, 10), handler.delivered);
+		// no request is sent after the handler failed
+		assertEquals(5, client.requests.size());
+	}
+
+	@Test
+	public void testOnlyTemporaryFailuresAreRetried() {
+		start(new ParallelSearchOptions(10, 4, false, 2));
+		client.complete(0);
+		client.fail(10, 503);
+		client.fail(20, 400);
+		assertEquals(ImmutableList.of(30, 40, 10), client.pending());
+
+		client.complete(10);
+		assertEquals(ImmutableList.of(0, 10), handler.delivered);
+		assertEquals(Collections.singletonList(20), handler.failed);
+		assertEquals(6, client.requests.size());
+	}
+
+	@Test
+	public void testInvalidQueryIsNotRetried() {
+		final Promise<Void> finished = start(new ParallelSearchOptions(10, 4, true, 2));
+		client.fail(0, 400);
+
+		assertTrue(finished.isDone());
+		assertEquals(ImmutableList.of(0), client.requests);
+		assertTrue(handler.delivered.isEmpty());
+	}
+
+	@Test
+	public void testFirstPageIsRetriedOnConnectionFailure() {
+		final Promise<Void> finished = start(new ParallelSearchOptions(10, 4, true, 2));
+		client.fail(0, null);
+		client.complete(0);
+
+		assertEquals(ImmutableList.of(0, 0, 10, 20, 30, 40), client.requests);
+		assertFalse(finished.isDone());
+	}
+
+	@Test
+	public void testRetriesBackOffExponentially() {
+		start(new ParallelSearchOptions(10, 4, true, 2));
+		client.fail(0, 503);
+		client.fail(0, 503);
+
+		assertEquals(2, backoff.delays.size());
+		assertTrue(backoff.delays.get(0) >= 50 && backoff.delays.get(0) <= 100);
+		assertTrue(backoff.delays.get(1) >= 100 && backoff.delays.get(1) <= 200);
+	}
+
+	@Test
+	public void testRetryAfterIsHonoured() {
+		start(new ParallelSearchOptions(10, 4, true, 2));
+		client.complete(0);
+		client.failWith(10, new RestClientException(Collections.<ErrorCollection>emptyList(), null, 429, 30000L));
+
+		assertEquals(ImmutableList.of(30000L), backoff.delays);
+		assertEquals(ImmutableList.of(20, 30, 40, 10), client.pending());
+	}
+
+	@Test
+	public void testPageIsNotRetriedAfterAbort() {
+		final List<Runnable> scheduled = Lists.newArrayList();
+		final RetryBackoff heldBackoff = new RetryBackoff(100) {
+			@Override
+			void schedule(final Runnable retry, final long delayMillis) {
+				scheduled.add(retry);
+			}
+		};
+		handler.failAt = 10;
+		final Promise<Void> finished = new ParallelSearchFanOut(client, "project = TST", null,
+				new ParallelSearchOptions(10, 4, true, 2), handler, heldBackoff).start();
+		client.complete(0);
+		client.fail(20, 503);
+		client.complete(10);
+		assertTrue(finished.isDone());
+
+		// the retry scheduled before the abort does not send the page again
+		scheduled.get(0).run();
+		assertEquals(5, client.requests.size());
+	}
+
+	private Promise<Void> start(final ParallelSearchOptions options) {
+		return new ParallelSearchFanOut(client, "project = TST", null, options, handler, backoff).start();
+	}
+
+	/**
+	 * Keeps every request pending until the test completes or fails it.
+	 */
+	private static class FakeSearchRestClient extends AsynchronousSearchRestClient {
+		private final int maxResults;
+		private final int total;
+		private final List<Integer> requests = Lists.newArrayList();
+		private final List<Integer> pendingStartAts = Lists.newArrayList();
+		private final List<SettableFuture<SearchResult>> pendingFutures = Lists.newArrayList();
+		private int maxPending;
+
+		private FakeSearchRestClient(final int maxResults, final int total) {
+			super(URI.create("http://localhost/rest/api/latest"), null);
+			this.maxResults = maxResults;
+			this.total = total;
+		}
+
+		@Override
+		public Promise<SearchResult> searchJql(@Nullable final String jql, @Nullable final Integer maxResults,
+				@Nullable final Integer startAt, @Nullable final Set<String> fields) {
+			final SettableFuture<SearchResult> future = SettableFuture.create();
+			requests.add(startAt);
+			pendingStartAts.add(startAt);
+			pendingFutures.add(future);
+			maxPending = Math.max(maxPending, pendingFutures.size());
+			return Promises.forListenableFuture(future);
+		}
+
+		private List<Integer> pending() {
+			return ImmutableList.copyOf(pendingStartAts);
+		}
+
+		private void complete(final int startAt) {
+			take(startAt).set(new SearchResult(startAt, maxResults, total, Collections.<Issue>emptyList()));
+		}
+
+		private void fail(final int startAt, @Nullable final Integer status) {
+			failWith(startAt, status != null
+					? new RestClientException(Collections.<ErrorCollection>emptyList(), status)
+					: new RestClientException(new IOException("Connection reset")));
+		}
+
+		private void failWith(final int startAt, final RestClientException failure) {
+			take(startAt).setException(failure);
+		}
+
+		private SettableFuture<SearchResult> take(final int startAt) {
+			final int index = pendingStartAts.indexOf(startAt);
+			pendingStartAts.remove(index);
+			return pendingFutures.remove(index);
+		}
+	}
+
+	private static class RecordingHandler implements SearchPageHandler {
+		private final List<Integer> delivered = Lists.newArrayList();
+		private final List<Integer> failed = Lists.newArrayList();
+		private final RuntimeException failure = new IllegalStateException("handler failed");
+		private int failAt = -1;
+
+		@Override
+		public void handle(final SearchResult page) {
+			delivered.add(page.getStartIndex());
+			if (page.getStartIndex() == failAt) {
+				throw failure;
+			}
+		}
+
+		@Override
+		public void failed(final int startAt, final Throwable cause) {
+			failed.add(startAt);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParseExecutorsTest {
+
+	private final ExecutorService executor = ParseExecutors.bounded(1, 1);
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testCallerParsesWhenQueueIsFull() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch started = new CountDownLatch(1);
+		final AtomicReference<Thread> firstThread = new AtomicReference<Thread>();
+		final AtomicReference<Thread> thirdThread = new AtomicReference<Thread>();
+
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				firstThread.set(Thread.currentThread());
+				started.countDown();
+				awaitQuietly(release);
+			}
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		// fills the queue
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+			}
+		});
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				thirdThread.set(Thread.currentThread());
+			}
+		});
+		release.countDown();
+
+		assertSame(Thread.currentThread(), thirdThread.get());
+		assertNotSame(Thread.currentThread(), firstThread.get());
+		assertTrue(firstThread.get().isDaemon());
+	}
+
+	@Test(expected = RejectedExecutionException.class)
+	public void testRejectsAfterShutdown() {
+		executor.shutdown();
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+			}
+		});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testThreadsMustBePositive() {
+		ParseExecutors.bounded(0, 1);
+	}
+
+	private static void awaitQuietly(final CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.base.Supplier;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PromiseCacheTest {
+
+	private static final long TTL = TimeUnit.SECONDS.toNanos(10);
+
+	private final FakeTicker ticker = new FakeTicker();
+	private final PromiseCache<String, String> cache = new PromiseCache<String, String>(2, ticker);
+
+	@Test
+	public void testConcurrentMissesShareSingleLoad() throws Exception {
+		final CountingLoader loader = new CountingLoader();
+		final Promise<String> first = cache.get("a", TTL, loader);
+		final Promise<String> second = cache.get("a", TTL, loader);
+
+		assertNotSame(first, second);
+		assertEquals(1, loader.calls);
+		loader.pending.set("value");
+		assertEquals("value", first.get());
+		assertEquals("value", second.get());
+	}
+
+	@Test
+	public void testCancelledCallerDoesNotAffectOthers() throws Exception {
+		final CountingLoader loader = new CountingLoader();
+		final Promise<String> cancelled = cache.get("a", TTL, loader);
+		final Promise<String> other = cache.get("a", TTL, loader);
+		cancelled.cancel(true);
+		loader.pending.set("value");
+
+		assertTrue(cancelled.isCancelled());
+		assertEquals("value", other.get());
+		assertEquals("value", cache.get("a", TTL, loader).get());
+		assertEquals(1, loader.calls);
+	}
+
+	@Test
+	public void testCancelledLoadIsNotCached() {
+		final CountingLoader loader = new CountingLoader();
+		cache.get("a", TTL, loader);
+		loader.pending.cancel(true);
+		assertEquals(0, cache.size());
+
+		cache.get("a", TTL, loader);
+		assertEquals(2, loader.calls);
+	}
+
+	@Test
+	public void testEntryExpiresAfterTtl() throws Exception {
+		final CountingLoader loader = new CountingLoader();
+		cache.get("a", TTL, loader);
+		ticker.time += TTL - 1;
+		cache.get("a", TTL, loader);
+		assertEquals(1, loader.calls);
+
+		ticker.time += 1;
+		cache.get("a", TTL, loader);
+		assertEquals(2, loader.calls);
+	}
+
+	@Test
+	public void testFailedLoadIsNotCached() throws Exception {
+		final CountingLoader loader = new CountingLoader();
+		final Promise<String> promise = cache.get("a", TTL, loader);
+		loader.pending.setException(new RuntimeException("boom"));
+		try {
+			promise.get();
+			fail("ExecutionException expected");
+		} catch (ExecutionException e) {
+			assertEquals("boom", e.getCause().getMessage());
+		}
+		assertEquals(0, cache.size());
+
+		cache.get("a", TTL, loader);
+		assertEquals(2, loader.calls);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEntryIsEvicted() {
+		final CountingLoader loader = new CountingLoader();
+		cache.get("a", TTL, loader);
+		cache.get("b", TTL, loader);
+		cache.get("a", TTL, loader);
+		cache.get("c", TTL, loader);
+		assertEquals(3, loader.calls);
+
+		cache.get("a", TTL, loader);
+		assertEquals(3, loader.calls);
+		cache.get("b", TTL, loader);
+		assertEquals(4, loader.calls);
+	}
+
+	@Test
+	public void testInvalidate() {
+		final CountingLoader loader = new CountingLoader();
+		cache.get("a", TTL, loader);
+		cache.invalidate("a");
+		cache.get("a", TTL, loader);
+		assertEquals(2, loader.calls);
+	}
+
+	private static class CountingLoader implements Supplier<Promise<String>> {
+		private int calls;
+		private SettableFuture<String> pending;
+
+		@Override
+		public Promise<String> get() {
+			calls++;
+			pending = SettableFuture.create();
+			return Promises.forListenableFuture(pending);
+		}
+	}
+
+	private static class FakeTicker extends Ticker {
+		private long time;
+
+		@Override
+		public long read() {
+			return time;
+		}
+	}
+}
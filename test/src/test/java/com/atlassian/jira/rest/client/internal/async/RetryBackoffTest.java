@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.domain.util.ErrorCollection;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RetryBackoffTest {
+
+	private final RetryBackoff backoff = new RetryBackoff(1000);
+
+	@Test
+	public void testDelayGrowsWithAttemptsUpToMaximum() {
+		final RestClientException failure = new RestClientException(new IOException("Connection reset"));
+		for (int attempt = 0; attempt < 40; attempt++) {
+			final long ceiling = Math.min(RetryBackoff.MAX_DELAY_MILLIS, 1000L << Math.min(attempt, 20));
+			final long delay = backoff.delayMillis(attempt, failure);
+			assertTrue(delay >= ceiling / 2 && delay <= ceiling);
+		}
+	}
+
+	@Test
+	public void testRetryAfterOverridesBackoff() {
+		final RestClientException failure = new RestClientException(Collections.<ErrorCollection>emptyList(), null,
+				503, 120000L);
+		assertEquals(120000L, backoff.delayMillis(0, failure));
+		assertEquals(120000L, backoff.delayMillis(5, failure));
+	}
+
+	@Test
+	public void testParseRetryAfter() {
+		assertEquals(Long.valueOf(30000), RetryBackoff.parseRetryAfter(" 30 ", 0));
+		assertEquals(Long.valueOf(0), RetryBackoff.parseRetryAfter("-5", 0));
+		final long now = 784111777000L - 10000;
+		assertEquals(Long.valueOf(10000), RetryBackoff.parseRetryAfter("Sun, 06 Nov 1994 08:49:37 GMT", now));
+		assertNull(RetryBackoff.parseRetryAfter("soon", 0));
+		assertNull(RetryBackoff.parseRetryAfter(null, 0));
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.util.concurrent.Promise;
+import com.atlassian.util.concurrent.Promises;
+import com.google.common.base.Supplier;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+	private final SingleFlight<String> singleFlight = new SingleFlight<String>();
+
+	@Test
+	public void testConcurrentCallersShareCallInFlight() throws Exception {
+		final CountingCall call = new CountingCall();
+		final Promise<String> first = singleFlight.join("a", call);
+		final Promise<String> second = singleFlight.join("a", call);
+		assertEquals(1, call.calls);
+		call.pending.set("a");
+		assertEquals("a", first.get());
+		assertEquals("a", second.get());
+
+		final Promise<String> other = singleFlight.join("b", call);
+		singleFlight.join("c", call);
+		assertEquals(3, call.calls);
+		assertFalse(other.isDone());
+	}
+
+	@Test
+	public void testNothingIsRetainedAfterCompletion() throws Exception {
+		final CountingCall call = new CountingCall();
+		final Promise<String> first = singleFlight.join("a", call);
+		call.pending.set("value");
+		assertEquals("value", first.get());
+		assertEquals(0, singleFlight.size());
+
+		singleFlight.join("a", call);
+		assertEquals(2, call.calls);
+	}
+
+	@Test
+	public void testFailureIsSharedAndForgotten() throws Exception {
+		final CountingCall call = new CountingCall();
+		final Promise<String> first = singleFlight.join("a", call);
+		final Promise<String> second = singleFlight.join("a", call);
+		call.pending.setException(new RuntimeException("boom"));
+		try {
+			second.get();
+			fail("ExecutionException expected");
+		} catch (ExecutionException e) {
+			assertEquals("boom", e.getCause().getMessage());
+		}
+		assertTrue(first.isDone());
+		assertEquals(0, singleFlight.size());
+	}
+
+	@Test
+	public void testCancellingOneCallerDoesNotAffectOthers() throws Exception {
+		final CountingCall call = new CountingCall();
+		final Promise<String> first = singleFlight.join("a", call);
+		final Promise<String> second = singleFlight.join("a", call);
+
+		assertTrue(first.cancel(true));
+		assertFalse(call.pending.isCancelled());
+		assertEquals(1, singleFlight.size());
+		call.pending.set("value");
+		assertEquals("value", second.get());
+		assertTrue(first.isCancelled());
+	}
+
+	@Test
+	public void testCallLeftByAllCallersIsForgotten() throws Exception {
+		final CountingCall call = new CountingCall();
+		final Promise<String> first = singleFlight.join("a", call);
+		final SettableFuture<String> abandoned = call.pending;
+		first.cancel(true);
+		assertEquals(0, singleFlight.size());
+
+		final Promise<String> next = singleFlight.join("a", call);
+		assertEquals(2, call.calls);
+		abandoned.set("stale");
+		assertFalse(next.isDone());
+		call.pending.set("fresh");
+		assertEquals("fresh", next.get());
+	}
+
+	private static class CountingCall implements Supplier<Promise<String>> {
+		private int calls;
+		private SettableFuture<String> pending;
+
+		@Override
+		public Promise<String> get() {
+			calls++;
+			pending = SettableFuture.create();
+			return Promises.forListenableFuture(pending);
+		}
+	}
+}
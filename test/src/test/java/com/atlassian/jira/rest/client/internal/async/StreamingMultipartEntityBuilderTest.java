@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.EntityBuilder;
+import com.atlassian.jira.rest.client.api.UploadProgressListener;
+import com.atlassian.jira.rest.client.auth.AnonymousAuthenticationHandler;
+import com.google.common.base.Charsets;
+import com.google.common.collect.Iterables;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingMultipartEntityBuilderTest {
+
+	@Test
+	public void testBuildsMultipartBodyAndReportsProgress() throws IOException {
+		final File file = File.createTempFile("attachment", ".txt");
+		file.deleteOnExit();
+		Files.write("file content", file, Charsets.UTF_8);
+		final RecordingListener listener = new RecordingListener();
+
+		final EntityBuilder.Entity entity = new StreamingMultipartEntityBuilder(Charsets.UTF_8, listener)
+				.addPart("file", file)
+				.build();
+		final String contentType = entity.getHeaders().get("Content-Type");
+		assertTrue(contentType.startsWith("multipart/form-data; boundary="));
+		final String boundary = contentType.substring("multipart/form-data; boundary=".length());
+
+		final byte[] body = ByteStreams.toByteArray(entity.getInputStream());
+		assertEquals("--" + boundary + "\r\n"
+				+ "Content-Disposition: form-data; name=\"file\"; filename=\"" + file.getName() + "\"\r\n"
+				+ "Content-Type: application/octet-stream\r\n"
+				+ "\r\n"
+				+ "file content\r\n"
+				+ "--" + boundary + "--\r\n", new String(body, Charsets.UTF_8));
+		assertEquals(body.length, listener.bytesSent);
+		assertEquals(body.length, listener.totalBytes);
+		assertNull(entity.getHeaders().get("Content-Length"));
+	}
+
+	@Test
+	public void testChannelIsReadFromCurrentPositionAndLeftOpen() throws IOException {
+		final File file = File.createTempFile("attachment", ".bin");
+		file.deleteOnExit();
+		Files.write("skipped|sent", file, Charsets.UTF_8);
+		final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			final FileChannel channel = randomAccessFile.getChannel();
+			channel.position("skipped|".length());
+			final RecordingListener listener = new RecordingListener();
+
+			final EntityBuilder.Entity entity = new StreamingMultipartEntityBuilder(Charsets.UTF_8, listener)
+					.addPart("file", "sent.bin", channel)
+					.build();
+			final String body = new String(ByteStreams.toByteArray(entity.getInputStream()), Charsets.UTF_8);
+			entity.getInputStream().close();
+
+			assertTrue(body.contains("filename=\"sent.bin\"\r\nContent-Type: application/octet-stream\r\n\r\nsent\r\n"));
+			assertEquals(body.length(), listener.totalBytes);
+			assertTrue(channel.isOpen());
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+
+	@Test
+	public void testTotalIsUnknownForPlainStreams() throws IOException {
+		final RecordingListener listener = new RecordingListener();
+		final EntityBuilder.Entity entity = new StreamingMultipartEntityBuilder(Charsets.UTF_8, listener)
+				.addPart("file", "stream.txt", new ByteArrayInputStream("abc".getBytes(Charsets.UTF_8)))
+				.build();
+
+		final byte[] body = ByteStreams.toByteArray(entity.getInputStream());
+		assertEquals(body.length, listener.bytesSent);
+		assertEquals(-1, listener.totalBytes);
+	}
+
+	@Test
+	public void testEntityIsUploadedByRealHttpClient() throws Exception {
+		final File file = File.createTempFile("attachment", ".txt");
+		file.deleteOnExit();
+		Files.write("file content", file, Charsets.UTF_8);
+		final AtomicReference<byte[]> received = new AtomicReference<byte[]>();
+		final LocalHttpServer server = LocalHttpServer.start(new HttpHandler() {
+			@Override
+			public void handle(final HttpExchange exchange) throws IOException {
+				received.set(ByteStreams.toByteArray(exchange.getRequestBody()));
+				LocalHttpServer.respond(exchange, 200, Collections.<String, String>emptyMap(), new byte[0]);
+			}
+		});
+		final DisposableHttpClient httpClient = new AsynchronousHttpClientFactory()
+				.createClient(server.getBaseUri(), new AnonymousAuthenticationHandler());
+		try {
+			final AsynchronousIssueRestClient issueRestClient = new AsynchronousIssueRestClient(
+					URI.create(server.getBaseUri() + "/rest/api/latest"), httpClient, null, null);
+			final RecordingListener listener = new RecordingListener();
+			issueRestClient.addAttachments(URI.create(server.getBaseUri() + "/rest/api/latest/issue/TST-1/attachments"),
+					listener, file).claim();
+
+			final String body = new String(received.get(), Charsets.UTF_8);
+			assertTrue(body.contains("filename=\"" + file.getName() + "\"\r\nContent-Type: application/octet-stream\r\n\r\nfile content\r\n"));
+			assertEquals(received.get().length, listener.totalBytes);
+			final Headers headers = Iterables.getOnlyElement(server.getRequests()).headers;
+			assertEquals("nocheck", headers.getFirst("X-Atlassian-Token"));
+			assertTrue(headers.getFirst("Content-Type").startsWith("multipart/form-data; boundary="));
+		} finally {
+			httpClient.destroy();
+			server.close();
+		}
+	}
+
+	private static class RecordingListener implements UploadProgressListener {
+		private long bytesSent;
+		private long totalBytes;
+
+		@Override
+		public void progress(final long bytesSent, final long totalBytes) {
+			this.bytesSent = bytesSent;
+			this.totalBytes = totalBytes;
+		}
+	}
+}
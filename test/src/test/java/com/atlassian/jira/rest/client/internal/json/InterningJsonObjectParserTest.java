@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.atlassian.jira.rest.client.api.domain.BasicPriority;
+import com.google.common.base.Function;
+import com.google.common.collect.Interners;
+import org.codehaus.jettison.json.JSONException;
+import org.codehaus.jettison.json.JSONObject;
+import org.junit.Test;
+
+import java.net.URI;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class InterningJsonObjectParserTest {
+
+	private static final URI SELF = URI.create("http://localhost/rest/api/2/priority/3");
+	private static final Function<BasicPriority, Object> ID = new Function<BasicPriority, Object>() {
+		@Override
+		public Object apply(final BasicPriority priority) {
+			return priority.getId();
+		}
+	};
+
+	@Test
+	public void testEqualEntitiesAreShared() throws JSONException {
+		final JsonObjectParser<BasicPriority> parser = InterningJsonObjectParser.interning(new BasicPriorityJsonParser(),
+				Interners.newStrongInterner(), ID);
+		final BasicPriority first = parser.parse(priority(3L));
+		assertSame(first, parser.parse(priority(3L)));
+	}
+
+	@Test
+	public void testFieldsIgnoredByEqualsMustMatchToo() throws JSONException {
+		final JsonObjectParser<BasicPriority> parser = InterningJsonObjectParser.interning(new BasicPriorityJsonParser(),
+				Interners.newStrongInterner(), ID);
+		parser.parse(priority(3L));
+		final BasicPriority other = parser.parse(priority(4L));
+
+		assertEquals(Long.valueOf(4L), other.getId());
+	}
+
+	private static JSONObject priority(final Long id) throws JSONException {
+		return new JSONObject().put("self", SELF.toString()).put("name", "Major").put("id", id);
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2014 Atlassian
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.atlassian.jira.rest.client.internal.json;
+
+import com.atlassian.jira.rest.client.api.RestClientException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class JsonParseUtilTest {
+
+	@Test
+	public void testParseDateTimeMatchesFormatter() {
+		for (final String str : new String[]{"2010-08-15T16:35:00.000+0200", "2012-02-29T23:59:59.999-0830",
+				"1999-12-31T00:00:00.001+0000", "2013-03-31T02:30:00.000+1400"}) {
+			assertEquals(JsonParseUtil.JIRA_DATE_TIME_FORMATTER.parseDateTime(str), JsonParseUtil.parseDateTime(str));
+		}
+	}
+
+	@Test
+	public void testParseDateTimeFallsBackToFormatterForOtherLayouts() {
+		final String str = "2010-08-15T16:35:00.5+02:00";
+		assertEquals(JsonParseUtil.JIRA_DATE_TIME_FORMATTER.parseDateTime(str), JsonParseUtil.parseDateTime(str));
+	}
+
+	@Test(expected = RestClientException.class)
+	public void testParseDateTimeRejectsInvalidDate() {
+		JsonParseUtil.parseDateTime("2010-02-30T16:35:00.000+0200");
+	}
+
+	@Test(expected = RestClientException.class)
+	public void testParseDateTimeRejectsGarbage() {
+		JsonParseUtil.parseDateTime("2010-08-15T16:3x:00.000+0200");
+	}
+
+	@Test
+	public void testParseDateMatchesFormatter() {
+		assertEquals(JsonParseUtil.JIRA_DATE_FORMATTER.parseDateTime("2010-07-05"), JsonParseUtil.parseDate("2010-07-05"));
+	}
+
+	@Test
+	public void testParseDateTimeOrDate() {
+		assertEquals(JsonParseUtil.JIRA_DATE_FORMATTER.parseDateTime("2010-07-05"),
+				JsonParseUtil.parseDateTimeOrDate("2010-07-05"));
+		assertEquals(JsonParseUtil.JIRA_DATE_TIME_FORMATTER.parseDateTime("2010-08-15T16:35:00.000+0200"),
+				JsonParseUtil.parseDateTimeOrDate("2010-08-15T16:35:00.000+0200"));
+	}
+
+	@Test(expected = RestClientException.class)
+	public void testParseDateTimeOrDateRejectsGarbage() {
+		JsonParseUtil.parseDateTimeOrDate("yesterday");
+	}
+}
@@ -45,6 +45,14 @@ public class ResourceUtil {
 
 	}
 
+	public static InputStream getStreamFromResource(String resourcePath) {
+		final InputStream is = ResourceUtil.class.getResourceAsStream(resourcePath);
+		if (is == null) {
+			throw new RuntimeException(new IOException("Cannot open resource [" + resourcePath + "]"));
+		}
+		return is;
+	}
+
 	public static String getStringFromResource(String resourcePath) {
 		final String s;
 		try {
@@ -21,24 +21,33 @@ import com.atlassian.jira.rest.client.api.domain.BasicProject;
 import com.atlassian.jira.rest.client.api.domain.BasicVotes;
 import com.atlassian.jira.rest.client.api.domain.BasicWatchers;
 import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.api.domain.IssueField;
+import com.atlassian.jira.rest.client.api.domain.IssueFieldDescriptor;
 import com.atlassian.jira.rest.client.api.domain.IssueType;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.jira.rest.client.api.domain.Status;
+import com.google.common.collect.Interners;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.codehaus.jettison.json.JSONException;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.io.IOException;
+
 import static com.atlassian.jira.rest.client.TestUtil.assertEmptyIterable;
 import static com.atlassian.jira.rest.client.TestUtil.toDateTime;
 import static com.atlassian.jira.rest.client.TestUtil.toUri;
 import static com.atlassian.jira.rest.client.api.domain.EntityHelper.findEntityById;
 import static com.atlassian.jira.rest.client.internal.json.ResourceUtil.getJsonObjectFromResource;
+import static com.atlassian.jira.rest.client.internal.json.ResourceUtil.getStreamFromResource;
 import static com.atlassian.jira.rest.client.test.matchers.IssueMatchers.issuesWithKeys;
 import static com.atlassian.jira.rest.client.test.matchers.SearchResultMatchers.searchResultWithParamsAndIssueCount;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 public class SearchResultJsonParserTest {
@@ -71,6 +80,139 @@ public class SearchResultJsonParserTest {
 		assertThat(searchResult.getIssues(), issuesWithKeys(expectedIssuesKeys));
 	}
 
+	@Test
+	public void testParseManyFromStream() throws Exception {
+		final SearchResult expected = parser.parse(getJsonObjectFromResource("/json/search/many-issues.json"));
+		final SearchResult searchResult = parser.parse(getStreamFromResource("/json/search/many-issues.json"));
+
+		assertThat(searchResult, searchResultWithParamsAndIssueCount(0, 8, 15, 8));
+		assertEquals(expected, searchResult);
+
+		final Issue issue = findEntityById(searchResult.getIssues(), 10040L);
+		assertIssueIsTST7(issue);
+		final Issue expectedIssue = findEntityById(expected.getIssues(), 10040L);
+		assertEquals(Lists.newArrayList(expectedIssue.getFields()), Lists.newArrayList(issue.getFields()));
+	}
+
+	@Test
+	public void testParseInvalidTotalFromStream() throws Exception {
+		// unlike jettison, streaming parser does not accept unquoted values
+		exception.expect(IOException.class);
+		exception.expectMessage("g2b");
+
+		parser.parse(getStreamFromResource("/json/search/issues-invalid-total.json"));
+	}
+
+	@Test
+	public void testFieldDescriptorsAreSharedAcrossIssues() throws Exception {
+		final SearchResult searchResult = parser.parse(getJsonObjectFromResource("/json/search/many-issues.json"));
+
+		final Issue first = Iterables.get(searchResult.getIssues(), 0);
+		final Issue second = Iterables.get(searchResult.getIssues(), 1);
+		final IssueField firstField = first.getField("customfield_10000");
+		final IssueField secondField = second.getField("customfield_10000");
+		assertSame(firstField.getDescriptor(), secondField.getDescriptor());
+		assertEquals("My Number Field New", firstField.getName());
+		assertEquals("number", firstField.getType());
+	}
+
+	@Test
+	public void testFieldDescriptorsAreResolvedInPlaceWhenStreaming() throws Exception {
+		// names and schema come after the issues in this response
+		final SearchResult searchResult = parser.parse(getStreamFromResource("/json/search/many-issues.json"));
+
+		final IssueField firstField = Iterables.get(searchResult.getIssues(), 0).getField("customfield_10000");
+		final IssueField secondField = Iterables.get(searchResult.getIssues(), 1).getField("customfield_10000");
+		assertSame(firstField.getDescriptor(), secondField.getDescriptor());
+		assertEquals("My Number Field New", firstField.getName());
+		assertEquals("number", firstField.getType());
+		assertEquals(new IssueFieldDescriptor("customfield_10000", "My Number Field New", "number"), firstField.getDescriptor());
+	}
+
+	@Test
+	public void testEntitiesAreSharedAcrossIssues() throws Exception {
+		final SearchResult fromTree = parser.parse(getJsonObjectFromResource("/json/search/many-issues.json"));
+		final SearchResult fromStream = parser.parse(getStreamFromResource("/json/search/many-issues.json"));
+
+		for (final SearchResult searchResult : Lists.newArrayList(fromTree, fromStream)) {
+			final Issue first = Iterables.get(searchResult.getIssues(), 0);
+			final Issue second = Iterables.get(searchResult.getIssues(), 1);
+			assertSame(first.getProject(), second.getProject());
+			assertSame(first.getStatus(), second.getStatus());
+			assertSame(first.getIssueType(), second.getIssueType());
+			assertSame(first.getReporter(), second.getReporter());
+		}
+		// by default nothing is shared between responses
+		assertNotSame(Iterables.get(fromTree.getIssues(), 0).getProject(), Iterables.get(fromStream.getIssues(), 0).getProject());
+	}
+
+	@Test
+	public void testEntitiesAreSharedAcrossResponsesWithSharedInterner() throws Exception {
+		final SearchResultJsonParser sharingParser = new SearchResultJsonParser(false, false, Interners.newWeakInterner());
+		final SearchResult first = sharingParser.parse(getJsonObjectFromResource("/json/search/many-issues.json"));
+		final SearchResult second = sharingParser.parse(getStreamFromResource("/json/search/many-issues.json"));
+
+		assertSame(Iterables.get(first.getIssues(), 0).getProject(), Iterables.get(second.getIssues(), 0).getProject());
+		assertSame(Iterables.get(first.getIssues(), 0).getStatus(), Iterables.get(second.getIssues(), 3).getStatus());
+	}
+
+	@Test
+	public void testParseLazyIssues() throws Exception {
+		final SearchResultJsonParser lazyParser = new SearchResultJsonParser(true);
+		final SearchResult expected = parser.parse(getJsonObjectFromResource("/json/search/many-issues.json"));
+		final SearchResult fromTree = lazyParser.parse(getJsonObjectFromResource("/json/search/many-issues.json"));
+		final SearchResult fromStream = lazyParser.parse(getStreamFromResource("/json/search/many-issues.json"));
+
+		assertIssueIsTST7(findEntityById(fromTree.getIssues(), 10040L));
+		assertIssueIsTST7(findEntityById(fromStream.getIssues(), 10040L));
+		for (int i = 0; i < Iterables.size(expected.getIssues()); i++) {
+			final Issue expectedIssue = Iterables.get(expected.getIssues(), i);
+			assertEquals(expectedIssue.toString(), Iterables.get(fromTree.getIssues(), i).toString());
+			assertEquals(expectedIssue.toString(), Iterables.get(fromStream.getIssues(), i).toString());
+		}
+	}
+
+	@Test
+	public void testLazyIssueParsesEachSectionOnce() throws Exception {
+		final SearchResult searchResult = new SearchResultJsonParser(true)
+				.parse(getJsonObjectFromResource("/json/search/many-issues.json"));
+		final Issue issue = findEntityById(searchResult.getIssues(), 10040L);
+
+		assertSame(issue.getStatus(), issue.getStatus());
+		assertSame(issue.getFields(), issue.getFields());
+	}
+
+	@Test
+	public void testParseProjection() throws Exception {
+		final SearchResultJsonParser projectionParser = new SearchResultJsonParser(false, true);
+		assertProjectionParsed(projectionParser.parse(getJsonObjectFromResource("/json/search/issues-projection.json")));
+		assertProjectionParsed(projectionParser.parse(getStreamFromResource("/json/search/issues-projection.json")));
+		assertProjectionParsed(new SearchResultJsonParser(true, true)
+				.parse(getStreamFromResource("/json/search/issues-projection.json")));
+	}
+
+	private void assertProjectionParsed(final SearchResult searchResult) {
+		final Issue issue = findEntityById(searchResult.getIssues(), 10040L);
+		assertEquals("TST-7", issue.getKey());
+		assertEquals("Open", issue.getStatus().getName());
+		assertEquals(toDateTime("2010-09-22T18:06:32.000+0200"), issue.getUpdateDate());
+		assertNull(issue.getSummary());
+		assertNull(issue.getProject());
+		assertNull(issue.getIssueType());
+		assertNull(issue.getCreationDate());
+
+		final Issue bare = findEntityById(searchResult.getIssues(), 10041L);
+		assertEquals("TST-8", bare.getKey());
+		assertNull(bare.getStatus());
+		assertEmptyIterable(bare.getFields());
+	}
+
+	@Test
+	public void testParseProjectionRequiresProjectionMode() throws Exception {
+		exception.expect(JSONException.class);
+		parser.parse(getJsonObjectFromResource("/json/search/issues-projection.json"));
+	}
+
 	@Test
 	public void testParseInvalidTotal() throws Exception {
 		exception.expect(JSONException.class);
@@ -22,6 +22,8 @@ import com.atlassian.jira.nimblefunctests.annotation.LongCondition;
 import com.atlassian.jira.nimblefunctests.annotation.Restore;
 import com.atlassian.jira.rest.client.IntegrationTestUtil;
 import com.atlassian.jira.rest.client.TestUtil;
+import com.atlassian.jira.rest.client.api.DownloadAttachmentOptions;
+import com.atlassian.jira.rest.client.api.DownloadAttachmentOptionsBuilder;
 import com.atlassian.jira.rest.client.api.GetCreateIssueMetadataOptionsBuilder;
 import com.atlassian.jira.rest.client.api.IssueRestClient;
 import com.atlassian.jira.rest.client.api.RestClientException;
@@ -862,6 +864,30 @@ public class AsynchronousIssueRestClientTest extends AbstractAsynchronousRestCli
 				issueClient.getAttachment(attachments.iterator().next().getContentUri()).claim()));
 	}
 
+	@Test
+	public void testDownloadAttachmentInChunks() throws IOException {
+		final IssueRestClient issueClient = client.getIssueClient();
+		final Issue issue = issueClient.getIssue("TST-5").claim();
+
+		final File tempFile = File.createTempFile("jim-integration-test", ".txt");
+		tempFile.deleteOnExit();
+		FileWriter writer = new FileWriter(tempFile);
+		writer.write("This is the content of my file which I am going to download from JIRA in small chunks.");
+		writer.close();
+		issueClient.addAttachments(issue.getAttachmentsUri(), tempFile).claim();
+
+		final Attachment attachment = issueClient.getIssue("TST-5").claim().getAttachments().iterator().next();
+		final File target = File.createTempFile("jim-integration-test", ".download");
+		target.deleteOnExit();
+		final DownloadAttachmentOptions options = new DownloadAttachmentOptionsBuilder()
+				.withExpectedSizeOf(attachment)
+				.withChunkSize(10)
+				.withResume(false)
+				.build();
+		assertEquals(target, issueClient.downloadAttachment(attachment.getContentUri(), target, options).claim());
+		assertTrue(IOUtils.contentEquals(new FileInputStream(tempFile), new FileInputStream(target)));
+	}
+
 	@Test
 	public void testAddFileAttachmentWithUtf8InNameAndBody() throws IOException {
 		final IssueRestClient issueClient = client.getIssueClient();
@@ -126,6 +126,15 @@ public class AsynchronousSearchRestClientTest extends AbstractAsynchronousRestCl
 		assertEquals(0, searchResultForReporterWseliga.getTotal());
 	}
 
+	@Test
+	public void testJqlSearchAllPagesThroughWholeResult() {
+		final SearchResult allInOnePage = client.getSearchClient().searchJql(null, 50, 0, null).claim();
+		final Iterable<Issue> allIssues = client.getSearchClient().searchJqlAll(null, 3, 2, null);
+
+		assertEquals(11, Iterables.size(allIssues));
+		assertThat(allIssues, IsIterableContainingInOrder.contains(Iterables.toArray(allInOnePage.getIssues(), Issue.class)));
+	}
+
 	@Test
 	public void testJqlSearchWithPaging() {
 		final SearchResult searchResultForNull = client.getSearchClient().searchJql(null, 3, 3, null).claim();